@@ -6,13 +6,24 @@ package Proyecto2_Derek_Carvajal;
 
 /**
  * Implementación de un Árbol AVL
+ * Cada nodo guarda también el tamaño de su subárbol, así que el árbol
+ * sabe en O(log n) qué dato está en una posición dada (seleccionar), en
+ * qué posición va un dato (rango) y puede devolver una página de datos
+ * sin recorrer los anteriores (pagina).
+ *
+ * El árbol es Iterable: el iterador recorre In-Orden con una pila
+ * explícita de a lo sumo getAltura() nodos, sin armar ninguna lista, y
+ * iteradorDesde() empieza en cualquier dato (para retomar un recorrido).
+ * El árbol no se debe modificar mientras se recorre.
  *
  * @param <T> El tipo de dato a almacenar, debe ser comparable.
  */
 
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class ArbolAVL<T extends Comparable<T>> implements Serializable{
+public class ArbolAVL<T extends Comparable<T>> implements Serializable, Iterable<T> {
     
     /**
      * Clase interna que representa un nodo del Árbol AVL.
@@ -22,6 +33,7 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         NodoAVL izquierdo;
         NodoAVL derecho;
         int altura;
+        int tamano; // Nodos del subárbol, contando este
 
         /**
          * Constructor para un nuevo nodo.
@@ -30,12 +42,14 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         NodoAVL(T dato) {
             this.dato = dato;
             this.altura = 1; // La altura de un nuevo nodo (hoja) es 1.
+            this.tamano = 1;
             this.izquierdo = null;
             this.derecho = null;
         }
     }
 
     private NodoAVL raiz;
+    private long rotaciones; // Rotaciones simples hechas (para estadísticas)
 
     /**
      * Constructor para un Árbol AVL. Inicializa la raíz como nula.
@@ -44,6 +58,20 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         this.raiz = null;
     }
 
+    /**
+     * Construye un árbol perfectamente balanceado a partir de datos ya
+     * ordenados (ascendente), en O(n) y sin ninguna rotación.
+     *
+     * @param ordenados Los datos, de menor a mayor (los repetidos se ignoran).
+     * @return El árbol nuevo.
+     * @throws IllegalArgumentException Si los datos no están ordenados.
+     */
+    public static <T extends Comparable<T>> ArbolAVL<T> desdeOrdenados(ListaSimple<T> ordenados) {
+        ArbolAVL<T> arbol = new ArbolAVL<>();
+        arbol.agregarOrdenados(ordenados);
+        return arbol;
+    }
+
     // --- MÉTODOS PÚBLICOS PRINCIPALES ---
 
     /**
@@ -105,7 +133,7 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         if (nodo == null) return null;
 
         // Actualizar altura y balancear (igual que en inserción)
-        actualizarAltura(nodo);
+        actualizarNodo(nodo);
         int fe = obtenerFactorEquilibrio(nodo);
 
         if (fe > 1 && obtenerFactorEquilibrio(nodo.izquierdo) >= 0) return rotacionDerecha(nodo);
@@ -131,19 +159,383 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
     /**
      * Devuelve una ListaSimple con los elementos del árbol ordenados 
      * alfabéticamente (recorrido In-Orden).
-     * Esta operación tiene una complejidad O(n).
+     * Esta operación tiene una complejidad O(n), ya que ListaSimple agrega
+     * al final en O(1).
      *
      * @return Una ListaSimple<T> con los elementos ordenados.
      */
     public ListaSimple<T> getListaInorden() {
         // Usa mi propia clase ListaSimple
         ListaSimple<T> lista = new ListaSimple<>();
-        recorridoInorden(this.raiz, lista);
+        for (T dato : this) {
+            lista.agregar(dato);
+        }
+        return lista;
+    }
+
+    /**
+     * Recorre los datos en orden, de a uno (ver IteradorInorden). Para
+     * recorrer no hace falta getListaInorden(): se puede cortar en
+     * cualquier momento sin haber pagado por el resto.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorInorden(null, true);
+    }
+
+    /**
+     * Recorre en orden los datos a partir de 'desde'. Sirve para retomar un
+     * recorrido: se pasa el último dato visto con inclusivo = false.
+     * Ubicar el inicio cuesta O(log n).
+     *
+     * @param desde Primer dato (o límite), o null para empezar por el menor.
+     * @param inclusivo true si un dato igual a 'desde' se incluye.
+     * @return El iterador.
+     */
+    public Iterator<T> iteradorDesde(T desde, boolean inclusivo) {
+        return new IteradorInorden(desde, inclusivo);
+    }
+
+    /**
+     * Agrega de una vez una secuencia ya ordenada (ascendente) de datos.
+     * Mezcla el recorrido In-Orden actual con la secuencia y reconstruye el
+     * árbol perfectamente balanceado, sin rotaciones: O(n + m).
+     * Los datos repetidos se ignoran (se conserva el que ya estaba en el
+     * árbol). Conviene para cargas masivas; para pocos datos es mejor
+     * usar insertar().
+     *
+     * @param ordenados Los datos a agregar, ordenados de menor a mayor.
+     * @throws IllegalArgumentException Si los datos no están ordenados (el
+     * árbol queda como estaba).
+     */
+    public void agregarOrdenados(ListaSimple<T> ordenados) {
+        if (ordenados == null || ordenados.estaVacia()) return;
+        mezclarYConstruir(ordenados.iterator(), ordenados.getTamano(), true);
+    }
+
+    /**
+     * Agrega todos los datos de otro árbol (unión), en O(n + m): recorre
+     * los dos In-Orden a la vez y reconstruye este árbol balanceado. Ante
+     * un dato repetido se conserva el de este árbol. El otro árbol no se
+     * modifica.
+     *
+     * @param otro El árbol con los datos a agregar.
+     */
+    public void unir(ArbolAVL<T> otro) {
+        if (otro == null || otro == this || otro.raiz == null) return;
+        mezclarYConstruir(otro.iterator(), otro.tamano(), false);
+    }
+
+    /**
+     * Mezcla el recorrido In-Orden de este árbol con una secuencia ordenada
+     * de 'cantidad' datos y reemplaza la raíz por el árbol balanceado que
+     * resulta. Los dos recorridos son perezosos: la única copia es el
+     * arreglo que se usa para construir.
+     */
+    @SuppressWarnings("unchecked")
+    private void mezclarYConstruir(Iterator<T> itB, int cantidad, boolean revisarOrden) {
+        Object[] mezcla = new Object[tamano() + cantidad];
+        int total = 0;
+
+        Iterator<T> itA = iterator();
+        T a = itA.hasNext() ? itA.next() : null;
+        T b = siguienteNoNulo(itB);
+        while (a != null || b != null) {
+            T siguiente;
+            if (b == null || (a != null && a.compareTo(b) <= 0)) {
+                siguiente = a;
+                a = itA.hasNext() ? itA.next() : null;
+            } else {
+                siguiente = b;
+                T anterior = b;
+                b = siguienteNoNulo(itB);
+                if (revisarOrden && b != null && b.compareTo(anterior) < 0) {
+                    throw new IllegalArgumentException("Los datos no están ordenados: " + b + " va antes que " + anterior);
+                }
+            }
+            // Descarta repetidos (el del árbol llega primero por el '<=')
+            if (total == 0 || ((T) mezcla[total - 1]).compareTo(siguiente) != 0) {
+                mezcla[total++] = siguiente;
+            }
+        }
+        this.raiz = construirBalanceado(mezcla, 0, total - 1);
+    }
+
+    // Siguiente dato de la secuencia saltando los nulos (no se permiten en el árbol)
+    private T siguienteNoNulo(Iterator<T> it) {
+        while (it.hasNext()) {
+            T dato = it.next();
+            if (dato != null) return dato;
+        }
+        return null;
+    }
+
+    // --- NAVEGACIÓN ORDENADA ---
+
+    /**
+     * Devuelve el menor dato del árbol.
+     *
+     * @return El primer dato en orden, o null si el árbol está vacío.
+     */
+    public T primero() {
+        if (this.raiz == null) return null;
+        return nodoMinimo(this.raiz).dato;
+    }
+
+    /**
+     * Devuelve el mayor dato del árbol.
+     *
+     * @return El último dato en orden, o null si el árbol está vacío.
+     */
+    public T ultimo() {
+        if (this.raiz == null) return null;
+        NodoAVL actual = this.raiz;
+        while (actual.derecho != null) actual = actual.derecho;
+        return actual.dato;
+    }
+
+    /**
+     * Devuelve el mayor dato menor o igual que el dado. O(log n).
+     *
+     * @param dato El dato de referencia.
+     * @return El dato encontrado, o null si no existe.
+     */
+    public T floor(T dato) {
+        return buscarVecino(dato, true, true);
+    }
+
+    /**
+     * Devuelve el menor dato mayor o igual que el dado. O(log n).
+     *
+     * @param dato El dato de referencia.
+     * @return El dato encontrado, o null si no existe.
+     */
+    public T ceiling(T dato) {
+        return buscarVecino(dato, false, true);
+    }
+
+    /**
+     * Devuelve el mayor dato estrictamente menor que el dado. O(log n).
+     *
+     * @param dato El dato de referencia.
+     * @return El dato encontrado, o null si no existe.
+     */
+    public T lower(T dato) {
+        return buscarVecino(dato, true, false);
+    }
+
+    /**
+     * Devuelve el menor dato estrictamente mayor que el dado. O(log n).
+     *
+     * @param dato El dato de referencia.
+     * @return El dato encontrado, o null si no existe.
+     */
+    public T higher(T dato) {
+        return buscarVecino(dato, false, false);
+    }
+
+    /**
+     * Devuelve, ordenados, los datos entre 'desde' y 'hasta'.
+     * Solo se visitan los nodos del camino hacia los extremos y los que
+     * están dentro del rango: O(log n + k), con k el número de resultados.
+     *
+     * @param desde Límite inferior, o null para empezar desde el primero.
+     * @param hasta Límite superior, o null para llegar hasta el último.
+     * @param inclusivo true si los datos iguales a los límites se incluyen.
+     * @return Una ListaSimple con los datos del rango, en orden.
+     */
+    public ListaSimple<T> rango(T desde, T hasta, boolean inclusivo) {
+        return rango(desde, hasta, inclusivo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que rango(desde, hasta, inclusivo), pero devuelve como máximo
+     * 'limite' datos (los primeros en orden) y deja de recorrer al
+     * alcanzarlo: O(log n + limite).
+     *
+     * @param limite Cantidad máxima de datos a devolver.
+     */
+    public ListaSimple<T> rango(T desde, T hasta, boolean inclusivo, int limite) {
+        ListaSimple<T> lista = new ListaSimple<>();
+        rangoRecursivo(this.raiz, desde, hasta, inclusivo, limite, lista);
+        return lista;
+    }
+
+    // --- ESTADÍSTICAS DE ORDEN ---
+
+    /**
+     * Devuelve la cantidad de datos del árbol. O(1).
+     */
+    public int tamano() {
+        return obtenerTamano(this.raiz);
+    }
+
+    /**
+     * Devuelve el dato en la posición k del recorrido In-Orden (el k-ésimo
+     * menor, contando desde 0). O(log n).
+     *
+     * @param k La posición, entre 0 y tamano() - 1.
+     * @return El dato en esa posición.
+     * @throws IndexOutOfBoundsException Si k está fuera de rango.
+     */
+    public T seleccionar(int k) {
+        if (k < 0 || k >= tamano()) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + k);
+        }
+        NodoAVL actual = this.raiz;
+        while (true) {
+            int izquierdos = obtenerTamano(actual.izquierdo);
+            if (k < izquierdos) {
+                actual = actual.izquierdo;
+            } else if (k == izquierdos) {
+                return actual.dato;
+            } else {
+                k -= izquierdos + 1;
+                actual = actual.derecho;
+            }
+        }
+    }
+
+    /**
+     * Devuelve cuántos datos del árbol son menores que el dado: su posición
+     * en el recorrido In-Orden si está, o la que tendría si se insertara.
+     * O(log n).
+     *
+     * @param dato El dato de referencia.
+     * @return La cantidad de datos menores que 'dato'.
+     */
+    public int rango(T dato) {
+        int menores = 0;
+        NodoAVL actual = this.raiz;
+        while (actual != null) {
+            if (dato.compareTo(actual.dato) <= 0) {
+                actual = actual.izquierdo;
+            } else {
+                menores += obtenerTamano(actual.izquierdo) + 1;
+                actual = actual.derecho;
+            }
+        }
+        return menores;
+    }
+
+    /**
+     * Devuelve, en orden, hasta 'limite' datos a partir de la posición
+     * 'desplazamiento' (por ejemplo, la página p de 50 datos es
+     * pagina(p * 50, 50)). Los datos anteriores no se recorren: el
+     * tamaño de cada subárbol dice si la página empieza en él.
+     * O(log n + limite).
+     *
+     * @param desplazamiento Posición del primer dato (desde 0).
+     * @param limite Cantidad máxima de datos a devolver.
+     * @return Una ListaSimple con los datos de la página (vacía si
+     * 'desplazamiento' está después del último).
+     */
+    public ListaSimple<T> pagina(int desplazamiento, int limite) {
+        ListaSimple<T> lista = new ListaSimple<>();
+        paginaRecursivo(this.raiz, Math.max(desplazamiento, 0), limite, lista);
         return lista;
     }
 
     // --- MÉTODOS PRIVADOS RECURSIVOS ---
 
+    /**
+     * Recorrido In-Orden que salta los primeros 'saltar' datos del subárbol
+     * sin visitarlos.
+     */
+    private void paginaRecursivo(NodoAVL nodo, int saltar, int limite, ListaSimple<T> lista) {
+        if (nodo == null || lista.getTamano() >= limite) {
+            return;
+        }
+        int izquierdos = obtenerTamano(nodo.izquierdo);
+        if (saltar < izquierdos) {
+            paginaRecursivo(nodo.izquierdo, saltar, limite, lista);
+        }
+        if (saltar <= izquierdos && lista.getTamano() < limite) {
+            lista.agregar(nodo.dato);
+        }
+        paginaRecursivo(nodo.derecho, Math.max(saltar - izquierdos - 1, 0), limite, lista);
+    }
+
+    /**
+     * Construye un subárbol perfectamente balanceado con datos[inicio..fin],
+     * que deben estar ordenados. Cada nodo se crea una sola vez: O(n).
+     *
+     * @return La raíz del subárbol, o null si el tramo está vacío.
+     */
+    @SuppressWarnings("unchecked")
+    private NodoAVL construirBalanceado(Object[] datos, int inicio, int fin) {
+        if (inicio > fin) {
+            return null;
+        }
+        int medio = (inicio + fin) >>> 1;
+        NodoAVL nodo = new NodoAVL((T) datos[medio]);
+        nodo.izquierdo = construirBalanceado(datos, inicio, medio - 1);
+        nodo.derecho = construirBalanceado(datos, medio + 1, fin);
+        actualizarNodo(nodo);
+        return nodo;
+    }
+
+    /**
+     * Desciende desde la raíz recordando el mejor candidato visto.
+     *
+     * @param dato El dato de referencia.
+     * @param menor true para buscar hacia abajo (floor/lower), false hacia
+     * arriba (ceiling/higher).
+     * @param aceptarIgual true si un dato igual es una respuesta válida.
+     * @return El vecino encontrado, o null.
+     */
+    private T buscarVecino(T dato, boolean menor, boolean aceptarIgual) {
+        T candidato = null;
+        NodoAVL actual = this.raiz;
+        while (actual != null) {
+            int comparacion = dato.compareTo(actual.dato);
+            if (comparacion == 0 && aceptarIgual) {
+                return actual.dato;
+            }
+            if (menor) {
+                if (comparacion > 0) {
+                    candidato = actual.dato; // actual < dato
+                    actual = actual.derecho;
+                } else {
+                    actual = actual.izquierdo;
+                }
+            } else {
+                if (comparacion < 0) {
+                    candidato = actual.dato; // actual > dato
+                    actual = actual.izquierdo;
+                } else {
+                    actual = actual.derecho;
+                }
+            }
+        }
+        return candidato;
+    }
+
+    /**
+     * Recorrido In-Orden acotado: solo baja a un subárbol si puede contener
+     * datos dentro del rango.
+     */
+    private void rangoRecursivo(NodoAVL nodo, T desde, T hasta, boolean inclusivo, int limite, ListaSimple<T> lista) {
+        if (nodo == null || lista.getTamano() >= limite) {
+            return;
+        }
+        // > 0 si el nodo está por encima de 'desde'; < 0 si está por debajo de 'hasta'
+        int sobreDesde = (desde == null) ? 1 : nodo.dato.compareTo(desde);
+        int bajoHasta = (hasta == null) ? -1 : nodo.dato.compareTo(hasta);
+
+        if (sobreDesde > 0) {
+            rangoRecursivo(nodo.izquierdo, desde, hasta, inclusivo, limite, lista);
+        }
+        boolean dentroDesde = sobreDesde > 0 || (inclusivo && sobreDesde == 0);
+        boolean dentroHasta = bajoHasta < 0 || (inclusivo && bajoHasta == 0);
+        if (dentroDesde && dentroHasta && lista.getTamano() < limite) {
+            lista.agregar(nodo.dato);
+        }
+        if (bajoHasta < 0) {
+            rangoRecursivo(nodo.derecho, desde, hasta, inclusivo, limite, lista);
+        }
+    }
+
     /**
      * Método recursivo para insertar un dato y rebalancear el árbol.
      *
@@ -169,7 +561,7 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         }
 
         //  Actualizar la altura del nodo actual
-        actualizarAltura(nodo);
+        actualizarNodo(nodo);
 
         //  Obtener el Factor de Equilibrio
         int fe = obtenerFactorEquilibrio(nodo);
@@ -226,16 +618,48 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
     }
 
     /**
-     * Método recursivo para el recorrido In-Orden
-     *
-     * @param nodo El nodo actual.
-     * @param lista La ListaSimple donde se agregan los elementos.
+     * Iterador In-Orden con pila explícita. La pila guarda los nodos
+     * pendientes del camino actual (los que tienen al siguiente dato en su
+     * subárbol izquierdo), así que nunca tiene más de getAltura() nodos.
+     * Cada next() cuesta O(1) amortizado.
      */
-    private void recorridoInorden(NodoAVL nodo, ListaSimple<T> lista) {
-        if (nodo != null) {
-            recorridoInorden(nodo.izquierdo, lista);
-            lista.agregar(nodo.dato); // Usa el método .agregar() de mi lista
-            recorridoInorden(nodo.derecho, lista);
+    private class IteradorInorden implements Iterator<T> {
+        private final Object[] pila; // NodoAVL (no se puede crear un arreglo genérico)
+        private int tope;
+
+        IteradorInorden(T desde, boolean inclusivo) {
+            this.pila = new Object[obtenerAltura(raiz)];
+            this.tope = 0;
+            // Bajar hacia 'desde' apilando los nodos que quedan a partir de él
+            NodoAVL actual = raiz;
+            while (actual != null) {
+                int comparacion = (desde == null) ? 1 : actual.dato.compareTo(desde);
+                if (comparacion > 0 || (comparacion == 0 && inclusivo)) {
+                    this.pila[this.tope++] = actual;
+                    actual = actual.izquierdo;
+                } else {
+                    actual = actual.derecho;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.tope > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (this.tope == 0) {
+                throw new NoSuchElementException();
+            }
+            NodoAVL nodo = (NodoAVL) this.pila[--this.tope];
+            // El siguiente es el menor del subárbol derecho (si hay)
+            for (NodoAVL actual = nodo.derecho; actual != null; actual = actual.izquierdo) {
+                this.pila[this.tope++] = actual;
+            }
+            return nodo.dato;
         }
     }
 
@@ -255,13 +679,29 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
     }
 
     /**
-     * Actualiza la altura de un nodo basándose en la altura de sus hijos.
+     * Obtiene el tamaño del subárbol de un nodo.
+     *
+     * @param nodo El nodo.
+     * @return La cantidad de nodos del subárbol, o 0 si el nodo es null.
+     */
+    private int obtenerTamano(NodoAVL nodo) {
+        if (nodo == null) {
+            return 0;
+        }
+        return nodo.tamano;
+    }
+
+    /**
+     * Actualiza la altura y el tamaño de un nodo a partir de sus hijos.
+     * Las rotaciones, la inserción, la eliminación y la construcción
+     * balanceada la llaman de abajo hacia arriba.
      *
      * @param nodo El nodo a actualizar.
      */
-    private void actualizarAltura(NodoAVL nodo) {
+    private void actualizarNodo(NodoAVL nodo) {
         if (nodo != null) {
             nodo.altura = 1 + Math.max(obtenerAltura(nodo.izquierdo), obtenerAltura(nodo.derecho));
+            nodo.tamano = 1 + obtenerTamano(nodo.izquierdo) + obtenerTamano(nodo.derecho);
         }
     }
 
@@ -293,10 +733,11 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         y.derecho = z;
         z.izquierdo = T3;
 
-        // Actualizar alturas 
-        actualizarAltura(z);
-        actualizarAltura(y);
+        // Actualizar alturas y tamaños (primero z, que ahora es hijo de y)
+        actualizarNodo(z);
+        actualizarNodo(y);
 
+        this.rotaciones++;
         return y; // y es la nueva raíz
     }
 
@@ -314,13 +755,38 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         y.izquierdo = z;
         z.derecho = T2;
 
-        // Actualizar alturas 
-        actualizarAltura(z);
-        actualizarAltura(y);
+        // Actualizar alturas y tamaños (primero z, que ahora es hijo de y)
+        actualizarNodo(z);
+        actualizarNodo(y);
 
+        this.rotaciones++;
         return y; // y es la nueva raíz
     }
 
+    // --- ESTADÍSTICAS ---
+
+    /**
+     * Devuelve la altura del árbol (0 si está vacío).
+     */
+    public int getAltura() {
+        return obtenerAltura(this.raiz);
+    }
+
+    /**
+     * Cuenta los nodos del árbol (igual que tamano()). O(1).
+     */
+    public int getCantidadNodos() {
+        return tamano();
+    }
+
+    /**
+     * Devuelve cuántas rotaciones simples se han hecho para mantener el
+     * balance (una rotación doble cuenta como dos).
+     */
+    public long getRotaciones() {
+        return this.rotaciones;
+    }
+
     // MÉTODO DE PRUEBA (MAIN)
 
     /**
@@ -339,13 +805,21 @@ public class ArbolAVL<T extends Comparable<T>> implements Serializable{
         ListaSimple<String> autoresOrdenados = arbolAutores.getListaInorden();
         
         // Recorremos nuestra ListaSimple para imprimir
-        for (int i = 0; i < autoresOrdenados.getTamano(); i++) {
-            System.out.println(autoresOrdenados.get(i));
+        for (String autor : autoresOrdenados) {
+            System.out.println(autor);
         }
         
         // Prueba de búsqueda
         System.out.println("\nBuscando 'Loscher, Iván': " + arbolAutores.buscar("Loscher, Iván"));
         System.out.println("Buscando 'Pérez, María': " + arbolAutores.buscar("Pérez, María"));
+
+        // Prueba de navegación
+        System.out.println("\nPrimero: " + arbolAutores.primero() + ", último: " + arbolAutores.ultimo());
+        System.out.println("Después de 'Loscher, Iván': " + arbolAutores.higher("Loscher, Iván"));
+        System.out.println("Autores de 'H' a 'Q': ");
+        for (String autor : arbolAutores.rango("H", "Q", true)) {
+            System.out.println(autor);
+        }
     }
     
 }
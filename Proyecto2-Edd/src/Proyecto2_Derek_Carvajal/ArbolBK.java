@@ -0,0 +1,197 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Árbol BK (Burkhard-Keller) para buscar símbolos parecidos a un texto
+ * mal escrito, por distancia de edición (Levenshtein) sobre la forma
+ * normalizada: "mccarty" está a distancia 1 de "mccarthy".
+ *
+ * Cada hijo cuelga de su padre con la distancia entre ambos. Por la
+ * desigualdad triangular, si el texto buscado está a distancia d de un
+ * nodo, los resultados a distancia <= k solo pueden estar en los hijos
+ * colgados con distancias entre d - k y d + k; el resto del árbol no se
+ * compara.
+ *
+ * Un símbolo de varias palabras se guarda completo y también por cada
+ * palabra, así "McCarty" encuentra a "John McCarthy". buscar() devuelve
+ * cada símbolo una sola vez, con su menor distancia.
+ *
+ * Guarda ids de una TablaSimbolos; como los ids no se reutilizan, los
+ * símbolos nunca se quitan (quien busca filtra los que ya no se usan).
+ */
+
+import java.io.Serializable;
+
+public class ArbolBK implements Serializable {
+
+    /**
+     * Un símbolo encontrado y su distancia al texto buscado.
+     */
+    public static class Candidato {
+        private final int simbolo;
+        private final int distancia;
+
+        Candidato(int simbolo, int distancia) {
+            this.simbolo = simbolo;
+            this.distancia = distancia;
+        }
+
+        public int getSimbolo() {
+            return simbolo;
+        }
+
+        public int getDistancia() {
+            return distancia;
+        }
+    }
+
+    private static class Nodo implements Serializable {
+        final int simbolo;
+        final String clave;           // Forma normalizada del símbolo (o una de sus palabras)
+        int[] distancias = new int[0]; // Distancia de cada hijo a este nodo
+        Nodo[] hijos = new Nodo[0];
+
+        Nodo(int simbolo, String clave) {
+            this.simbolo = simbolo;
+            this.clave = clave;
+        }
+
+        Nodo buscarHijo(int distancia) {
+            for (int i = 0; i < this.distancias.length; i++) {
+                if (this.distancias[i] == distancia) return this.hijos[i];
+            }
+            return null;
+        }
+
+        void agregarHijo(int distancia, Nodo hijo) {
+            int n = this.hijos.length;
+            this.distancias = java.util.Arrays.copyOf(this.distancias, n + 1);
+            this.hijos = java.util.Arrays.copyOf(this.hijos, n + 1);
+            this.distancias[n] = distancia;
+            this.hijos[n] = hijo;
+        }
+    }
+
+    private final TablaSimbolos simbolos;
+    private final ConjuntoBits agregados; // Ids que ya están en el árbol
+    private Nodo raiz;
+
+    public ArbolBK(TablaSimbolos simbolos) {
+        this.simbolos = simbolos;
+        this.agregados = new ConjuntoBits();
+        this.raiz = null;
+    }
+
+    /**
+     * Agrega un símbolo (si ya estaba no hace nada).
+     *
+     * @param id Id del símbolo en la tabla
+     */
+    public void agregar(int id) {
+        if (!this.agregados.marcar(id)) return;
+        String clave = this.simbolos.getClave(id).getClave();
+        insertar(new Nodo(id, clave));
+        if (clave.indexOf(' ') >= 0) {
+            for (String palabra : clave.split(" ")) {
+                insertar(new Nodo(id, palabra));
+            }
+        }
+    }
+
+    private void insertar(Nodo nuevo) {
+        if (this.raiz == null) {
+            this.raiz = nuevo;
+            return;
+        }
+        Nodo actual = this.raiz;
+        while (true) {
+            int d = distancia(nuevo.clave, actual.clave);
+            Nodo hijo = actual.buscarHijo(d);
+            if (hijo == null) {
+                actual.agregarHijo(d, nuevo);
+                return;
+            }
+            actual = hijo;
+        }
+    }
+
+    /**
+     * Busca los símbolos a distancia de edición menor o igual a 'maximo'
+     * del texto (ya normalizado, ver ClaveNormalizada.normalizar).
+     *
+     * @return Los candidatos (uno por símbolo), sin ningún orden en particular
+     */
+    public ListaSimple<Candidato> buscar(String clave, int maximo) {
+        // Símbolo -> menor distancia encontrada
+        TablaHash<Integer, Integer> encontrados = new TablaHash<>(16);
+        if (this.raiz != null) {
+            buscar(this.raiz, clave, maximo, encontrados);
+        }
+        ListaSimple<Candidato> resultados = new ListaSimple<>();
+        for (Integer simbolo : encontrados.obtenerTodasLasClaves()) {
+            resultados.agregar(new Candidato(simbolo, encontrados.buscar(simbolo)));
+        }
+        return resultados;
+    }
+
+    private void buscar(Nodo nodo, String clave, int maximo, TablaHash<Integer, Integer> encontrados) {
+        int d = distancia(clave, nodo.clave);
+        if (d <= maximo) {
+            Integer anterior = encontrados.buscar(nodo.simbolo);
+            if (anterior == null) {
+                encontrados.insertar(nodo.simbolo, d);
+            } else if (d < anterior) {
+                encontrados.eliminar(nodo.simbolo);
+                encontrados.insertar(nodo.simbolo, d);
+            }
+        }
+        for (int i = 0; i < nodo.hijos.length; i++) {
+            if (Math.abs(nodo.distancias[i] - d) <= maximo) {
+                buscar(nodo.hijos[i], clave, maximo, encontrados);
+            }
+        }
+    }
+
+    /**
+     * @return Cantidad de símbolos en el árbol
+     */
+    public int getTamano() {
+        return this.agregados.getCantidad();
+    }
+
+    /**
+     * Distancia de Levenshtein: mínimo de letras a insertar, borrar o
+     * cambiar para pasar de un texto al otro. O(largo a * largo b) con dos
+     * filas de memoria.
+     */
+    public static int distancia(String a, String b) {
+        if (a.length() < b.length()) {
+            String t = a;
+            a = b;
+            b = t;
+        }
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cambio = anterior[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(cambio, Math.min(anterior[j], actual[j - 1]) + 1);
+            }
+            int[] t = anterior;
+            anterior = actual;
+            actual = t;
+        }
+        return anterior[b.length()];
+    }
+}
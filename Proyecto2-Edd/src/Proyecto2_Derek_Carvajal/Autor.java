@@ -17,48 +17,65 @@ import java.io.Serializable;
 
 public class Autor implements Comparable<Autor>, Serializable{
     
-    private String nombre;
-    private ListaSimple<Resumen> resumenes; // Lista de resúmenes de este autor
+    private ClaveNormalizada nombre; // Nombre para mostrar y su forma normalizada
+    // Resúmenes de este autor, en el orden en que se agregaron;
+    // agregar, buscar y eliminar uno cuesta O(1)
+    private ConjuntoEnlazado<Resumen> resumenes;
 
     /**
      * Constructor para la clase Autor.
      * @param nombre El nombre del autor.
      */
     public Autor(String nombre) {
-        
-        if (nombre != null) {
-            this.nombre = nombre.trim(); 
-        } else {
-            this.nombre = "";
-        }
-        this.resumenes = new ListaSimple<>();
+        // ClaveNormalizada quita los espacios de los extremos (y toma null como "")
+        this(new ClaveNormalizada(nombre));
+    }
+
+    /**
+     * Constructor con el nombre ya normalizado (evita normalizarlo de nuevo).
+     * @param nombre El nombre del autor.
+     */
+    Autor(ClaveNormalizada nombre) {
+        this.nombre = nombre;
+        this.resumenes = new ConjuntoEnlazado<>();
     }
 
     // --- Getters ---
     public String getNombre() {
+        return nombre.getTexto();
+    }
+
+    public ClaveNormalizada getClave() {
         return nombre;
     }
 
-    public ListaSimple<Resumen> getResumenes() {
+    public ConjuntoEnlazado<Resumen> getResumenes() {
         return resumenes;
     }
 
     /**
      * Agrega un resumen a la lista de publicaciones de este autor
+     * (si ya la tenía, no se hace nada).
+     *
+     * @return true si se agregó, false si ya estaba
+     */
+    public boolean agregarResumen(Resumen resumen) {
+        return this.resumenes.agregar(resumen);
+    }
+
+    /**
+     * Quita un resumen de las publicaciones de este autor.
+     *
+     * @return true si estaba y se quitó
      */
-    public void agregarResumen(Resumen resumen) {
-        //  Validar que no agreguemos el mismo resumen dos veces al mismo autor
-        for (int i = 0; i < this.resumenes.getTamano(); i++) {
-            if (this.resumenes.get(i).getTitulo().equalsIgnoreCase(resumen.getTitulo())) {
-                return; // Ya tiene este resumen, no se hace nada
-            }
-        }
-        this.resumenes.agregar(resumen);
+    public boolean eliminarResumen(Resumen resumen) {
+        return this.resumenes.eliminar(resumen);
     }
 
     /**
      * Método de comparación (compareTo)
-     * Permite al ArbolAVL ordenar los autores alfabéticamente por nombre.
+     * Permite al ArbolAVL ordenar los autores alfabéticamente por nombre
+     * (normalizado: sin distinguir mayúsculas ni tildes).
      *
      * @param otroAutor El otro Autor con el que se va a comparar.
      * @return un entero negativo, cero, o positivo si este nombre es
@@ -66,7 +83,7 @@ public class Autor implements Comparable<Autor>, Serializable{
      */
     @Override
     public int compareTo(Autor otroAutor) {
-        return this.nombre.compareToIgnoreCase(otroAutor.nombre);
+        return this.nombre.compareTo(otroAutor.nombre);
     }
 
     // Redefino equals y hashCode para búsquedas
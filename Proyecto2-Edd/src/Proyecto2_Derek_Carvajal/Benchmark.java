@@ -0,0 +1,374 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Mediciones de rendimiento de las estructuras del proyecto.
+ * Cada caso se ejecuta varias veces para calentar el JIT y luego se mide;
+ * se reporta el tiempo promedio y el mínimo por operación. Las estructuras
+ * de java.util (HashMap, TreeMap, ArrayList) se incluyen solo como punto
+ * de comparación.
+ *
+ * Uso: ant benchmark -Dbenchmark.args="1000 100000 1000000"
+ *  o   java -cp build/classes Proyecto2_Derek_Carvajal.Benchmark [tamaños...]
+ * Con -Dbenchmark.limiteGestor=N los casos del gestor usan a lo sumo N
+ * resúmenes (se avisa en la salida cuando se recorta un tamaño).
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+public class Benchmark {
+
+    private static final int ITERACIONES_CALENTAMIENTO = 3;
+    private static final int ITERACIONES_MEDICION = 5;
+    private static final long SEMILLA = 20240601L;
+
+    // Tamaños por defecto si no se pasan argumentos
+    private static final int[] TAMANOS = {1_000, 100_000, 1_000_000};
+
+    /*
+     * Agregar y eliminar en el gestor cuestan lo mismo por operación con
+     * cualquier tamaño, pero cada caso reconstruye todos los índices en
+     * cada iteración, así que con 1M resúmenes la corrida tarda bastante.
+     * benchmark.limiteGestor permite acortarla (usando solo un prefijo del
+     * corpus); por defecto se mide el tamaño completo.
+     */
+    private static final int LIMITE_GESTOR = leerLimiteGestor();
+
+    /*
+     * Los resultados de cada caso se acumulan aquí y se imprimen al final,
+     * para que el JIT no pueda descartar el trabajo como código muerto.
+     */
+    private static long sumidero;
+
+    // Estado compartido entre la preparación y el cuerpo de cada caso
+    private static String[] claves;
+    private static String[] clavesDesordenadas;
+    private static Resumen[] resumenes;
+    private static TablaHash<String, String> tablaHash;
+    private static TablaHashAbierta<String, String> tablaAbierta;
+    private static HashMap<String, String> mapaHash;
+    private static ArbolAVL<String> arbol;
+    private static TreeMap<String, String> mapaArbol;
+    private static ListaSimple<String> lista;
+    private static ArrayList<String> listaArreglo;
+    private static GestorInvestigaciones gestor;
+
+    public static void main(String[] args) {
+        int[] tamanos = TAMANOS;
+        if (args.length > 0) {
+            tamanos = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                tamanos[i] = Integer.parseInt(args[i].replace("_", ""));
+            }
+        }
+
+        System.out.printf("%-42s %10s %14s %14s%n", "Caso", "n", "ns/op (prom)", "ns/op (min)");
+        for (int n : tamanos) {
+            prepararDatos(n);
+            medirDiccionarios(n);
+            medirArboles(n);
+            medirListas(n);
+            medirGestor(n);
+            System.out.println();
+        }
+        System.out.println("(sumidero " + sumidero + ")");
+    }
+
+    private static void prepararDatos(int n) {
+        GeneradorCorpus generador = new GeneradorCorpus(SEMILLA, n);
+        resumenes = new Resumen[n];
+        claves = new String[n];
+        int i = 0;
+        for (Resumen r : generador.generar(n)) {
+            resumenes[i] = r;
+            claves[i] = r.getTitulo();
+            i++;
+        }
+        // Las búsquedas se hacen en un orden distinto al de inserción
+        clavesDesordenadas = desordenar(claves, n);
+    }
+
+    // Fisher-Yates sobre los primeros n elementos, con semilla fija
+    private static String[] desordenar(String[] originales, int n) {
+        String[] copia = java.util.Arrays.copyOf(originales, n);
+        java.util.Random aleatorio = new java.util.Random(SEMILLA);
+        for (int j = n - 1; j > 0; j--) {
+            int k = aleatorio.nextInt(j + 1);
+            String tmp = copia[j];
+            copia[j] = copia[k];
+            copia[k] = tmp;
+        }
+        return copia;
+    }
+
+    private static void medirDiccionarios(int n) {
+        medir("TablaHash.insertar", n,
+                () -> tablaHash = new TablaHash<>(16),
+                () -> {
+                    for (String c : claves) tablaHash.insertar(c, c);
+                    return tablaHash.getTamanoActual();
+                });
+        medir("TablaHash.buscar", n, null, () -> {
+            long encontrados = 0;
+            for (String c : clavesDesordenadas) {
+                if (tablaHash.buscar(c) != null) encontrados++;
+            }
+            return encontrados;
+        });
+        medir("TablaHash.eliminar", n,
+                () -> {
+                    tablaHash = new TablaHash<>(16);
+                    for (String c : claves) tablaHash.insertar(c, c);
+                },
+                () -> {
+                    long borrados = 0;
+                    for (String c : clavesDesordenadas) {
+                        if (tablaHash.eliminar(c)) borrados++;
+                    }
+                    return borrados;
+                });
+
+        medir("TablaHashAbierta.insertar", n,
+                () -> tablaAbierta = new TablaHashAbierta<>(16),
+                () -> {
+                    for (String c : claves) tablaAbierta.insertar(c, c);
+                    return tablaAbierta.getTamanoActual();
+                });
+        medir("TablaHashAbierta.buscar", n, null, () -> {
+            long encontrados = 0;
+            for (String c : clavesDesordenadas) {
+                if (tablaAbierta.buscar(c) != null) encontrados++;
+            }
+            return encontrados;
+        });
+        medir("TablaHashAbierta.eliminar", n,
+                () -> {
+                    tablaAbierta = new TablaHashAbierta<>(16);
+                    for (String c : claves) tablaAbierta.insertar(c, c);
+                },
+                () -> {
+                    long borrados = 0;
+                    for (String c : clavesDesordenadas) {
+                        if (tablaAbierta.eliminar(c)) borrados++;
+                    }
+                    return borrados;
+                });
+
+        medir("[base] HashMap.put", n,
+                () -> mapaHash = new HashMap<>(16),
+                () -> {
+                    for (String c : claves) mapaHash.put(c, c);
+                    return mapaHash.size();
+                });
+        medir("[base] HashMap.get", n, null, () -> {
+            long encontrados = 0;
+            for (String c : clavesDesordenadas) {
+                if (mapaHash.get(c) != null) encontrados++;
+            }
+            return encontrados;
+        });
+        medir("[base] HashMap.remove", n,
+                () -> {
+                    mapaHash = new HashMap<>(16);
+                    for (String c : claves) mapaHash.put(c, c);
+                },
+                () -> {
+                    long borrados = 0;
+                    for (String c : clavesDesordenadas) {
+                        if (mapaHash.remove(c) != null) borrados++;
+                    }
+                    return borrados;
+                });
+        tablaHash = null;
+        tablaAbierta = null;
+        mapaHash = null;
+    }
+
+    private static void medirArboles(int n) {
+        medir("ArbolAVL.insertar", n,
+                () -> arbol = new ArbolAVL<>(),
+                () -> {
+                    for (String c : claves) arbol.insertar(c);
+                    return 1;
+                });
+        medir("ArbolAVL.buscar", n, null, () -> {
+            long encontrados = 0;
+            for (String c : clavesDesordenadas) {
+                if (arbol.buscar(c) != null) encontrados++;
+            }
+            return encontrados;
+        });
+        medir("ArbolAVL.getListaInorden", n, null, () -> arbol.getListaInorden().getTamano());
+        medir("ArbolAVL.iterator", n, null, () -> {
+            long recorridos = 0;
+            for (String c : arbol) recorridos++;
+            return recorridos;
+        });
+        ListaSimple<String> ordenadas = new ListaSimple<>();
+        String[] copia = java.util.Arrays.copyOf(claves, n);
+        java.util.Arrays.sort(copia);
+        for (String c : copia) ordenadas.agregar(c);
+        medir("ArbolAVL.desdeOrdenados", n, null, () -> ArbolAVL.desdeOrdenados(ordenadas).tamano());
+        medir("ArbolAVL.eliminar", n,
+                () -> {
+                    arbol = new ArbolAVL<>();
+                    for (String c : claves) arbol.insertar(c);
+                },
+                () -> {
+                    for (String c : clavesDesordenadas) arbol.eliminar(c);
+                    return 1;
+                });
+
+        medir("[base] TreeMap.put", n,
+                () -> mapaArbol = new TreeMap<>(),
+                () -> {
+                    for (String c : claves) mapaArbol.put(c, c);
+                    return mapaArbol.size();
+                });
+        medir("[base] TreeMap.get", n, null, () -> {
+            long encontrados = 0;
+            for (String c : clavesDesordenadas) {
+                if (mapaArbol.get(c) != null) encontrados++;
+            }
+            return encontrados;
+        });
+        medir("[base] TreeMap.keySet (en orden)", n, null, () -> {
+            long total = 0;
+            for (String c : mapaArbol.keySet()) total += c.length();
+            return total;
+        });
+        medir("[base] TreeMap.remove", n,
+                () -> {
+                    mapaArbol = new TreeMap<>();
+                    for (String c : claves) mapaArbol.put(c, c);
+                },
+                () -> {
+                    long borrados = 0;
+                    for (String c : clavesDesordenadas) {
+                        if (mapaArbol.remove(c) != null) borrados++;
+                    }
+                    return borrados;
+                });
+        arbol = null;
+        mapaArbol = null;
+    }
+
+    private static void medirListas(int n) {
+        medir("ListaSimple.agregar", n,
+                () -> lista = new ListaSimple<>(),
+                () -> {
+                    for (String c : claves) lista.agregar(c);
+                    return lista.getTamano();
+                });
+        medir("ListaSimple.recorrer", n, null, () -> {
+            long total = 0;
+            for (String c : lista) total += c.length();
+            return total;
+        });
+        medir("[base] ArrayList.add", n,
+                () -> listaArreglo = new ArrayList<>(),
+                () -> {
+                    for (String c : claves) listaArreglo.add(c);
+                    return listaArreglo.size();
+                });
+        medir("[base] ArrayList.recorrer", n, null, () -> {
+            long total = 0;
+            for (String c : listaArreglo) total += c.length();
+            return total;
+        });
+        lista = null;
+        listaArreglo = null;
+    }
+
+    private static int leerLimiteGestor() {
+        String valor = System.getProperty("benchmark.limiteGestor", "").strip();
+        return valor.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(valor.replace("_", ""));
+    }
+
+    private static void medirGestor(int total) {
+        int n = Math.min(total, LIMITE_GESTOR);
+        if (n < total) {
+            System.out.printf("(casos del gestor con n = %d en lugar de %d: benchmark.limiteGestor)%n", n, total);
+        }
+        Resumen[] resumenes = java.util.Arrays.copyOf(Benchmark.resumenes, n);
+        String[] clavesDesordenadas = desordenar(claves, n);
+
+        medir("Gestor.agregarResumen", n,
+                () -> gestor = new GestorInvestigaciones(),
+                () -> {
+                    long agregados = 0;
+                    for (Resumen r : resumenes) {
+                        if (gestor.agregarResumen(r)) agregados++;
+                    }
+                    return agregados;
+                });
+        medir("Gestor.agregarResumenes (lote)", n,
+                () -> gestor = new GestorInvestigaciones(),
+                () -> {
+                    ListaSimple<Resumen> lote = new ListaSimple<>();
+                    for (Resumen r : resumenes) lote.agregar(r);
+                    return gestor.agregarResumenes(lote);
+                });
+        medir("Gestor.buscarResumenPorTitulo", n, null, () -> {
+            long encontrados = 0;
+            for (String c : clavesDesordenadas) {
+                if (gestor.buscarResumenPorTitulo(c) != null) encontrados++;
+            }
+            return encontrados;
+        });
+        medir("Gestor.getTitulosOrdenados", n, null, () -> gestor.getTitulosOrdenados().getTamano());
+        medir("Gestor.eliminarResumen", n,
+                () -> {
+                    gestor = new GestorInvestigaciones();
+                    ListaSimple<Resumen> lote = new ListaSimple<>();
+                    for (Resumen r : resumenes) lote.agregar(r);
+                    gestor.agregarResumenes(lote);
+                },
+                () -> {
+                    long borrados = 0;
+                    for (String c : clavesDesordenadas) {
+                        if (gestor.eliminarResumen(c)) borrados++;
+                    }
+                    return borrados;
+                });
+        gestor = null;
+    }
+
+    /**
+     * Ejecuta un caso: calentamiento, luego medición.
+     *
+     * @param nombre Nombre que se imprime
+     * @param operaciones Cantidad de operaciones que hace una ejecución del cuerpo
+     * @param preparar Se ejecuta antes de cada iteración, fuera del tiempo medido (puede ser null)
+     * @param cuerpo Trabajo medido; su resultado va al sumidero
+     */
+    private static void medir(String nombre, int operaciones, Runnable preparar, LongSupplier cuerpo) {
+        for (int i = 0; i < ITERACIONES_CALENTAMIENTO; i++) {
+            if (preparar != null) preparar.run();
+            sumidero += cuerpo.getAsLong();
+        }
+
+        long total = 0;
+        long minimo = Long.MAX_VALUE;
+        for (int i = 0; i < ITERACIONES_MEDICION; i++) {
+            if (preparar != null) preparar.run();
+            long inicio = System.nanoTime();
+            sumidero += cuerpo.getAsLong();
+            long duracion = System.nanoTime() - inicio;
+            total += duracion;
+            minimo = Math.min(minimo, duracion);
+        }
+
+        double promedio = (double) total / ITERACIONES_MEDICION / operaciones;
+        System.out.printf("%-42s %10d %14.1f %14.1f%n", nombre, operaciones, promedio, (double) minimo / operaciones);
+    }
+}
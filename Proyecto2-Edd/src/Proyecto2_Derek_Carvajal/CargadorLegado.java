@@ -0,0 +1,210 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Lee los archivos antiguos, escritos con ObjectOutputStream por la
+ * primera versión del programa (y por la de paquete "proyecto2.edd").
+ *
+ * Las clases actuales ya no tienen los mismos campos ni el mismo
+ * serialVersionUID, así que el archivo no se puede leer con ellas. En su
+ * lugar cada clase del archivo se lee con una "clase espejo" de aquí, que
+ * tiene exactamente los campos de la versión vieja. Antes de usar un
+ * espejo se comprueba que los campos del archivo coincidan uno a uno; si
+ * no, la carga falla con InvalidClassException. Cualquier otra clase que
+ * aparezca en el archivo también se rechaza.
+ *
+ * De lo leído solo se toman los resúmenes; los índices se reconstruyen con
+ * GestorInvestigaciones.agregarResumenes, como al cargar el formato binario.
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.Serializable;
+
+class CargadorLegado {
+
+    // Paquetes con los que se escribieron los archivos antiguos
+    private static final String[] PAQUETES = {"Proyecto2_Derek_Carvajal.", "proyecto2.edd."};
+
+    private CargadorLegado() {
+        // Clase utilitaria: no se instancia
+    }
+
+    /**
+     * Lee un archivo antiguo y arma un gestor con sus resúmenes.
+     *
+     * @param archivo El archivo a leer.
+     * @return El gestor reconstruido (sin los datos de ejemplo).
+     * @throws IOException Si el archivo no se puede leer o no tiene la forma
+     * de la versión antigua.
+     */
+    static GestorInvestigaciones cargar(File archivo) throws IOException {
+        GestorLegado legado;
+        try (ObjectInputStream in = new LectorLegado(new FileInputStream(archivo))) {
+            Object objeto = in.readObject();
+            if (!(objeto instanceof GestorLegado)) {
+                throw new InvalidClassException("El archivo no contiene un GestorInvestigaciones");
+            }
+            legado = (GestorLegado) objeto;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Archivo antiguo con contenido inesperado: " + e.getMessage(), e);
+        }
+
+        ListaSimple<Resumen> resumenes = new ListaSimple<>();
+        if (legado.repositorioResumenes != null && legado.repositorioResumenes.tabla != null) {
+            for (ListaLegada cubeta : legado.repositorioResumenes.tabla) {
+                if (cubeta == null) continue;
+                for (ListaLegada.NodoListaLegado n = cubeta.cabeza; n != null; n = n.siguiente) {
+                    ResumenLegado r = (ResumenLegado) ((EntradaLegada) n.dato).valor;
+                    resumenes.agregar(new Resumen(r.titulo, textos(r.autores), r.cuerpoResumen, textos(r.palabrasClave)));
+                }
+            }
+        }
+
+        GestorInvestigaciones gestor = new GestorInvestigaciones(false, false);
+        gestor.agregarResumenes(resumenes);
+        return gestor;
+    }
+
+    private static ListaSimple<String> textos(ListaLegada lista) {
+        ListaSimple<String> resultado = new ListaSimple<>();
+        if (lista == null) return resultado;
+        for (ListaLegada.NodoListaLegado n = lista.cabeza; n != null; n = n.siguiente) {
+            resultado.agregar((String) n.dato);
+        }
+        return resultado;
+    }
+
+    /**
+     * @return La clase espejo para el nombre (sin paquete) de una clase
+     * antigua, o null si no es una de ellas.
+     */
+    private static Class<?> espejo(String nombre) {
+        switch (nombre) {
+            case "GestorInvestigaciones": return GestorLegado.class;
+            case "Resumen": return ResumenLegado.class;
+            case "Autor": return AutorLegado.class;
+            case "ListaSimple": return ListaLegada.class;
+            case "ListaSimple$NodoLista": return ListaLegada.NodoListaLegado.class;
+            case "TablaHash": return TablaLegada.class;
+            case "EntradaHash": return EntradaLegada.class;
+            case "ArbolAVL": return ArbolLegado.class;
+            case "ArbolAVL$NodoAVL": return ArbolLegado.NodoArbolLegado.class;
+            default: return null;
+        }
+    }
+
+    /**
+     * Reemplaza la descripción de cada clase antigua por la de su espejo,
+     * después de comprobar que los campos coinciden.
+     */
+    private static class LectorLegado extends ObjectInputStream {
+
+        LectorLegado(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            ObjectStreamClass delArchivo = super.readClassDescriptor();
+            String nombre = delArchivo.getName();
+            boolean esArreglo = nombre.startsWith("[L") && nombre.endsWith(";");
+            if (esArreglo) {
+                nombre = nombre.substring(2, nombre.length() - 1);
+            }
+
+            Class<?> clase = null;
+            for (String paquete : PAQUETES) {
+                if (nombre.startsWith(paquete)) {
+                    clase = espejo(nombre.substring(paquete.length()));
+                    break;
+                }
+            }
+            if (clase == null) {
+                throw new InvalidClassException(delArchivo.getName(), "clase no esperada en un archivo antiguo");
+            }
+            if (esArreglo) {
+                return ObjectStreamClass.lookup(java.lang.reflect.Array.newInstance(clase, 0).getClass());
+            }
+
+            ObjectStreamClass local = ObjectStreamClass.lookup(clase);
+            ObjectStreamField[] esperados = local.getFields();
+            ObjectStreamField[] leidos = delArchivo.getFields();
+            boolean iguales = esperados.length == leidos.length;
+            for (int i = 0; iguales && i < leidos.length; i++) {
+                iguales = leidos[i].getName().equals(esperados[i].getName())
+                        && leidos[i].getTypeCode() == esperados[i].getTypeCode();
+            }
+            if (!iguales) {
+                throw new InvalidClassException(delArchivo.getName(), "los campos no coinciden con la versión antigua");
+            }
+            return local;
+        }
+    }
+
+    // --- CLASES ESPEJO (mismos campos que la versión antigua) ---
+
+    private static class GestorLegado implements Serializable {
+        TablaLegada repositorioResumenes;
+        Object indiceAutores;
+        Object indiceTitulosOrdenados;
+        Object indicePalabrasClaveHash;
+        Object indicePalabrasClaveAVL;
+    }
+
+    private static class ResumenLegado implements Serializable {
+        String titulo;
+        ListaLegada autores;
+        String cuerpoResumen;
+        ListaLegada palabrasClave;
+    }
+
+    private static class AutorLegado implements Serializable {
+        String nombre;
+        Object resumenes;
+    }
+
+    private static class ListaLegada implements Serializable {
+        NodoListaLegado cabeza;
+        int tamano;
+
+        private class NodoListaLegado implements Serializable {
+            Object dato;
+            NodoListaLegado siguiente;
+        }
+    }
+
+    private static class TablaLegada implements Serializable {
+        ListaLegada[] tabla;
+        int tamanoActual;
+        int tamanoArreglo;
+    }
+
+    private static class EntradaLegada implements Serializable {
+        Object clave;
+        Object valor;
+    }
+
+    private static class ArbolLegado implements Serializable {
+        NodoArbolLegado raiz;
+
+        private class NodoArbolLegado implements Serializable {
+            Object dato;
+            int altura;
+            NodoArbolLegado izquierdo;
+            NodoArbolLegado derecho;
+        }
+    }
+}
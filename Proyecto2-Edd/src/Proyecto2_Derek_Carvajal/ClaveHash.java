@@ -0,0 +1,24 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ * 
+ * * Interfaz opcional para claves que ya conocen su propio hash.
+ * Si una clave la implementa, las tablas hash usan este valor directamente
+ * en lugar de recorrer su toString() en cada operación.
+ * Dos claves iguales según equals() deben devolver el mismo hash.
+ */
+public interface ClaveHash {
+
+    /**
+     * Devuelve el hash precalculado de la clave.
+     *
+     * @return El hash (cualquier entero; la tabla lo vuelve no negativo).
+     */
+    int getHashClave();
+}
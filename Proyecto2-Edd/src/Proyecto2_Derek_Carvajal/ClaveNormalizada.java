@@ -0,0 +1,138 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Texto tal como lo escribió el usuario, junto con su forma normalizada
+ * (sin tildes, en minúsculas y con los espacios colapsados).
+ * Todos los índices del gestor usan esta clase como clave: la normalización
+ * se hace una sola vez al crear la clave, y después comparar, ordenar o
+ * buscar en una tabla hash es trabajar con la forma normalizada, sin
+ * equalsIgnoreCase ni conversiones en cada operación.
+ *
+ * Así "Computación", "computacion" y "  COMPUTACIÓN " son la misma clave;
+ * se muestra el texto de la primera que se guardó.
+ */
+
+import java.io.Serializable;
+import java.text.Normalizer;
+
+public final class ClaveNormalizada implements Comparable<ClaveNormalizada>, ClaveHash, Serializable {
+
+    private final String texto;  // Para mostrar
+    private final String clave;  // Para comparar y hashear
+    private final int hash;
+
+    private static final int TILDE_COMBINANTE = 0x0303;
+
+    /**
+     * @param texto El texto original (null se toma como "")
+     */
+    public ClaveNormalizada(String texto) {
+        this.texto = (texto != null) ? texto.strip() : "";
+        this.clave = normalizar(this.texto);
+        this.hash = this.clave.hashCode();
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * Forma normalizada de un texto:
+     *  1. Descomposición Unicode NFD ("ó" pasa a "o" + tilde combinante).
+     *  2. Se quitan las marcas combinantes (tildes, diéresis...), excepto
+     *     la tilde de la ñ: "año" y "ano" siguen siendo palabras distintas.
+     *  3. Mayúsculas a minúsculas (el mismo plegado que equalsIgnoreCase).
+     *  4. Los espacios en blanco seguidos se vuelven uno solo, y se quitan
+     *     los del principio y el final.
+     *
+     * @param texto El texto a normalizar (null se toma como "")
+     * @return El texto normalizado
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+        if (esAsciiNormalizado(texto)) return texto; // Caso más común: no hay nada que hacer
+        return normalizarSinAtajo(texto);
+    }
+
+    // normalizar() sin el atajo ASCII (las pruebas comparan ambos caminos)
+    static String normalizarSinAtajo(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(descompuesto.length());
+        boolean espacioPendiente = false;
+        int i = 0;
+        while (i < descompuesto.length()) {
+            int c = descompuesto.codePointAt(i);
+            i += Character.charCount(c);
+
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                espacioPendiente = sb.length() > 0;
+                continue;
+            }
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                // Solo se conserva la tilde de la ñ
+                int ultimo = sb.length() - 1;
+                if (c == TILDE_COMBINANTE && ultimo >= 0 && sb.charAt(ultimo) == 'n') {
+                    sb.setCharAt(ultimo, 'ñ');
+                }
+                continue;
+            }
+            if (espacioPendiente) {
+                sb.append(' ');
+                espacioPendiente = false;
+            }
+            sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c)));
+        }
+        return sb.toString();
+    }
+
+    // true si el texto es ASCII, sin mayúsculas y con espacios simples entre palabras
+    private static boolean esAsciiNormalizado(String texto) {
+        char anterior = ' ';
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x80 || (c >= 'A' && c <= 'Z')) return false;
+            if (c <= ' ' && (c != ' ' || anterior == ' ')) return false;
+            anterior = c;
+        }
+        return anterior != ' ' || texto.isEmpty();
+    }
+
+    @Override
+    public int compareTo(ClaveNormalizada otra) {
+        return this.clave.compareTo(otra.clave);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ClaveNormalizada otra = (ClaveNormalizada) obj;
+        return this.hash == otra.hash && this.clave.equals(otra.clave);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public int getHashClave() {
+        return this.hash;
+    }
+
+    @Override
+    public String toString() {
+        return this.texto;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Conjunto de enteros no negativos guardado como un arreglo de bits
+ * (64 por long). Marcar, desmarcar y consultar son O(1); el arreglo crece
+ * solo. Sirve para ids densos, como los ids de Resumen o de símbolos.
+ */
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class ConjuntoBits implements Serializable {
+
+    private long[] bits;
+    private int cantidad; // Bits marcados
+
+    public ConjuntoBits() {
+        this.bits = new long[4];
+        this.cantidad = 0;
+    }
+
+    /**
+     * Marca un valor.
+     *
+     * @return true si no estaba marcado
+     */
+    public boolean marcar(int valor) {
+        int palabra = valor >>> 6;
+        if (palabra >= this.bits.length) {
+            this.bits = Arrays.copyOf(this.bits, Math.max(this.bits.length * 2, palabra + 1));
+        }
+        long mascara = 1L << valor; // Java usa solo los 6 bits bajos del desplazamiento
+        if ((this.bits[palabra] & mascara) != 0) return false;
+        this.bits[palabra] |= mascara;
+        this.cantidad++;
+        return true;
+    }
+
+    /**
+     * Desmarca un valor.
+     *
+     * @return true si estaba marcado
+     */
+    public boolean desmarcar(int valor) {
+        int palabra = valor >>> 6;
+        if (palabra >= this.bits.length) return false;
+        long mascara = 1L << valor;
+        if ((this.bits[palabra] & mascara) == 0) return false;
+        this.bits[palabra] &= ~mascara;
+        this.cantidad--;
+        return true;
+    }
+
+    public boolean contiene(int valor) {
+        int palabra = valor >>> 6;
+        return palabra < this.bits.length && (this.bits[palabra] & (1L << valor)) != 0;
+    }
+
+    /**
+     * @return Cantidad de valores marcados
+     */
+    public int getCantidad() {
+        return this.cantidad;
+    }
+}
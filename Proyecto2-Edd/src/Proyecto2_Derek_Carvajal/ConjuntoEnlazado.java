@@ -0,0 +1,180 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ * Conjunto que recuerda el orden de inserción (TDA auxiliar).
+ * Los elementos forman una lista doblemente enlazada, así que se recorren
+ * en el orden en que se agregaron; una TablaHash de elemento -> nodo da
+ * agregar, contiene y eliminar en O(1) esperado.
+ *
+ * Mientras el conjunto es pequeño (hasta UMBRAL_TABLA elementos) no se
+ * crea la tabla y se busca recorriendo la lista: la mayoría de los autores
+ * tienen pocas publicaciones y así no pagan la memoria de una tabla.
+ *
+ * Los elementos deben tener equals() y hashCode() coherentes (o
+ * implementar ClaveHash) y no pueden ser null.
+ *
+ * @param <T> El tipo de dato a almacenar.
+ */
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class ConjuntoEnlazado<T> implements Serializable, Iterable<T> {
+
+    // Tamaño a partir del cual se usa la tabla hash para buscar
+    private static final int UMBRAL_TABLA = 8;
+
+    /**
+     * Clase interna que representa un nodo de la lista.
+     */
+    private static class Nodo<T> implements Serializable {
+        T dato;
+        Nodo<T> anterior;
+        Nodo<T> siguiente;
+
+        Nodo(T dato) {
+            this.dato = dato;
+        }
+    }
+
+    private Nodo<T> cabeza;
+    private Nodo<T> cola;
+    private int tamano;
+
+    // Elemento -> su nodo (null mientras el conjunto es pequeño)
+    private TablaHash<T, Nodo<T>> indice;
+
+    public ConjuntoEnlazado() {
+        this.cabeza = null;
+        this.cola = null;
+        this.tamano = 0;
+        this.indice = null;
+    }
+
+    /**
+     * Agrega un elemento al final si no estaba.
+     *
+     * @param dato El elemento a agregar.
+     * @return true si se agregó, false si ya estaba.
+     */
+    public boolean agregar(T dato) {
+        if (buscarNodo(dato) != null) return false;
+
+        Nodo<T> nuevo = new Nodo<>(dato);
+        if (this.cola == null) {
+            this.cabeza = nuevo;
+        } else {
+            this.cola.siguiente = nuevo;
+            nuevo.anterior = this.cola;
+        }
+        this.cola = nuevo;
+        this.tamano++;
+
+        if (this.indice != null) {
+            this.indice.insertar(dato, nuevo);
+        } else if (this.tamano > UMBRAL_TABLA) {
+            crearIndice();
+        }
+        return true;
+    }
+
+    /**
+     * @return true si el elemento está en el conjunto.
+     */
+    public boolean contiene(T dato) {
+        return buscarNodo(dato) != null;
+    }
+
+    /**
+     * Elimina un elemento (el orden de los demás no cambia).
+     *
+     * @param dato El elemento a eliminar.
+     * @return true si estaba y se eliminó.
+     */
+    public boolean eliminar(T dato) {
+        Nodo<T> nodo = buscarNodo(dato);
+        if (nodo == null) return false;
+
+        if (this.indice != null) {
+            this.indice.eliminar(dato);
+        }
+        if (nodo.anterior == null) {
+            this.cabeza = nodo.siguiente;
+        } else {
+            nodo.anterior.siguiente = nodo.siguiente;
+        }
+        if (nodo.siguiente == null) {
+            this.cola = nodo.anterior;
+        } else {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        this.tamano--;
+        return true;
+    }
+
+    public int getTamano() {
+        return this.tamano;
+    }
+
+    public boolean estaVacio() {
+        return this.tamano == 0;
+    }
+
+    private Nodo<T> buscarNodo(T dato) {
+        if (this.indice != null) {
+            return this.indice.buscar(dato);
+        }
+        for (Nodo<T> actual = this.cabeza; actual != null; actual = actual.siguiente) {
+            if (actual.dato.equals(dato)) return actual;
+        }
+        return null;
+    }
+
+    private void crearIndice() {
+        this.indice = new TablaHash<>(UMBRAL_TABLA * 4);
+        for (Nodo<T> actual = this.cabeza; actual != null; actual = actual.siguiente) {
+            this.indice.insertar(actual.dato, actual);
+        }
+    }
+
+    /**
+     * Recorre los elementos en orden de inserción.
+     * El iterador permite eliminar el último elemento devuelto con remove().
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Nodo<T> siguiente = cabeza;
+            private Nodo<T> actual;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public T next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                actual = siguiente;
+                siguiente = siguiente.siguiente;
+                return actual.dato;
+            }
+
+            @Override
+            public void remove() {
+                if (actual == null) {
+                    throw new IllegalStateException("next() no ha sido llamado o el elemento ya fue eliminado");
+                }
+                eliminar(actual.dato);
+                actual = null;
+            }
+        };
+    }
+}
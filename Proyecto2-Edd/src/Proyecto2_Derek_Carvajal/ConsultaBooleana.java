@@ -0,0 +1,634 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Consulta booleana sobre autores y palabras clave, ya analizada.
+ *
+ * Sintaxis (los operadores van en mayúsculas):
+ *   grafos                         Palabra clave (el campo por defecto)
+ *   palabra:grafos                 Lo mismo, con el campo explícito
+ *   autor:"Ada Lovelace"           Autor (las comillas permiten espacios)
+ *   A AND B   /  A Y B  /  A B     Ambas (escribir dos términos seguidos es AND)
+ *   A OR B    /  A O B             Cualquiera de las dos
+ *   NOT A     /  NO A  /  -A       Todas menos A
+ *   ( ... )                        Agrupar
+ * NOT tiene la mayor precedencia, después AND y al final OR.
+ *
+ * Para ejecutarla, cada término se convierte en un cursor sobre su
+ * ListaIds y los operadores en cursores que combinan a sus hijos sin armar
+ * listas intermedias: los resultados salen en orden de id, uno a la vez,
+ * y se puede dejar de pedir en cualquier momento. Un AND empieza por el
+ * hijo con menos ids y pide a los demás que salten (buscarDesde) hasta
+ * ese candidato; los NOT dentro de un AND solo descartan candidatos.
+ */
+
+import java.util.Arrays;
+
+public class ConsultaBooleana {
+
+    /**
+     * Campo sobre el que busca un término.
+     */
+    public enum Campo {
+        PALABRA("palabra"),
+        AUTOR("autor");
+
+        private final String nombre;
+
+        Campo(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getNombre() {
+            return this.nombre;
+        }
+    }
+
+    /**
+     * Lo que la consulta necesita del repositorio para ejecutarse.
+     * Se usa con el candado de lectura del gestor tomado.
+     */
+    interface Fuente {
+        /**
+         * @return La lista de ids del término, o null si no existe
+         */
+        ListaIds getIds(Campo campo, String texto);
+
+        /**
+         * @return Los ids de resúmenes eliminados (se saltan)
+         */
+        ConjuntoBits getBorrados();
+
+        /**
+         * @return Un id mayor que todos los asignados
+         */
+        int getLimiteIds();
+    }
+
+    // Id que devuelve un cursor cuando ya no tiene más
+    static final int FIN = Integer.MAX_VALUE;
+
+    private final Nodo raiz;
+
+    private ConsultaBooleana(Nodo raiz) {
+        this.raiz = raiz;
+    }
+
+    /**
+     * Analiza el texto de una consulta.
+     *
+     * @param texto La consulta
+     * @return La consulta analizada
+     * @throws IllegalArgumentException Si la consulta está vacía o mal escrita
+     */
+    public static ConsultaBooleana analizar(String texto) {
+        Analizador analizador = new Analizador(texto != null ? texto : "");
+        Nodo raiz = analizador.analizar();
+        return new ConsultaBooleana(raiz);
+    }
+
+    /**
+     * Crea el cursor que recorre los ids que cumplen la consulta.
+     */
+    Cursor abrir(Fuente fuente) {
+        return this.raiz.abrir(fuente);
+    }
+
+    /**
+     * @return La consulta con paréntesis explícitos (forma canónica)
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        this.raiz.escribir(sb);
+        return sb.toString();
+    }
+
+    // --- ÁRBOL DE LA CONSULTA ---
+
+    private abstract static class Nodo {
+        abstract Cursor abrir(Fuente fuente);
+
+        abstract void escribir(StringBuilder sb);
+    }
+
+    private static class Termino extends Nodo {
+        final Campo campo;
+        final String texto;
+
+        Termino(Campo campo, String texto) {
+            this.campo = campo;
+            this.texto = texto;
+        }
+
+        @Override
+        Cursor abrir(Fuente fuente) {
+            ListaIds ids = fuente.getIds(this.campo, this.texto);
+            return (ids != null) ? new CursorLista(ids, fuente.getBorrados()) : new CursorVacio();
+        }
+
+        @Override
+        void escribir(StringBuilder sb) {
+            sb.append(this.campo.getNombre()).append(":\"").append(this.texto).append('"');
+        }
+    }
+
+    private static class Negacion extends Nodo {
+        final Nodo hijo;
+
+        Negacion(Nodo hijo) {
+            this.hijo = hijo;
+        }
+
+        @Override
+        Cursor abrir(Fuente fuente) {
+            // NOT suelto: todos los resúmenes menos los del hijo
+            return new CursorY(new Cursor[] { new CursorTodos(fuente) }, new Cursor[] { this.hijo.abrir(fuente) });
+        }
+
+        @Override
+        void escribir(StringBuilder sb) {
+            sb.append("NOT ");
+            this.hijo.escribir(sb);
+        }
+    }
+
+    private static class Conjuncion extends Nodo {
+        final ListaSimple<Nodo> hijos = new ListaSimple<>();
+
+        @Override
+        Cursor abrir(Fuente fuente) {
+            ListaSimple<Cursor> positivos = new ListaSimple<>();
+            ListaSimple<Cursor> negativos = new ListaSimple<>();
+            for (Nodo hijo : this.hijos) {
+                if (hijo instanceof Negacion negacion) {
+                    negativos.agregar(negacion.hijo.abrir(fuente));
+                } else {
+                    positivos.agregar(hijo.abrir(fuente));
+                }
+            }
+            if (positivos.getTamano() == 0) {
+                positivos.agregar(new CursorTodos(fuente));
+            }
+            return new CursorY(aArreglo(positivos), aArreglo(negativos));
+        }
+
+        @Override
+        void escribir(StringBuilder sb) {
+            escribirHijos(sb, this.hijos, " AND ");
+        }
+    }
+
+    private static class Disyuncion extends Nodo {
+        final ListaSimple<Nodo> hijos = new ListaSimple<>();
+
+        @Override
+        Cursor abrir(Fuente fuente) {
+            ListaSimple<Cursor> cursores = new ListaSimple<>();
+            for (Nodo hijo : this.hijos) {
+                cursores.agregar(hijo.abrir(fuente));
+            }
+            return new CursorO(aArreglo(cursores));
+        }
+
+        @Override
+        void escribir(StringBuilder sb) {
+            escribirHijos(sb, this.hijos, " OR ");
+        }
+    }
+
+    private static void escribirHijos(StringBuilder sb, ListaSimple<Nodo> hijos, String operador) {
+        sb.append('(');
+        boolean primero = true;
+        for (Nodo hijo : hijos) {
+            if (!primero) sb.append(operador);
+            hijo.escribir(sb);
+            primero = false;
+        }
+        sb.append(')');
+    }
+
+    private static Cursor[] aArreglo(ListaSimple<Cursor> lista) {
+        Cursor[] arreglo = new Cursor[lista.getTamano()];
+        int i = 0;
+        for (Cursor c : lista) {
+            arreglo[i++] = c;
+        }
+        return arreglo;
+    }
+
+    // --- CURSORES ---
+
+    /**
+     * Recorre ids en orden creciente. Antes de la primera llamada
+     * actual() es -1; al terminar todos los métodos devuelven FIN.
+     */
+    interface Cursor {
+        int actual();
+
+        /**
+         * @return El siguiente id, o FIN
+         */
+        int avanzar();
+
+        /**
+         * @return El primer id mayor o igual a 'id' (sin retroceder), o FIN
+         */
+        int avanzarA(int id);
+
+        /**
+         * @return Estimación de cuántos ids puede devolver (para elegir el orden)
+         */
+        long costo();
+    }
+
+    private static class CursorVacio implements Cursor {
+        private int actual = -1;
+
+        public int actual() { return this.actual; }
+
+        public int avanzar() { return this.actual = FIN; }
+
+        public int avanzarA(int id) { return this.actual = FIN; }
+
+        public long costo() { return 0; }
+    }
+
+    /**
+     * Cursor sobre una ListaIds; salta los ids eliminados.
+     */
+    private static class CursorLista implements Cursor {
+        private final ListaIds ids;
+        private final ConjuntoBits borrados;
+        private int posicion = -1;
+        private int actual = -1;
+
+        CursorLista(ListaIds ids, ConjuntoBits borrados) {
+            this.ids = ids;
+            this.borrados = borrados;
+        }
+
+        public int actual() {
+            return this.actual;
+        }
+
+        public int avanzar() {
+            this.posicion++;
+            return saltarBorrados();
+        }
+
+        public int avanzarA(int id) {
+            if (this.actual >= id) return this.actual;
+            this.posicion = this.ids.buscarDesde(Math.max(this.posicion, 0), id);
+            return saltarBorrados();
+        }
+
+        private int saltarBorrados() {
+            while (this.posicion < this.ids.getTamano() && this.borrados.contiene(this.ids.get(this.posicion))) {
+                this.posicion++;
+            }
+            this.actual = (this.posicion < this.ids.getTamano()) ? this.ids.get(this.posicion) : FIN;
+            return this.actual;
+        }
+
+        public long costo() {
+            return this.ids.getTamano();
+        }
+    }
+
+    /**
+     * Todos los ids asignados que no están eliminados (para NOT sin
+     * términos positivos).
+     */
+    private static class CursorTodos implements Cursor {
+        private final ConjuntoBits borrados;
+        private final int limite;
+        private int actual = -1;
+
+        CursorTodos(Fuente fuente) {
+            this.borrados = fuente.getBorrados();
+            this.limite = fuente.getLimiteIds();
+        }
+
+        public int actual() {
+            return this.actual;
+        }
+
+        public int avanzar() {
+            return avanzarA(this.actual + 1);
+        }
+
+        public int avanzarA(int id) {
+            if (this.actual >= id) return this.actual;
+            int candidato = id;
+            while (candidato < this.limite && this.borrados.contiene(candidato)) {
+                candidato++;
+            }
+            this.actual = (candidato < this.limite) ? candidato : FIN;
+            return this.actual;
+        }
+
+        public long costo() {
+            return (long) this.limite - this.borrados.getCantidad();
+        }
+    }
+
+    /**
+     * AND: los positivos se ordenan de menor a mayor costo; el primero
+     * propone candidatos y los demás saltan hasta él. Un candidato que
+     * aparece en algún negativo se descarta.
+     */
+    private static class CursorY implements Cursor {
+        private final Cursor[] positivos;
+        private final Cursor[] negativos;
+        private int actual = -1;
+
+        CursorY(Cursor[] positivos, Cursor[] negativos) {
+            Arrays.sort(positivos, (a, b) -> Long.compare(a.costo(), b.costo()));
+            this.positivos = positivos;
+            this.negativos = negativos;
+        }
+
+        public int actual() {
+            return this.actual;
+        }
+
+        public int avanzar() {
+            return this.actual = alinear(this.positivos[0].avanzar());
+        }
+
+        public int avanzarA(int id) {
+            if (this.actual >= id) return this.actual;
+            return this.actual = alinear(this.positivos[0].avanzarA(id));
+        }
+
+        private int alinear(int candidato) {
+            while (candidato != FIN) {
+                int mayor = candidato;
+                for (int i = 1; i < this.positivos.length && mayor == candidato; i++) {
+                    mayor = this.positivos[i].avanzarA(candidato);
+                }
+                if (mayor != candidato) {
+                    // Algún positivo no lo tiene: el líder salta hasta su siguiente id
+                    candidato = this.positivos[0].avanzarA(mayor);
+                    continue;
+                }
+                if (estaEnNegativos(candidato)) {
+                    candidato = this.positivos[0].avanzar();
+                    continue;
+                }
+                return candidato;
+            }
+            return FIN;
+        }
+
+        private boolean estaEnNegativos(int id) {
+            for (Cursor negativo : this.negativos) {
+                if (negativo.avanzarA(id) == id) return true;
+            }
+            return false;
+        }
+
+        public long costo() {
+            return this.positivos[0].costo();
+        }
+    }
+
+    /**
+     * OR: el menor id actual entre los hijos.
+     */
+    private static class CursorO implements Cursor {
+        private final Cursor[] hijos;
+        private int actual = -1;
+
+        CursorO(Cursor[] hijos) {
+            this.hijos = hijos;
+        }
+
+        public int actual() {
+            return this.actual;
+        }
+
+        public int avanzar() {
+            for (Cursor hijo : this.hijos) {
+                if (hijo.actual() <= this.actual) hijo.avanzar();
+            }
+            return this.actual = menor();
+        }
+
+        public int avanzarA(int id) {
+            if (this.actual >= id) return this.actual;
+            for (Cursor hijo : this.hijos) {
+                hijo.avanzarA(id);
+            }
+            return this.actual = menor();
+        }
+
+        private int menor() {
+            int menor = FIN;
+            for (Cursor hijo : this.hijos) {
+                menor = Math.min(menor, hijo.actual());
+            }
+            return menor;
+        }
+
+        public long costo() {
+            long suma = 0;
+            for (Cursor hijo : this.hijos) {
+                suma += hijo.costo();
+            }
+            return suma;
+        }
+    }
+
+    // --- ANÁLISIS DEL TEXTO ---
+
+    /**
+     * Analizador descendente recursivo:
+     *   o        := y (OR y)*
+     *   y        := negacion ([AND] negacion)*
+     *   negacion := NOT negacion | primario
+     *   primario := '(' o ')' | termino
+     */
+    private static class Analizador {
+        private final String texto;
+        private int posicion;
+
+        Analizador(String texto) {
+            this.texto = texto;
+            this.posicion = 0;
+        }
+
+        Nodo analizar() {
+            saltarEspacios();
+            if (this.posicion >= this.texto.length()) {
+                throw new IllegalArgumentException("La consulta está vacía");
+            }
+            Nodo raiz = o();
+            saltarEspacios();
+            if (this.posicion < this.texto.length()) {
+                throw error("No se esperaba '" + this.texto.charAt(this.posicion) + "'");
+            }
+            return raiz;
+        }
+
+        private Nodo o() {
+            Nodo primero = y();
+            if (!operador("OR", "O")) return primero;
+            Disyuncion disyuncion = new Disyuncion();
+            agregarAplanado(disyuncion.hijos, primero, Disyuncion.class);
+            do {
+                agregarAplanado(disyuncion.hijos, y(), Disyuncion.class);
+            } while (operador("OR", "O"));
+            return disyuncion;
+        }
+
+        private Nodo y() {
+            Nodo primero = negacion();
+            Conjuncion conjuncion = null;
+            while (true) {
+                boolean explicito = operador("AND", "Y");
+                saltarEspacios();
+                // Dos términos seguidos también son AND
+                if (!explicito && !empiezaOperando()) break;
+                if (conjuncion == null) {
+                    conjuncion = new Conjuncion();
+                    agregarAplanado(conjuncion.hijos, primero, Conjuncion.class);
+                }
+                agregarAplanado(conjuncion.hijos, negacion(), Conjuncion.class);
+            }
+            return (conjuncion != null) ? conjuncion : primero;
+        }
+
+        private Nodo negacion() {
+            saltarEspacios();
+            if (this.posicion < this.texto.length() && this.texto.charAt(this.posicion) == '-') {
+                this.posicion++;
+                return new Negacion(negacion());
+            }
+            if (operador("NOT", "NO")) {
+                return new Negacion(negacion());
+            }
+            return primario();
+        }
+
+        private Nodo primario() {
+            saltarEspacios();
+            if (this.posicion >= this.texto.length()) {
+                throw error("Falta un término al final");
+            }
+            if (this.texto.charAt(this.posicion) == '(') {
+                this.posicion++;
+                Nodo dentro = o();
+                saltarEspacios();
+                if (this.posicion >= this.texto.length() || this.texto.charAt(this.posicion) != ')') {
+                    throw error("Falta ')'");
+                }
+                this.posicion++;
+                return dentro;
+            }
+            return termino();
+        }
+
+        private Nodo termino() {
+            Campo campo = Campo.PALABRA;
+            int inicio = this.posicion;
+            String valor = palabraOCadena();
+            // ¿Era el nombre de un campo? (campo:valor)
+            if (this.posicion < this.texto.length() && this.texto.charAt(this.posicion) == ':'
+                    && this.texto.charAt(inicio) != '"') {
+                campo = buscarCampo(valor);
+                this.posicion++;
+                valor = palabraOCadena();
+            }
+            if (valor.isBlank()) {
+                throw error("Término vacío");
+            }
+            return new Termino(campo, valor);
+        }
+
+        private Campo buscarCampo(String nombre) {
+            for (Campo campo : Campo.values()) {
+                if (campo.getNombre().equalsIgnoreCase(nombre)) return campo;
+            }
+            throw error("Campo desconocido '" + nombre + "' (se espera autor o palabra)");
+        }
+
+        // Una palabra (hasta un espacio, paréntesis o ':') o una cadena entre comillas
+        private String palabraOCadena() {
+            if (this.posicion < this.texto.length() && this.texto.charAt(this.posicion) == '"') {
+                int cierre = this.texto.indexOf('"', this.posicion + 1);
+                if (cierre < 0) throw error("Comillas sin cerrar");
+                String valor = this.texto.substring(this.posicion + 1, cierre);
+                this.posicion = cierre + 1;
+                return valor;
+            }
+            int inicio = this.posicion;
+            while (this.posicion < this.texto.length() && !esSeparador(this.texto.charAt(this.posicion))) {
+                this.posicion++;
+            }
+            if (inicio == this.posicion) {
+                throw error("Se esperaba un término");
+            }
+            return this.texto.substring(inicio, this.posicion);
+        }
+
+        private static boolean esSeparador(char c) {
+            return Character.isWhitespace(c) || c == '(' || c == ')' || c == ':' || c == '"';
+        }
+
+        // true si lo que sigue puede empezar un operando (no ')' ni OR ni el final)
+        private boolean empiezaOperando() {
+            if (this.posicion >= this.texto.length()) return false;
+            char c = this.texto.charAt(this.posicion);
+            return c != ')' && !esPalabra("OR") && !esPalabra("O");
+        }
+
+        // Consume el operador si lo que sigue es exactamente una de esas palabras
+        private boolean operador(String... nombres) {
+            saltarEspacios();
+            for (String nombre : nombres) {
+                if (esPalabra(nombre)) {
+                    this.posicion += nombre.length();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean esPalabra(String palabra) {
+            int fin = this.posicion + palabra.length();
+            return this.texto.startsWith(palabra, this.posicion)
+                    && (fin == this.texto.length() || esSeparador(this.texto.charAt(fin)))
+                    && (fin == this.texto.length() || this.texto.charAt(fin) != ':');
+        }
+
+        private void saltarEspacios() {
+            while (this.posicion < this.texto.length() && Character.isWhitespace(this.texto.charAt(this.posicion))) {
+                this.posicion++;
+            }
+        }
+
+        // (A AND B) AND C queda como un solo AND de tres hijos; igual con OR
+        private static void agregarAplanado(ListaSimple<Nodo> hijos, Nodo nodo, Class<? extends Nodo> tipo) {
+            if (tipo.isInstance(nodo)) {
+                ListaSimple<Nodo> nietos = (nodo instanceof Conjuncion c) ? c.hijos : ((Disyuncion) nodo).hijos;
+                for (Nodo nieto : nietos) {
+                    hijos.agregar(nieto);
+                }
+            } else {
+                hijos.agregar(nodo);
+            }
+        }
+
+        private IllegalArgumentException error(String mensaje) {
+            return new IllegalArgumentException(mensaje + " (posición " + (this.posicion + 1) + ")");
+        }
+    }
+}
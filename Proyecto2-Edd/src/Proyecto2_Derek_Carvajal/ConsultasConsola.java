@@ -0,0 +1,226 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Modo de consola (sin interfaz gráfica) para correr muchas consultas de
+ * una vez. Carga el repositorio una sola vez, lee las consultas de un
+ * archivo o de la entrada estándar y las ejecuta en paralelo, cada una en
+ * su propio hilo virtual. Los resultados salen en el mismo orden que las
+ * consultas, a medida que van estando listos.
+ *
+ * Formato de cada línea de consulta (las vacías y las que empiezan con #
+ * se ignoran):
+ *   titulo  Título exacto del resumen
+ *   autor   Nombre del autor
+ *   palabra Palabra clave
+ *   texto   Términos a buscar en el cuerpo (los 10 mejores por BM25)
+ *   consulta Consulta booleana sobre autores y palabras (ver ConsultaBooleana)
+ *
+ * Uso: java -cp build/classes Proyecto2_Derek_Carvajal.ConsultasConsola [--json] [archivo]
+ *  o   ant consultas -Dconsultas.args="--json consultas.txt"
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConsultasConsola {
+
+    // Consultas en vuelo como máximo; limita la memoria con archivos enormes
+    private static final int VENTANA = 4096;
+
+    // Resultados que devuelve una consulta de tipo "texto"
+    private static final int RESULTADOS_TEXTO = 10;
+
+    private final GestorInvestigaciones gestor;
+    private final boolean json;
+
+    public ConsultasConsola(GestorInvestigaciones gestor, boolean json) {
+        this.gestor = gestor;
+        this.json = json;
+    }
+
+    public static void main(String[] args) {
+        boolean json = false;
+        String archivo = null;
+        for (String arg : args) {
+            if (arg.equals("--json")) {
+                json = true;
+            } else if (arg.equals("--ayuda") || arg.equals("-h")) {
+                System.err.println("Uso: ConsultasConsola [--json] [archivo de consultas]");
+                System.err.println("Sin archivo, las consultas se leen de la entrada estándar.");
+                return;
+            } else {
+                archivo = arg;
+            }
+        }
+
+        // Los mensajes de carga van a stderr para no mezclarse con los resultados
+        PrintStream salidaOriginal = System.out;
+        System.setOut(System.err);
+        GestorInvestigaciones gestor;
+        try {
+            gestor = GestorInvestigaciones.cargarDatosSoloLectura();
+        } finally {
+            System.setOut(salidaOriginal);
+        }
+
+        ConsultasConsola consola = new ConsultasConsola(gestor, json);
+        try (InputStream entrada = (archivo == null) ? System.in : new FileInputStream(archivo)) {
+            Writer salida = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            consola.ejecutar(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)), salida);
+        } catch (IOException e) {
+            System.err.println("Error al procesar las consultas: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Lee todas las consultas, las ejecuta en hilos virtuales y escribe un
+     * resultado por línea, en el orden de entrada. Al final imprime en
+     * stderr el total y las consultas por segundo.
+     *
+     * @return Cantidad de consultas ejecutadas
+     */
+    public long ejecutar(BufferedReader entrada, Writer salida) throws IOException {
+        // Consultas enviadas y aún no escritas, en orden de entrada
+        ArrayDeque<Future<String>> ventana = new ArrayDeque<>(VENTANA);
+        long enviadas = 0;
+        long numeroLinea = 0;
+        long inicio = System.nanoTime();
+
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                numeroLinea++;
+                String consulta = linea.strip();
+                if (consulta.isEmpty() || consulta.startsWith("#")) continue;
+
+                if (ventana.size() == VENTANA) {
+                    escribir(ventana.poll(), salida);
+                }
+                final long numero = numeroLinea;
+                ventana.add(ejecutor.submit(() -> responder(numero, consulta)));
+                enviadas++;
+            }
+            while (!ventana.isEmpty()) {
+                escribir(ventana.poll(), salida);
+            }
+        }
+        salida.flush();
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.err.printf("%d consultas en %.3f s (%.0f consultas/s)%n",
+                enviadas, segundos, (segundos > 0) ? enviadas / segundos : 0.0);
+        return enviadas;
+    }
+
+    // Escribe el resultado; si todavía no está listo, vacía la salida antes de esperar
+    private void escribir(Future<String> resultado, Writer salida) throws IOException {
+        if (!resultado.isDone()) {
+            salida.flush();
+        }
+        try {
+            salida.write(resultado.get());
+        } catch (ExecutionException e) {
+            throw new IOException("Falló una consulta", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido", e);
+        }
+        salida.write('\n');
+    }
+
+    /**
+     * Ejecuta una consulta y devuelve su línea de salida.
+     */
+    String responder(long numero, String consulta) {
+        int espacio = consulta.indexOf(' ');
+        String tipo = (espacio < 0) ? consulta : consulta.substring(0, espacio);
+        String argumento = (espacio < 0) ? "" : consulta.substring(espacio + 1).strip();
+
+        long inicio = System.nanoTime();
+        ListaSimple<String> titulos = new ListaSimple<>();
+        switch (tipo.toLowerCase(Locale.ROOT)) {
+            case "titulo" -> {
+                Resumen r = this.gestor.buscarResumenPorTitulo(argumento);
+                if (r != null) titulos.agregar(r.getTitulo());
+            }
+            case "autor" -> agregarTitulos(titulos, this.gestor.buscarResumenesPorAutor(argumento));
+            case "palabra" -> agregarTitulos(titulos, this.gestor.buscarResumenPorPalabra(argumento));
+            case "texto" -> agregarTitulos(titulos, this.gestor.buscarResumenesPorTexto(argumento, RESULTADOS_TEXTO));
+            case "consulta" -> {
+                try {
+                    agregarTitulos(titulos, this.gestor.buscarConsulta(argumento, Integer.MAX_VALUE));
+                } catch (IllegalArgumentException e) {
+                    return formatearError(numero, consulta, e.getMessage());
+                }
+            }
+            default -> {
+                return formatearError(numero, consulta, "Tipo de consulta desconocido: " + tipo);
+            }
+        }
+        long microsegundos = (System.nanoTime() - inicio) / 1000;
+        return formatear(numero, tipo, argumento, titulos, microsegundos);
+    }
+
+    private static void agregarTitulos(ListaSimple<String> titulos, ListaSimple<Resumen> resumenes) {
+        if (resumenes == null) return;
+        for (Resumen r : resumenes) {
+            titulos.agregar(r.getTitulo());
+        }
+    }
+
+    private String formatear(long numero, String tipo, String argumento, ListaSimple<String> titulos, long microsegundos) {
+        StringBuilder sb = new StringBuilder();
+        if (this.json) {
+            sb.append("{\"linea\":").append(numero).append(",\"tipo\":");
+            Json.cadena(sb, tipo).append(",\"consulta\":");
+            Json.cadena(sb, argumento).append(",\"cantidad\":").append(titulos.getTamano());
+            sb.append(",\"resultados\":");
+            Json.arreglo(sb, titulos).append(",\"microsegundos\":").append(microsegundos).append('}');
+        } else {
+            // linea <TAB> tipo <TAB> consulta <TAB> cantidad <TAB> título | título ...
+            sb.append(numero).append('\t').append(tipo).append('\t').append(argumento)
+              .append('\t').append(titulos.getTamano()).append('\t');
+            boolean primero = true;
+            for (String titulo : titulos) {
+                if (!primero) sb.append(" | ");
+                sb.append(titulo);
+                primero = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private String formatearError(long numero, String consulta, String mensaje) {
+        StringBuilder sb = new StringBuilder();
+        if (this.json) {
+            sb.append("{\"linea\":").append(numero).append(",\"consulta\":");
+            Json.cadena(sb, consulta).append(",\"error\":");
+            Json.cadena(sb, mensaje).append('}');
+        } else {
+            sb.append(numero).append("\tERROR\t").append(consulta).append('\t').append(mensaje);
+        }
+        return sb.toString();
+    }
+}
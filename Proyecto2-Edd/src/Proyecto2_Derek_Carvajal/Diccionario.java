@@ -0,0 +1,66 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ * 
+ * * Contrato común de las tablas de dispersión del proyecto.
+ * Permite que GestorInvestigaciones elija entre encadenamiento separado
+ * (TablaHash) y direccionamiento abierto (TablaHashAbierta).
+ *
+ * @param <K> El tipo de la Clave.
+ * @param <V> El tipo del Valor a almacenar.
+ */
+public interface Diccionario<K, V> {
+
+    /**
+     * Inserta un nuevo par clave-valor. No permite claves duplicadas.
+     *
+     * @param clave La clave.
+     * @param valor El valor.
+     * @return true si se insertó, false si la clave ya existía.
+     */
+    boolean insertar(K clave, V valor);
+
+    /**
+     * Busca el valor asociado a una clave.
+     *
+     * @param clave La clave a buscar.
+     * @return El valor, o null si la clave no se encuentra.
+     */
+    V buscar(K clave);
+
+    /**
+     * Elimina una clave y su valor.
+     *
+     * @param clave La clave a eliminar.
+     * @return true si se eliminó, false si no existía.
+     */
+    boolean eliminar(K clave);
+
+    /**
+     * Devuelve todas las claves almacenadas (sin orden particular).
+     *
+     * @return Una ListaSimple con las claves.
+     */
+    ListaSimple<K> obtenerTodasLasClaves();
+
+    /**
+     * Devuelve el número de elementos almacenados.
+     *
+     * @return El número de elementos.
+     */
+    int getTamanoActual();
+
+    /**
+     * Prepara la tabla para contener al menos 'elementos' entradas sin
+     * volver a crecer. Útil antes de una carga masiva.
+     *
+     * @param elementos Número total de entradas esperado.
+     */
+    void reservar(int elementos);
+}
@@ -20,10 +20,12 @@ public class EntradaHash<K, V> implements Serializable {
     
     K clave;
     V valor;
+    final int hash; // Hash de la clave, calculado una sola vez al insertar
 
-    EntradaHash(K clave, V valor) {
+    EntradaHash(K clave, V valor, int hash) {
         this.clave = clave;
         this.valor = valor;
+        this.hash = hash;
     }
     
     @Override
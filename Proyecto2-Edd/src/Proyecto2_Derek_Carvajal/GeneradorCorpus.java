@@ -0,0 +1,179 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Generador de resúmenes sintéticos para pruebas de rendimiento.
+ * Con la misma semilla siempre produce el mismo corpus. Los autores, las
+ * palabras clave y las palabras del cuerpo se eligen con una distribución
+ * de Zipf: unos pocos aparecen muchísimo y la mayoría casi nunca, igual
+ * que en un repositorio real.
+ */
+
+import java.util.Random;
+
+public class GeneradorCorpus {
+
+    // Exponente de Zipf (1.0 es la forma clásica)
+    private static final double EXPONENTE_ZIPF = 1.0;
+
+    private static final String[] SILABAS = {
+        "ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru",
+        "sa", "te", "vi", "zo", "cra", "ple", "tri", "mon", "der", "sul"
+    };
+
+    private final Random aleatorio;
+    private final String[] autores;
+    private final String[] palabrasClave;
+    private final String[] vocabulario;
+    private final double[] acumuladoAutores;
+    private final double[] acumuladoPalabras;
+    private final double[] acumuladoVocabulario;
+    private int siguienteTitulo;
+
+    /**
+     * Constructor del generador.
+     *
+     * @param semilla Semilla del generador aleatorio
+     * @param totalAutores Tamaño del conjunto de autores
+     * @param totalPalabrasClave Tamaño del conjunto de palabras clave
+     */
+    public GeneradorCorpus(long semilla, int totalAutores, int totalPalabrasClave) {
+        this.aleatorio = new Random(semilla);
+        this.autores = new String[totalAutores];
+        for (int i = 0; i < totalAutores; i++) {
+            this.autores[i] = capitalizar(palabra(i, 2)) + " " + capitalizar(palabra(i * 31 + 7, 3));
+        }
+        this.palabrasClave = new String[totalPalabrasClave];
+        for (int i = 0; i < totalPalabrasClave; i++) {
+            this.palabrasClave[i] = palabra(i, 3);
+        }
+        this.vocabulario = new String[5000];
+        for (int i = 0; i < this.vocabulario.length; i++) {
+            this.vocabulario[i] = palabra(i, 2 + i % 3);
+        }
+        this.acumuladoAutores = acumuladoZipf(totalAutores);
+        this.acumuladoPalabras = acumuladoZipf(totalPalabrasClave);
+        this.acumuladoVocabulario = acumuladoZipf(this.vocabulario.length);
+        this.siguienteTitulo = 0;
+    }
+
+    /**
+     * Constructor con tamaños proporcionales a un corpus de n resúmenes.
+     */
+    public GeneradorCorpus(long semilla, int n) {
+        this(semilla, Math.max(10, n / 10), Math.max(10, n / 20));
+    }
+
+    /**
+     * Genera los siguientes n resúmenes. Los títulos nunca se repiten
+     * entre llamadas al mismo generador.
+     *
+     * @param n Cantidad de resúmenes
+     * @return ListaSimple con los resúmenes generados
+     */
+    public ListaSimple<Resumen> generar(int n) {
+        ListaSimple<Resumen> lista = new ListaSimple<>();
+        for (int i = 0; i < n; i++) {
+            lista.agregar(siguienteResumen());
+        }
+        return lista;
+    }
+
+    /**
+     * Genera un resumen con 1 a 3 autores, 2 a 4 palabras clave y un cuerpo
+     * de 20 a 60 palabras.
+     */
+    public Resumen siguienteResumen() {
+        String titulo = "Estudio " + this.siguienteTitulo + " sobre "
+                + this.vocabulario[elegir(this.acumuladoVocabulario)];
+        this.siguienteTitulo++;
+
+        ListaSimple<String> listaAutores = new ListaSimple<>();
+        int cantidadAutores = 1 + this.aleatorio.nextInt(3);
+        for (int i = 0; i < cantidadAutores; i++) {
+            listaAutores.agregar(this.autores[elegir(this.acumuladoAutores)]);
+        }
+
+        ListaSimple<String> listaPalabras = new ListaSimple<>();
+        int cantidadPalabras = 2 + this.aleatorio.nextInt(3);
+        for (int i = 0; i < cantidadPalabras; i++) {
+            listaPalabras.agregar(this.palabrasClave[elegir(this.acumuladoPalabras)]);
+        }
+
+        StringBuilder cuerpo = new StringBuilder();
+        int cantidadCuerpo = 20 + this.aleatorio.nextInt(41);
+        for (int i = 0; i < cantidadCuerpo; i++) {
+            if (i > 0) cuerpo.append(' ');
+            cuerpo.append(this.vocabulario[elegir(this.acumuladoVocabulario)]);
+        }
+
+        return new Resumen(titulo, listaAutores, cuerpo.toString(), listaPalabras);
+    }
+
+    /**
+     * Devuelve un autor del conjunto, elegido con la misma distribución.
+     */
+    public String autorAleatorio() {
+        return this.autores[elegir(this.acumuladoAutores)];
+    }
+
+    /**
+     * Devuelve una palabra clave del conjunto, elegida con la misma distribución.
+     */
+    public String palabraClaveAleatoria() {
+        return this.palabrasClave[elegir(this.acumuladoPalabras)];
+    }
+
+    // Probabilidades acumuladas de Zipf: P(k) proporcional a 1 / k^s
+    private static double[] acumuladoZipf(int n) {
+        double[] acumulado = new double[n];
+        double suma = 0;
+        for (int k = 0; k < n; k++) {
+            suma += 1.0 / Math.pow(k + 1, EXPONENTE_ZIPF);
+            acumulado[k] = suma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulado[k] /= suma;
+        }
+        return acumulado;
+    }
+
+    // Búsqueda binaria del primer rango cuyo acumulado supera el sorteo
+    private int elegir(double[] acumulado) {
+        double u = this.aleatorio.nextDouble();
+        int ini = 0;
+        int fin = acumulado.length - 1;
+        while (ini < fin) {
+            int medio = (ini + fin) >>> 1;
+            if (acumulado[medio] < u) {
+                ini = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return ini;
+    }
+
+    // Palabra pronunciable a partir de un número (distinta para cada número)
+    private static String palabra(int numero, int silabasMinimas) {
+        StringBuilder sb = new StringBuilder();
+        int n = numero;
+        int silabas = 0;
+        do {
+            sb.append(SILABAS[n % SILABAS.length]);
+            n /= SILABAS.length;
+            silabas++;
+        } while (n > 0 || silabas < silabasMinimas);
+        return sb.toString();
+    }
+
+    private static String capitalizar(String texto) {
+        return Character.toUpperCase(texto.charAt(0)) + texto.substring(1);
+    }
+}
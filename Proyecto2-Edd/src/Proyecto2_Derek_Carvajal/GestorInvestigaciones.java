@@ -7,21 +7,32 @@ package Proyecto2_Derek_Carvajal;
 /**
  *
  * @author derek
+ *
+ * * Fachada que mantiene sincronizados los cinco índices del repositorio.
+ * Es segura para usar desde varios hilos: las consultas toman el candado
+ * de lectura (pueden correr en paralelo entre sí) y los cambios toman el
+ * de escritura, así que ninguna consulta ve un resumen a medio agregar o
+ * a medio eliminar.
  */
 
 
 import java.io.*;
 import java.io.Serializable;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class GestorInvestigaciones implements Serializable{
 
     /*
      * 
      * Almacena todos los Resúmenes.
-     * Clave: Título del Resumen (String)
+     * Clave: Título normalizado del Resumen (ClaveNormalizada)
      * Valor: Objeto Resumen
+     *
+     * Todos los índices usan claves normalizadas (sin mayúsculas, tildes ni
+     * espacios repetidos): "Computación" y "computacion" son la misma clave,
+     * y cada búsqueda es una sola consulta a la tabla o al árbol.
      */
-    private TablaHash<String, Resumen> repositorioResumenes;
+    private Diccionario<ClaveNormalizada, Resumen> repositorioResumenes;
 
     /*
      * Almacena un objeto Autor único por cada autor para listarlos
@@ -30,44 +41,200 @@ public class GestorInvestigaciones implements Serializable{
      */
     private ArbolAVL<Autor> indiceAutores;
     
-    private ArbolAVL<String> indiceTitulosOrdenados;
+    private ArbolAVL<ClaveNormalizada> indiceTitulosOrdenados;
     
     /**
      * Permite buscar resúmenes por palabra clave en O(1).
-     * Clave: Palabra Clave (String)
+     * Clave: Palabra Clave normalizada (ClaveNormalizada)
      * Valor: ListaSimple de Resúmenes que contienen esa palabra.
      * Complejidad esperada: O(1) para búsqueda.
      */
-    private TablaHash<String, ListaSimple<Resumen>> indicePalabrasClaveHash;
+    private Diccionario<ClaveNormalizada, ListaSimple<Resumen>> indicePalabrasClaveHash;
 
     /*
      * Mantiene una lista única de todas las palabras clave, ordenadas
      * alfabéticamente.
-     * Tipo: ArbolAVL de Strings.
+     * Tipo: ArbolAVL de ClaveNormalizada (se muestra la primera forma escrita).
      * Complejidad esperada: O(log n) para inserción.
      */
-    private ArbolAVL<String> indicePalabrasClaveAVL;
+    private ArbolAVL<ClaveNormalizada> indicePalabrasClaveAVL;
+
+    /*
+     * Índice de texto completo sobre el cuerpo de los resúmenes.
+     * Permite buscar por cualquier palabra del cuerpo, ordenando por BM25.
+     */
+    private IndiceInvertido indiceTexto;
+
+    /*
+     * Tablas de símbolos de autores y de palabras clave. Cada nombre
+     * distinto tiene un id y una sola ClaveNormalizada, que comparten los
+     * Resumen (como arreglos de ids), los Autor y los índices de palabras.
+     */
+    private TablaSimbolos simbolosAutores;
+    private TablaSimbolos simbolosPalabras;
+
+    /*
+     * Listas ordenadas de ids de resúmenes por id de símbolo, para las
+     * consultas booleanas (ver ConsultaBooleana). null si el símbolo ya no
+     * tiene resúmenes.
+     */
+    private ListaIds[] idsPorPalabra;
+    private ListaIds[] idsPorAutor;
+
+    /*
+     * Autocompletar: tries de prefijos sobre los nombres normalizados de
+     * autores y palabras clave, con las sugerencias de más resúmenes ya
+     * calculadas en cada nodo.
+     */
+    private IndicePrefijos prefijosAutores;
+    private IndicePrefijos prefijosPalabras;
+
+    // Sugerencias que guarda cada nodo de los índices de prefijos
+    public static final int MAX_SUGERENCIAS = 10;
+
+    /*
+     * Búsqueda tolerante a errores de tipeo: árboles BK sobre los nombres
+     * normalizados, por distancia de edición. Si la búsqueda exacta de un
+     * autor o palabra no encuentra nada, se usa el parecido más cercano.
+     */
+    private ArbolBK parecidosAutores;
+    private ArbolBK parecidosPalabras;
+
+    /*
+     * Eliminación: borrar un resumen marca su id como lápida en O(1) y
+     * descuenta el uso de cada palabra clave (por id de símbolo). Una
+     * palabra que llega a cero usos sale de sus dos índices al momento; si
+     * no, su lista de resúmenes conserva la entrada borrada (las consultas
+     * la filtran) hasta que un hilo en segundo plano la compacta.
+     * Los autores sin publicaciones salen del árbol al momento; su ListaIds
+     * se compacta igual que las de palabras.
+     */
+    private ConjuntoBits borrados;            // Ids de resúmenes eliminados
+    private int[] usosPalabras;               // Resúmenes vivos por id de palabra
+    private Pendientes palabrasPendientes;    // Ids de palabras con entradas borradas
+    private Pendientes autoresPendientes;     // Ids de autores con entradas borradas
+    private int entradasMuertas;              // Entradas borradas aún en las listas
+    private transient boolean compactacionEnCurso;
+
+    // Entradas borradas (o listas del índice de texto) que disparan una compactación
+    private static final int UMBRAL_COMPACTACION = 4096;
+
+    // Listas que se compactan por cada toma del candado de escritura
+    private static final int LOTE_COMPACTACION = 256;
+
+    // Próximo id interno a asignar a un Resumen (siempre creciente)
+    private int siguienteId;
+
+    // Archivo de datos (instantánea); los segmentos del registro usan el mismo nombre como base
+    private static final String ARCHIVO_DATOS = "datos_supermetro.ser";
+
+    // Problema al cargar (ver cargarDatos) y si por eso no se debe guardar
+    private transient String avisoCarga;
+    private transient boolean guardadoBloqueado;
+
+    /*
+     * Registro de cambios (write-ahead log). Si está conectado, cada
+     * agregar/eliminar se guarda en disco al momento. Es null si el gestor
+     * se usa solo en memoria.
+     */
+    private transient RegistroCambios registro;
+
+    /*
+     * Coordina lectores y escritores sobre todas las estructuras anteriores.
+     * Las búsquedas de TablaHash, ArbolAVL e IndiceInvertido no modifican
+     * nada, por eso varias pueden compartir el candado de lectura.
+     */
+    private transient ReentrantReadWriteLock candado;
+
+    // Contadores y latencias por operación (apagados por defecto)
+    private transient Metricas metricas;
 
     
     /** Constructor
-     * 
+     * Usa TablaHash (encadenamiento separado) para los índices hash.
      */
     public GestorInvestigaciones() {
+        this(false);
+    }
+
+    /**
+     * Constructor que permite elegir la implementación de las tablas hash.
+     *
+     * @param direccionamientoAbierto true para usar TablaHashAbierta (sondeo
+     * Robin Hood en arreglos paralelos), false para usar TablaHash.
+     */
+    public GestorInvestigaciones(boolean direccionamientoAbierto) {
+        this(direccionamientoAbierto, true);
+    }
+
+    /**
+     * Constructor interno.
+     *
+     * @param direccionamientoAbierto true para usar TablaHashAbierta.
+     * @param precargar true para agregar los resúmenes de ejemplo; al
+     * reconstruir desde un archivo se usa false.
+     */
+    GestorInvestigaciones(boolean direccionamientoAbierto, boolean precargar) {
         // Inicializo las estructuras
-        // Elijo un tamaño  para las TablaHash.
-        this.repositorioResumenes = new TablaHash<>(101); // Tamaño inicial de 101
-        this.indicePalabrasClaveHash = new TablaHash<>(50); // Tamaño mayor para palabras
+        // Elijo un tamaño  para las tablas hash (ambas crecen solas).
+        if (direccionamientoAbierto) {
+            this.repositorioResumenes = new TablaHashAbierta<>(128);
+            this.indicePalabrasClaveHash = new TablaHashAbierta<>(64);
+        } else {
+            this.repositorioResumenes = new TablaHash<>(101); // Tamaño inicial de 101
+            this.indicePalabrasClaveHash = new TablaHash<>(50); // Tamaño mayor para palabras
+        }
         
         this.indiceAutores = new ArbolAVL<>();
         this.indicePalabrasClaveAVL = new ArbolAVL<>();
         this.indiceTitulosOrdenados = new ArbolAVL<>();
+        this.indiceTexto = new IndiceInvertido();
+        this.simbolosAutores = new TablaSimbolos();
+        this.simbolosPalabras = new TablaSimbolos();
+        this.prefijosAutores = new IndicePrefijos(this.simbolosAutores, MAX_SUGERENCIAS);
+        this.prefijosPalabras = new IndicePrefijos(this.simbolosPalabras, MAX_SUGERENCIAS);
+        this.parecidosAutores = new ArbolBK(this.simbolosAutores);
+        this.parecidosPalabras = new ArbolBK(this.simbolosPalabras);
+        this.borrados = new ConjuntoBits();
+        this.usosPalabras = new int[64];
+        this.palabrasPendientes = new Pendientes();
+        this.autoresPendientes = new Pendientes();
+        this.idsPorPalabra = new ListaIds[64];
+        this.idsPorAutor = new ListaIds[64];
+        this.entradasMuertas = 0;
+        this.siguienteId = 0;
+        this.candado = new ReentrantReadWriteLock();
+        this.metricas = new Metricas();
 
-        precargarDatos(); 
+        if (precargar) {
+            precargarDatos();
+        }
     }
     
+    /**
+     * Guarda los resúmenes en 'datos_supermetro.ser' usando el formato
+     * binario compacto (ver SerializadorBinario).
+     * Si hay un registro de cambios conectado, hace un checkpoint: guarda la
+     * instantánea y descarta los segmentos del registro que ya cubre.
+     */
     public void guardarDatos() {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream("datos_supermetro.ser"))) {
-            out.writeObject(this); // Se guarda a sí mismo y a todas sus estructuras internas
+        if (this.guardadoBloqueado) {
+            System.err.println("No se guardan los datos: " + this.avisoCarga);
+            return;
+        }
+        try {
+            // El candado de lectura impide cambios entre tomar la lista y
+            // pasar al siguiente segmento del registro
+            this.candado.readLock().lock();
+            try {
+                if (this.registro != null) {
+                    this.registro.checkpoint(obtenerResumenes(), false);
+                } else {
+                    SerializadorBinario.guardar(this, new File(ARCHIVO_DATOS));
+                }
+            } finally {
+                this.candado.readLock().unlock();
+            }
             System.out.println("Datos guardados correctamente en 'datos_supermetro.ser'");
         } catch (IOException e) {
             System.err.println("Error al guardar los datos: " + e.getMessage());
@@ -77,67 +244,491 @@ public class GestorInvestigaciones implements Serializable{
 
     /*
      * Intenta leer el archivo y devuelve el objeto Gestor guardado.
-     * Si falla o no existe, devuelve un Gestor nuevo y vacío.
+     * Acepta el formato binario actual y, por compatibilidad, archivos
+     * antiguos escritos con ObjectOutputStream (ver CargadorLegado).
+     * Si no existe, devuelve un Gestor nuevo con los datos de ejemplo.
+     * Si existe pero no se puede leer, lo aparta con otro nombre para que
+     * ningún guardado lo sobrescriba y devuelve un Gestor nuevo con el
+     * aviso en getAvisoCarga().
      * * @return Un objeto GestorInvestigaciones
      */
     public static GestorInvestigaciones cargarDatos() {
-        File archivo = new File("datos_supermetro.ser");
+        return cargarDatos(new File(ARCHIVO_DATOS), true);
+    }
+
+    /**
+     * @param modificarArchivos false para no crear, renombrar ni copiar
+     * ningún archivo (procesos de solo lectura); si el archivo no se puede
+     * leer, el gestor devuelto queda sin poder guardar.
+     */
+    static GestorInvestigaciones cargarDatos(File archivo, boolean modificarArchivos) {
         if (!archivo.exists()) {
             System.out.println("No se encontraron datos guardados. Iniciando sistema vacío.");
             return new GestorInvestigaciones(); // Retorna uno nuevo
         }
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(archivo))) {
-            Object objeto = in.readObject();
+        try {
+            GestorInvestigaciones gestor;
+            if (SerializadorBinario.esFormatoBinario(archivo)) {
+                gestor = SerializadorBinario.cargar(archivo);
+            } else {
+                // Formato antiguo: el próximo guardado lo pasa al formato
+                // binario, así que antes se deja una copia del original
+                gestor = CargadorLegado.cargar(archivo);
+                if (modificarArchivos) {
+                    File copia = RegistroCambios.archivoLibre(archivo, ".legado");
+                    java.nio.file.Files.copy(archivo.toPath(), copia.toPath());
+                    System.out.println("Archivo en formato antiguo; se guardó una copia en '" + copia.getName() + "'.");
+                }
+            }
             System.out.println("Datos cargados exitosamente.");
-            return (GestorInvestigaciones) objeto; // Casteamos y devolvemos
-        } catch (IOException | ClassNotFoundException e) {
+            return gestor;
+        } catch (IOException e) {
             System.err.println("Error al cargar los datos: " + e.getMessage());
-            return new GestorInvestigaciones(); // Si falla, devolvemos uno nuevo por seguridad
+            GestorInvestigaciones gestor = new GestorInvestigaciones();
+            File apartado = RegistroCambios.archivoLibre(archivo, ".ilegible");
+            if (modificarArchivos && archivo.renameTo(apartado)) {
+                gestor.avisoCarga = "No se pudo leer '" + archivo.getName() + "' (" + e.getMessage()
+                        + "). Se movió a '" + apartado.getName() + "' y se inició con datos de ejemplo.";
+            } else {
+                // No se pudo apartar: este gestor no debe escribir encima
+                gestor.guardadoBloqueado = true;
+                gestor.avisoCarga = "No se pudo leer '" + archivo.getName() + "' (" + e.getMessage()
+                        + "). Los cambios de esta sesión no se guardarán para no sobrescribirlo.";
+            }
+            System.err.println(gestor.avisoCarga);
+            return gestor;
         }
     }
-    
+
+    /**
+     * @return El problema encontrado al cargar los datos, o null si no hubo
+     */
+    public String getAvisoCarga() {
+        return this.avisoCarga;
+    }
+
+    /**
+     * Carga los datos guardados, reaplica los cambios del registro que sean
+     * posteriores a la última instantánea y deja el registro conectado para
+     * los cambios siguientes.
+     *
+     * @return Un objeto GestorInvestigaciones con el registro activo
+     */
+    public static GestorInvestigaciones cargarDatosConRegistro() {
+        return cargarDatosConRegistro(new File(System.getProperty("user.dir")));
+    }
+
+    /*
+     * Si un segmento del registro no se puede reproducir, RegistroCambios lo
+     * aparta y el registro se abre igual en un segmento nuevo, para que los
+     * cambios de esta sesión sigan quedando en disco. Los cambios que sí se
+     * reaplicaron solo están en el segmento apartado, así que enseguida se
+     * guarda una instantánea con ellos. Si el registro no se puede abrir, se
+     * avisa: los cambios solo se guardarán al salir.
+     */
+    static GestorInvestigaciones cargarDatosConRegistro(File directorio) {
+        GestorInvestigaciones gestor = cargarDatos(new File(directorio, ARCHIVO_DATOS), true);
+        boolean reproduccionIncompleta = false;
+        try {
+            int aplicados = RegistroCambios.reproducir(directorio, ARCHIVO_DATOS, gestor);
+            if (aplicados > 0) {
+                System.out.println("Se reaplicaron " + aplicados + " cambios del registro.");
+            }
+        } catch (IOException e) {
+            gestor.agregarAviso("Error al reproducir el registro de cambios: " + e.getMessage());
+            reproduccionIncompleta = true;
+        }
+        try {
+            gestor.registro = new RegistroCambios(directorio, ARCHIVO_DATOS, true);
+        } catch (IOException e) {
+            gestor.agregarAviso("No se pudo abrir el registro de cambios (" + e.getMessage()
+                    + "). Los cambios de esta sesión solo se guardarán al salir.");
+        }
+        if (reproduccionIncompleta && gestor.registro != null) {
+            gestor.guardarDatos();
+        }
+        return gestor;
+    }
+
+    /**
+     * Carga los datos guardados y reaplica el registro de cambios sin
+     * modificar ningún archivo ni conectar el registro. Sirve para procesos
+     * que solo consultan (por ejemplo ConsultasConsola) y pueden correr
+     * mientras la interfaz gráfica sigue escribiendo.
+     * Si el registro no se puede reproducir entero, se queda con los
+     * cambios anteriores al problema y lo indica en getAvisoCarga().
+     *
+     * @return Un objeto GestorInvestigaciones sin registro conectado
+     */
+    public static GestorInvestigaciones cargarDatosSoloLectura() {
+        GestorInvestigaciones gestor = cargarDatos(new File(ARCHIVO_DATOS), false);
+        File directorio = new File(System.getProperty("user.dir"));
+        try {
+            int aplicados = RegistroCambios.reproducir(directorio, ARCHIVO_DATOS, gestor, false);
+            if (aplicados > 0) {
+                System.out.println("Se reaplicaron " + aplicados + " cambios del registro.");
+            }
+        } catch (IOException e) {
+            gestor.agregarAviso("Error al leer el registro de cambios: " + e.getMessage()
+                    + ". Los datos pueden no incluir los últimos cambios.");
+        }
+        return gestor;
+    }
+
+    /**
+     * Gestor con los datos de ejemplo para cuando la carga falló de una
+     * forma inesperada. No guarda nada: lo que haya en disco se conserva.
+     *
+     * @param error El error de la carga.
+     * @return Un gestor sin registro, con el aviso en getAvisoCarga()
+     */
+    static GestorInvestigaciones gestorDeRespaldo(RuntimeException error) {
+        GestorInvestigaciones gestor = new GestorInvestigaciones();
+        gestor.guardadoBloqueado = true;
+        gestor.agregarAviso("No se pudieron cargar los datos (" + error
+                + "). Se muestran los datos de ejemplo y los cambios de esta sesión no se guardarán.");
+        return gestor;
+    }
+
+    // Suma un problema de la carga a getAvisoCarga() y lo muestra en stderr
+    private void agregarAviso(String aviso) {
+        System.err.println(aviso);
+        this.avisoCarga = (this.avisoCarga == null) ? aviso : this.avisoCarga + "\n" + aviso;
+    }
+
+    /**
+     * Espera a que el registro de cambios termine de escribir y lo cierra.
+     */
+    public void cerrarRegistro() {
+        this.candado.writeLock().lock();
+        try {
+            if (this.registro == null) return;
+            try {
+                this.registro.cerrar();
+            } catch (IOException e) {
+                System.err.println("Error al cerrar el registro de cambios: " + e.getMessage());
+            }
+            this.registro = null;
+        } finally {
+            this.candado.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Los registros se agregan con el candado de escritura tomado, para que
+     * queden en el mismo orden en que se aplicaron los cambios. La espera
+     * del fsync (esperarRegistro) se hace después de soltarlo, así varios
+     * escritores comparten un mismo fsync.
+     */
+    private long registrarAgregar(Resumen resumen) {
+        if (this.registro == null) return 0;
+        long secuencia = 0;
+        try {
+            secuencia = this.registro.registrarAgregar(resumen);
+        } catch (IOException e) {
+            System.err.println("Error al registrar el cambio: " + e.getMessage());
+        }
+        revisarCheckpoint();
+        return secuencia;
+    }
+
+    private long registrarEliminar(String titulo) {
+        if (this.registro == null) return 0;
+        long secuencia = 0;
+        try {
+            secuencia = this.registro.registrarEliminar(titulo);
+        } catch (IOException e) {
+            System.err.println("Error al registrar el cambio: " + e.getMessage());
+        }
+        revisarCheckpoint();
+        return secuencia;
+    }
+
+    private void esperarRegistro(RegistroCambios registroUsado, long secuencia) {
+        if (registroUsado == null || secuencia == 0) return;
+        try {
+            registroUsado.esperar(secuencia);
+        } catch (IOException e) {
+            System.err.println("Error al registrar el cambio: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Si el registro ya creció lo suficiente, inicia un checkpoint en
+     * segundo plano (la lista de resúmenes se toma aquí, antes de seguir).
+     */
+    private void revisarCheckpoint() {
+        if (this.registro != null && this.registro.necesitaCheckpoint() && !this.guardadoBloqueado) {
+            try {
+                this.registro.checkpoint(obtenerResumenes(), true);
+            } catch (IOException e) {
+                System.err.println("Error al iniciar el checkpoint: " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Elimina un resumen específico por su título.
-     * Elimina referencias en autores, palabras clave y árboles.
+     * Elimina referencias en autores, palabras clave y árboles; el costo
+     * no depende de cuántos resúmenes comparten sus autores o palabras.
      */
     
     public boolean eliminarResumen(String titulo) {
+        long inicio = this.metricas.iniciar();
+        boolean hecho;
+        long secuencia = 0;
+        RegistroCambios registroUsado = null;
+        this.candado.writeLock().lock();
+        try {
+            hecho = eliminarResumenInterno(titulo);
+            if (hecho) {
+                registroUsado = this.registro;
+                secuencia = registrarEliminar(titulo);
+            }
+        } finally {
+            this.candado.writeLock().unlock();
+        }
+        esperarRegistro(registroUsado, secuencia);
+        this.metricas.registrar(Metricas.Operacion.ELIMINAR, inicio);
+        return hecho;
+    }
+
+    private boolean eliminarResumenInterno(String titulo) {
         //  Buscar el resumen antes de borrarlo
-        Resumen resumen = this.repositorioResumenes.buscar(titulo);
+        ClaveNormalizada clave = new ClaveNormalizada(titulo);
+        Resumen resumen = this.repositorioResumenes.buscar(clave);
         if (resumen == null) return false;
 
-        // Eliminar de la Tabla Hash Principal
-        this.repositorioResumenes.eliminar(titulo);
+        // Eliminar de la Tabla Hash Principal y del Árbol de Títulos Ordenados
+        this.repositorioResumenes.eliminar(clave);
+        this.indiceTitulosOrdenados.eliminar(resumen.getClaveTitulo());
 
-        // Eliminar del Árbol de Títulos Ordenados
-        this.indiceTitulosOrdenados.eliminar(titulo);
+        // Lápida: desde aquí las consultas ignoran este id
+        this.borrados.marcar(resumen.getId());
 
-        // Eliminar referencia de los Autores
-        ListaSimple<String> autores = resumen.getAutores();
-        for (int i = 0; i < autores.getTamano(); i++) {
-            // Buscamos al autor
-            Autor autor = this.indiceAutores.buscar(new Autor(autores.get(i)));
-            if (autor != null) {
-                // Eliminamos el resumen de su lista personal
-                autor.getResumenes().eliminar(resumen);
+        // Eliminar del índice de texto (sus listas se compactan después)
+        this.indiceTexto.eliminarDocumento(resumen);
+
+        // Eliminar referencia de los Autores (O(1) cada uno); un autor sin
+        // publicaciones sale del árbol
+        for (int idAutor : resumen.getIdsAutores()) {
+            Autor autor = this.indiceAutores.buscar(new Autor(this.simbolosAutores.getClave(idAutor)));
+            if (autor == null || !autor.eliminarResumen(resumen)) continue;
+            if (autor.getResumenes().estaVacio()) {
+                this.indiceAutores.eliminar(autor);
+                descontarListaDescartada(this.idsPorAutor[idAutor]);
+                this.idsPorAutor[idAutor] = null;
+            } else {
+                this.entradasMuertas++;
+                this.autoresPendientes.agregar(idAutor);
             }
         }
 
-        // Eliminar referencia de las Palabras Clave
-        ListaSimple<String> palabras = resumen.getPalabrasClave();
-        for (int i = 0; i < palabras.getTamano(); i++) {
-            String palabra = palabras.get(i);
-            ListaSimple<Resumen> lista = this.indicePalabrasClaveHash.buscar(palabra);
-            if (lista != null) {
-                lista.eliminar(resumen);
+        // Descontar el uso de las Palabras Clave
+        for (int idPalabra : resumen.getIdsPalabras()) {
+            if (--this.usosPalabras[idPalabra] == 0) {
+                // Ningún resumen la usa: sale del hash y del AVL
+                ClaveNormalizada palabra = this.simbolosPalabras.getClave(idPalabra);
+                this.indicePalabrasClaveHash.eliminar(palabra);
+                this.indicePalabrasClaveAVL.eliminar(palabra);
+                descontarListaDescartada(this.idsPorPalabra[idPalabra]);
+                this.idsPorPalabra[idPalabra] = null;
+            } else {
+                // La entrada queda en las listas hasta la compactación
+                this.entradasMuertas++;
+                this.palabrasPendientes.agregar(idPalabra);
             }
         }
 
+        sumarPrefijos(resumen, -1);
+        actualizarPrefijos();
+
+        revisarCompactacion();
         return true;
     }
 
-   
+    /*
+     * Una lista que se descarta porque ya no tiene resúmenes vivos solo
+     * guarda entradas borradas: todas menos la del resumen que se está
+     * eliminando ya se habían sumado a entradasMuertas y no las va a quitar
+     * ninguna compactación.
+     */
+    private void descontarListaDescartada(ListaIds lista) {
+        if (lista != null && lista.getTamano() > 1) {
+            this.entradasMuertas -= lista.getTamano() - 1;
+        }
+    }
+
+    private boolean estaBorrado(Resumen resumen) {
+        return this.borrados.contiene(resumen.getId());
+    }
+
+    private void sumarUsosPalabras(Resumen resumen) {
+        if (this.usosPalabras.length < this.simbolosPalabras.getTamano()) {
+            this.usosPalabras = java.util.Arrays.copyOf(this.usosPalabras,
+                    Math.max(this.usosPalabras.length * 2, this.simbolosPalabras.getTamano()));
+        }
+        for (int idPalabra : resumen.getIdsPalabras()) {
+            this.usosPalabras[idPalabra]++;
+        }
+    }
+
+    // Cambia en 'delta' el conteo de los autores y palabras del resumen
+    // en los índices de prefijos (se ve después de actualizarPrefijos)
+    private void sumarPrefijos(Resumen resumen, int delta) {
+        for (int idAutor : resumen.getIdsAutores()) {
+            this.prefijosAutores.sumar(idAutor, delta);
+            if (delta > 0) this.parecidosAutores.agregar(idAutor);
+        }
+        for (int idPalabra : resumen.getIdsPalabras()) {
+            this.prefijosPalabras.sumar(idPalabra, delta);
+            if (delta > 0) this.parecidosPalabras.agregar(idPalabra);
+        }
+    }
+
+    private void actualizarPrefijos() {
+        this.prefijosAutores.actualizar();
+        this.prefijosPalabras.actualizar();
+    }
+
+    // Agrega el id del resumen a las ListaIds de sus palabras y autores
+    private void indexarIds(Resumen resumen) {
+        this.idsPorPalabra = agregarId(this.idsPorPalabra, resumen.getIdsPalabras(), resumen.getId(), this.simbolosPalabras);
+        this.idsPorAutor = agregarId(this.idsPorAutor, resumen.getIdsAutores(), resumen.getId(), this.simbolosAutores);
+    }
+
+    private static ListaIds[] agregarId(ListaIds[] listas, int[] simbolos, int id, TablaSimbolos tabla) {
+        if (listas.length < tabla.getTamano()) {
+            listas = java.util.Arrays.copyOf(listas, Math.max(listas.length * 2, tabla.getTamano()));
+        }
+        for (int simbolo : simbolos) {
+            if (listas[simbolo] == null) {
+                listas[simbolo] = new ListaIds();
+            }
+            listas[simbolo].agregar(id);
+        }
+        return listas;
+    }
+
+    /**
+     * Pila de ids de símbolos cuyas listas tienen entradas borradas, sin
+     * repetidos (un ConjuntoBits recuerda cuáles ya están).
+     */
+    private static class Pendientes implements Serializable {
+        private int[] pila = new int[16];
+        private int cantidad;
+        private final ConjuntoBits marcados = new ConjuntoBits();
+
+        void agregar(int id) {
+            if (!this.marcados.marcar(id)) return;
+            if (this.cantidad == this.pila.length) {
+                this.pila = java.util.Arrays.copyOf(this.pila, this.cantidad * 2);
+            }
+            this.pila[this.cantidad++] = id;
+        }
+
+        int sacar() {
+            int id = this.pila[--this.cantidad];
+            this.marcados.desmarcar(id);
+            return id;
+        }
+
+        int getCantidad() {
+            return this.cantidad;
+        }
+    }
+
+    /*
+     * Un Resumen que se eliminó y se vuelve a agregar (el mismo objeto)
+     * recibe un id nuevo, y sus entradas viejas en las listas de palabras
+     * dejarían de parecer borradas. En ese caso (raro) se compacta todo
+     * antes de agregarlo.
+     */
+    private void prepararReingreso(Resumen resumen) {
+        if (resumen.getId() >= 0 && this.borrados.contiene(resumen.getId())) {
+            compactarInterno(Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Si hay suficientes entradas borradas, inicia la compactación en un
+     * hilo aparte (se llama con el candado de escritura tomado).
+     */
+    private void revisarCompactacion() {
+        if (this.compactacionEnCurso) return;
+        if (this.entradasMuertas < UMBRAL_COMPACTACION && this.indiceTexto.getPendientes() < UMBRAL_COMPACTACION) {
+            return;
+        }
+        this.compactacionEnCurso = true;
+        Thread hilo = new Thread(this::compactarEnSegundoPlano, "GestorInvestigaciones-compactacion");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    // Compacta por partes, soltando el candado entre una y otra para no
+    // detener por mucho tiempo a las consultas ni a los demás cambios
+    private void compactarEnSegundoPlano() {
+        boolean quedaTrabajo = true;
+        while (quedaTrabajo) {
+            this.candado.writeLock().lock();
+            try {
+                quedaTrabajo = compactarInterno(LOTE_COMPACTACION);
+                if (!quedaTrabajo) {
+                    this.compactacionEnCurso = false;
+                }
+            } finally {
+                this.candado.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Quita ya mismo todas las entradas borradas de las listas de palabras
+     * clave y del índice de texto (normalmente lo hace un hilo en segundo
+     * plano).
+     */
+    public void compactar() {
+        this.candado.writeLock().lock();
+        try {
+            compactarInterno(Integer.MAX_VALUE);
+        } finally {
+            this.candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacta hasta 'maximo' listas (con el candado de escritura tomado).
+     *
+     * @return true si todavía queda trabajo pendiente
+     */
+    private boolean compactarInterno(int maximo) {
+        int hechas = 0;
+        while (hechas < maximo && this.palabrasPendientes.getCantidad() > 0) {
+            int idPalabra = this.palabrasPendientes.sacar();
+            ListaSimple<Resumen> lista = this.indicePalabrasClaveHash.buscar(this.simbolosPalabras.getClave(idPalabra));
+            if (lista != null) {
+                java.util.Iterator<Resumen> iterador = lista.iterator();
+                while (iterador.hasNext()) {
+                    if (estaBorrado(iterador.next())) iterador.remove();
+                }
+            }
+            if (this.idsPorPalabra[idPalabra] != null) {
+                this.entradasMuertas -= this.idsPorPalabra[idPalabra].compactar(this.borrados);
+            }
+            hechas++;
+        }
+        while (hechas < maximo && this.autoresPendientes.getCantidad() > 0) {
+            int idAutor = this.autoresPendientes.sacar();
+            if (this.idsPorAutor[idAutor] != null) {
+                this.entradasMuertas -= this.idsPorAutor[idAutor].compactar(this.borrados);
+            }
+            hechas++;
+        }
+        boolean quedanListas = this.palabrasPendientes.getCantidad() > 0 || this.autoresPendientes.getCantidad() > 0;
+        int textoPendiente = this.indiceTexto.compactar(Math.max(maximo - hechas, 0));
+        return quedanListas || textoPendiente > 0;
+    }
 
     /**
      * Agregar un nuevo resumen al sistema
@@ -147,37 +738,65 @@ public class GestorInvestigaciones implements Serializable{
      * @return true si se agregó con éxito, false si el título ya existía
      */
     public boolean agregarResumen(Resumen nuevoResumen) {
+        long inicio = this.metricas.iniciar();
+        boolean hecho;
+        long secuencia = 0;
+        RegistroCambios registroUsado = null;
+        this.candado.writeLock().lock();
+        try {
+            hecho = agregarResumenInterno(nuevoResumen);
+            if (hecho) {
+                registroUsado = this.registro;
+                secuencia = registrarAgregar(nuevoResumen);
+            }
+        } finally {
+            this.candado.writeLock().unlock();
+        }
+        esperarRegistro(registroUsado, secuencia);
+        this.metricas.registrar(Metricas.Operacion.AGREGAR, inicio);
+        return hecho;
+    }
+
+    private boolean agregarResumenInterno(Resumen nuevoResumen) {
         
         //Intentar insertar en el repositorio principal
-        boolean exito = this.repositorioResumenes.insertar(nuevoResumen.getTitulo(), nuevoResumen);
+        boolean exito = this.repositorioResumenes.insertar(nuevoResumen.getClaveTitulo(), nuevoResumen);
 
         if (!exito) {
             // El resumen (por título) ya existe.
             return false;
         }
         
-        this.indiceTitulosOrdenados.insertar(nuevoResumen.getTitulo());
+        this.indiceTitulosOrdenados.insertar(nuevoResumen.getClaveTitulo());
+        prepararReingreso(nuevoResumen);
+
+        // Cambiar los nombres de autores y palabras por ids de las tablas de símbolos
+        nuevoResumen.internar(this.simbolosAutores, this.simbolosPalabras);
+        sumarUsosPalabras(nuevoResumen);
+
+        // Asignar id interno e indexar el cuerpo del resumen
+        nuevoResumen.setId(this.siguienteId++);
+        this.indiceTexto.agregarDocumento(nuevoResumen);
+        indexarIds(nuevoResumen);
+        sumarPrefijos(nuevoResumen, 1);
+        actualizarPrefijos();
 
         // Procesar y agregar Autores
-        ListaSimple<String> nombresAutores = nuevoResumen.getAutores();
-        for (int i = 0; i < nombresAutores.getTamano(); i++) {
-            String nombreAutor = nombresAutores.get(i);
+        for (int idAutor : nuevoResumen.getIdsAutores()) {
             
-            // Creo un objeto Autor temporal solo para buscar
-            // (El constructor ahora hace trim() automáticamente)
-            Autor autorBusqueda = new Autor(nombreAutor); 
+            // Creo un objeto Autor temporal para buscar, con la clave
+            // canónica de la tabla de símbolos (ya normalizada)
+            Autor autorBusqueda = new Autor(this.simbolosAutores.getClave(idAutor)); 
             
-            // Buscar el autor en el AVL
-            // (El ArbolAVL usará el compareToIgnoreCase nuevo que hice)
+            // Buscar el autor en el AVL (compara los nombres normalizados)
             Autor autorExistente = this.indiceAutores.buscar(autorBusqueda);
             
             if (autorExistente == null) {
                 // CASO 1: El autor NO existe en el árbol.
-                // Se crea uno nuevo, le asigno el resumen y lo guardo
+                // El mismo objeto de búsqueda pasa a ser el autor guardado
                 
-                Autor autorNuevo = new Autor(nombreAutor);
-                autorNuevo.agregarResumen(nuevoResumen);
-                this.indiceAutores.insertar(autorNuevo);
+                autorBusqueda.agregarResumen(nuevoResumen);
+                this.indiceAutores.insertar(autorBusqueda);
             } else {
                 // CASO 2: El autor YA existe
                 // No creo uno nuevo. Uso el existente y le añado el resumen
@@ -187,20 +806,18 @@ public class GestorInvestigaciones implements Serializable{
         }
 
         // Procesar y agregar Palabras Clave
-        ListaSimple<String> palabras = nuevoResumen.getPalabrasClave();
-        for (int i = 0; i < palabras.getTamano(); i++) {
-            String palabra = palabras.get(i);
-
-            // Agregar al AVL de listado ordenado
-            this.indicePalabrasClaveAVL.insertar(palabra);
+        for (int idPalabra : nuevoResumen.getIdsPalabras()) {
+            ClaveNormalizada clave = this.simbolosPalabras.getClave(idPalabra);
 
             // Agregar al Hash de búsqueda O(1)
-            ListaSimple<Resumen> listaResumenes = this.indicePalabrasClaveHash.buscar(palabra);
+            ListaSimple<Resumen> listaResumenes = this.indicePalabrasClaveHash.buscar(clave);
             if (listaResumenes == null) {
-                // Si la palabra es nueva, creo una lista y la agrego
+                // Si la palabra es nueva, creo una lista y la agrego,
+                // y también va al AVL de listado ordenado
                 ListaSimple<Resumen> nuevaLista = new ListaSimple<>();
                 nuevaLista.agregar(nuevoResumen);
-                this.indicePalabrasClaveHash.insertar(palabra, nuevaLista);
+                this.indicePalabrasClaveHash.insertar(clave, nuevaLista);
+                this.indicePalabrasClaveAVL.insertar(clave);
             } else {
                 // Si la palabra ya existe, añado el resumen a su lista
                 listaResumenes.agregar(nuevoResumen);
@@ -210,67 +827,886 @@ public class GestorInvestigaciones implements Serializable{
         return true; 
     }
     
-    public ListaSimple<Resumen> buscarResumenesPorAutor(String nombreAutor) {
-     
-        Autor autorBusqueda = new Autor(nombreAutor);
-        
-        // Busco en el Árbol AVL
-        Autor autorEncontrado = indiceAutores.buscar(autorBusqueda);
-        
-        // Si existe, devuelvo sus resúmenes
-        if (autorEncontrado != null) {
-            return autorEncontrado.getResumenes();
-        } else {
-            return null; // No se encontró el autor
+    /**
+     * Par (clave, resumen) que se usa para agrupar autores y palabras clave
+     * durante una carga masiva.
+     */
+    private static class Asociacion implements Comparable<Asociacion> {
+        final ClaveNormalizada clave;
+        final Resumen resumen;
+
+        Asociacion(ClaveNormalizada clave, Resumen resumen) {
+            this.clave = clave;
+            this.resumen = resumen;
+        }
+
+        @Override
+        public int compareTo(Asociacion otra) {
+            return clave.compareTo(otra.clave);
         }
     }
 
     /**
-     * Buscar un resumen por su título
+     * Agrega muchos resúmenes de una vez.
+     * En lugar de actualizar cada índice resumen por resumen, se dimensiona
+     * la tabla principal una sola vez, se ordenan títulos, autores y palabras
+     * clave una sola vez, y los árboles se reconstruyen mezclando esas
+     * secuencias ordenadas: el costo total es un ordenamiento más trabajo
+     * lineal.
      *
-     * @param titulo El título a buscar
-     * @return El objeto Resumen, o null si no se encuentra
+     * @param nuevos Los resúmenes a agregar
+     * @return Cantidad de resúmenes agregados (los títulos repetidos, ya sea
+     * contra el repositorio o dentro del lote, se descartan)
      */
-    public Resumen buscarResumenPorTitulo(String titulo) {
-        // La TablaHash hace el trabajo pesado en O(1)
-        return this.repositorioResumenes.buscar(titulo);
+    public int agregarResumenes(ListaSimple<Resumen> nuevos) {
+        if (nuevos == null || nuevos.estaVacia()) return 0;
+
+        long inicio = this.metricas.iniciar();
+        long ultimaSecuencia = 0;
+        RegistroCambios registroUsado;
+        int cantidad;
+        this.candado.writeLock().lock();
+        try {
+            Resumen[] aceptados = new Resumen[nuevos.getTamano()];
+            cantidad = agregarResumenesInterno(nuevos, aceptados);
+
+            // Se registra todo el lote y luego se espera un solo fsync
+            registroUsado = this.registro;
+            if (registroUsado != null && cantidad > 0) {
+                try {
+                    for (int i = 0; i < cantidad; i++) {
+                        ultimaSecuencia = registroUsado.registrarAgregar(aceptados[i]);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Error al registrar el cambio: " + e.getMessage());
+                }
+                revisarCheckpoint();
+            }
+        } finally {
+            this.candado.writeLock().unlock();
+        }
+        esperarRegistro(registroUsado, ultimaSecuencia);
+        this.metricas.registrar(Metricas.Operacion.AGREGAR_LOTE, inicio, cantidad);
+        return cantidad;
     }
-    
+
     /**
-     * Buscar Investigaciones por palabra clave
+     * Cuerpo de agregarResumenes (se llama con el candado de escritura).
      *
-     * @param palabra La palabra clave a buscar
-     * @return Una ListaSimple de Resúmenes, o null si la palabra no existe
+     * @param aceptados Arreglo donde se dejan los resúmenes agregados
+     * @return Cantidad de resúmenes agregados
      */
-    public ListaSimple<Resumen> buscarResumenPorPalabra(String palabra) {
-        // La TablaHash de palabras clave hace la búsqueda en O(1)
-        return this.indicePalabrasClaveHash.buscar(palabra);
+    private int agregarResumenesInterno(ListaSimple<Resumen> nuevos, Resumen[] aceptados) {
+
+        // Dimensionar la tabla principal una sola vez
+        this.repositorioResumenes.reservar(this.repositorioResumenes.getTamanoActual() + nuevos.getTamano());
+
+        // Validar duplicados: la inserción en la tabla hash descarta los títulos repetidos
+        int cantidad = 0;
+        int totalAutores = 0;
+        int totalPalabras = 0;
+        for (Resumen r : nuevos) {
+            if (r != null && this.repositorioResumenes.insertar(r.getClaveTitulo(), r)) {
+                aceptados[cantidad++] = r;
+                prepararReingreso(r);
+                r.internar(this.simbolosAutores, this.simbolosPalabras);
+                sumarUsosPalabras(r);
+                totalAutores += r.getIdsAutores().length;
+                totalPalabras += r.getIdsPalabras().length;
+            }
+        }
+        if (cantidad == 0) return 0;
+
+        // Títulos: ids, índice de texto y árbol de títulos
+        ClaveNormalizada[] titulos = new ClaveNormalizada[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            aceptados[i].setId(this.siguienteId++);
+            this.indiceTexto.agregarDocumento(aceptados[i]);
+            indexarIds(aceptados[i]);
+            sumarPrefijos(aceptados[i], 1);
+            titulos[i] = aceptados[i].getClaveTitulo();
+        }
+        Ordenamiento.ordenar(titulos, cantidad);
+        ListaSimple<ClaveNormalizada> titulosOrdenados = new ListaSimple<>();
+        for (int i = 0; i < cantidad; i++) {
+            titulosOrdenados.agregar(titulos[i]);
+        }
+        this.indiceTitulosOrdenados.agregarOrdenados(titulosOrdenados);
+
+        agregarAutoresEnLote(aceptados, cantidad, totalAutores);
+        agregarPalabrasEnLote(aceptados, cantidad, totalPalabras);
+        actualizarPrefijos(); // Una sola vez para todo el lote
+        return cantidad;
     }
 
     /**
-     *Listar autores ordenados alfabéticamente
-     *
-     * @return Una ListaSimple de objetos Autor, ordenados
+     * Agrupa los autores del lote (ordenando una vez) y crea o actualiza un
+     * Autor por grupo. Los autores nuevos ya quedan ordenados para el árbol.
      */
-    public ListaSimple<Autor> getAutoresOrdenados() {
-        // El ArbolAVL hace el recorrido InOrden en O(n)
-        return this.indiceAutores.getListaInorden();
+    private void agregarAutoresEnLote(Resumen[] aceptados, int cantidad, int totalAutores) {
+        Asociacion[] pares = new Asociacion[totalAutores];
+        int n = 0;
+        for (int i = 0; i < cantidad; i++) {
+            for (int idAutor : aceptados[i].getIdsAutores()) {
+                pares[n++] = new Asociacion(this.simbolosAutores.getClave(idAutor), aceptados[i]);
+            }
+        }
+        Ordenamiento.ordenar(pares, n);
+
+        ListaSimple<Autor> autoresNuevos = new ListaSimple<>();
+        int i = 0;
+        while (i < n) {
+            Autor autor = this.indiceAutores.buscar(new Autor(pares[i].clave));
+            boolean esNuevo = (autor == null);
+            if (esNuevo) {
+                autor = new Autor(pares[i].clave);
+            }
+            int j = i;
+            while (j < n && pares[j].compareTo(pares[i]) == 0) {
+                autor.agregarResumen(pares[j].resumen);
+                j++;
+            }
+            if (esNuevo) {
+                autoresNuevos.agregar(autor);
+            }
+            i = j;
+        }
+        this.indiceAutores.agregarOrdenados(autoresNuevos);
     }
-    
+
     /**
-     * Listar palabras clave ordenadas alfabéticamente.
-     *
-     * @return Una ListaSimple de Strings (palabras), ordenadas.
+     * Agrupa las palabras clave del lote (ordenando una vez), dimensiona la
+     * tabla de palabras una sola vez y agrega cada grupo a su lista.
      */
-    public ListaSimple<String> getPalabrasClaveOrdenadas() {
+    private void agregarPalabrasEnLote(Resumen[] aceptados, int cantidad, int totalPalabras) {
+        Asociacion[] pares = new Asociacion[totalPalabras];
+        int n = 0;
+        for (int i = 0; i < cantidad; i++) {
+            for (int idPalabra : aceptados[i].getIdsPalabras()) {
+                pares[n++] = new Asociacion(this.simbolosPalabras.getClave(idPalabra), aceptados[i]);
+            }
+        }
+        Ordenamiento.ordenar(pares, n);
+
+        int grupos = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || pares[i].compareTo(pares[i - 1]) != 0) grupos++;
+        }
+        this.indicePalabrasClaveHash.reservar(this.indicePalabrasClaveHash.getTamanoActual() + grupos);
+
+        ListaSimple<ClaveNormalizada> palabrasNuevas = new ListaSimple<>();
+        int i = 0;
+        while (i < n) {
+            ClaveNormalizada palabra = pares[i].clave;
+            ListaSimple<Resumen> listaResumenes = this.indicePalabrasClaveHash.buscar(palabra);
+            if (listaResumenes == null) {
+                listaResumenes = new ListaSimple<>();
+                this.indicePalabrasClaveHash.insertar(palabra, listaResumenes);
+                palabrasNuevas.agregar(palabra);
+            }
+            int j = i;
+            while (j < n && pares[j].compareTo(pares[i]) == 0) {
+                listaResumenes.agregar(pares[j].resumen);
+                j++;
+            }
+            i = j;
+        }
+        this.indicePalabrasClaveAVL.agregarOrdenados(palabrasNuevas);
+    }
+
+    /**
+     * Buscar los resúmenes de un autor
+     *
+     * @param nombreAutor El nombre del autor
+     * Si el nombre no existe se usa el autor más parecido (ver corregirAutor).
+     *
+     * @return Una copia de la lista de resúmenes del autor, o null si no
+     * existe ni hay uno parecido
+     */
+    public ListaSimple<Resumen> buscarResumenesPorAutor(String nombreAutor) {
+     
+        Autor autorBusqueda = new Autor(nombreAutor);
+        
+        long inicio = this.metricas.iniciar();
+        this.candado.readLock().lock();
+        try {
+            // Busco en el Árbol AVL; si no está, el nombre más parecido
+            Autor autorEncontrado = indiceAutores.buscar(autorBusqueda);
+            if (autorEncontrado == null) {
+                int id = buscarParecido(this.parecidosAutores, this.prefijosAutores, autorBusqueda.getClave().getClave());
+                if (id >= 0) {
+                    autorEncontrado = indiceAutores.buscar(new Autor(this.simbolosAutores.getClave(id)));
+                }
+            }
+            
+            // Si existe, devuelvo sus resúmenes (copiados, para que un cambio
+            // posterior no altere la lista mientras el llamador la recorre)
+            if (autorEncontrado != null) {
+                return copiar(autorEncontrado.getResumenes());
+            } else {
+                return null; // No se encontró el autor
+            }
+        } finally {
+            this.candado.readLock().unlock();
+            this.metricas.registrar(Metricas.Operacion.BUSCAR_AUTOR, inicio);
+        }
+    }
+
+    private static <T> ListaSimple<T> copiar(Iterable<T> original) {
+        ListaSimple<T> copia = new ListaSimple<>();
+        for (T dato : original) {
+            copia.agregar(dato);
+        }
+        return copia;
+    }
+
+    /**
+     * Buscar un resumen por su título
+     *
+     * @param titulo El título a buscar
+     * @return El objeto Resumen, o null si no se encuentra
+     */
+    public Resumen buscarResumenPorTitulo(String titulo) {
+        // La TablaHash hace el trabajo pesado en O(1)
+        long inicio = this.metricas.iniciar();
+        ClaveNormalizada clave = new ClaveNormalizada(titulo);
+        this.candado.readLock().lock();
+        try {
+            return this.repositorioResumenes.buscar(clave);
+        } finally {
+            this.candado.readLock().unlock();
+            this.metricas.registrar(Metricas.Operacion.BUSCAR_TITULO, inicio);
+        }
+    }
+    
+    /**
+     * Buscar Investigaciones por palabra clave
+     *
+     * @param palabra La palabra clave a buscar
+     * Si la palabra no existe se usa la más parecida (ver corregirPalabraClave).
+     *
+     * @return Una copia de la ListaSimple de Resúmenes, o null si la palabra
+     * no existe ni hay una parecida
+     */
+    public ListaSimple<Resumen> buscarResumenPorPalabra(String palabra) {
+        // La TablaHash de palabras clave hace la búsqueda en O(1)
+        long inicio = this.metricas.iniciar();
+        ClaveNormalizada clave = new ClaveNormalizada(palabra);
+        this.candado.readLock().lock();
+        try {
+            ListaSimple<Resumen> lista = this.indicePalabrasClaveHash.buscar(clave);
+            if (lista == null) {
+                // No está: la palabra más parecida
+                int id = buscarParecido(this.parecidosPalabras, this.prefijosPalabras, clave.getClave());
+                if (id < 0) return null;
+                lista = this.indicePalabrasClaveHash.buscar(this.simbolosPalabras.getClave(id));
+            }
+            // Copiar saltando los resúmenes borrados que aún no se compactan
+            ListaSimple<Resumen> copia = new ListaSimple<>();
+            for (Resumen r : lista) {
+                if (!estaBorrado(r)) copia.agregar(r);
+            }
+            return copia;
+        } finally {
+            this.candado.readLock().unlock();
+            this.metricas.registrar(Metricas.Operacion.BUSCAR_PALABRA, inicio);
+        }
+    }
+
+    /**
+     * Sugerencias para autocompletar el nombre de un autor: los autores
+     * cuyo nombre empieza con el prefijo (sin importar tildes ni
+     * mayúsculas), los de más publicaciones primero.
+     *
+     * @param prefijo Lo que el usuario lleva escrito
+     * @param cantidad Máximo de sugerencias (a lo sumo MAX_SUGERENCIAS)
+     * @return Los nombres sugeridos
+     */
+    public ListaSimple<String> sugerirAutores(String prefijo, int cantidad) {
+        this.candado.readLock().lock();
+        try {
+            return this.prefijosAutores.sugerir(prefijo, cantidad);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sugerencias para autocompletar una palabra clave (como sugerirAutores).
+     */
+    public ListaSimple<String> sugerirPalabrasClave(String prefijo, int cantidad) {
+        this.candado.readLock().lock();
+        try {
+            return this.prefijosPalabras.sugerir(prefijo, cantidad);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Autores con nombre parecido al dado (por si está mal escrito): a lo
+     * sumo a distancia de edición toleranciaPara() del nombre, los más
+     * cercanos primero y, a igual distancia, los de más publicaciones.
+     *
+     * @param nombre El nombre, posiblemente mal escrito
+     * @return Los nombres parecidos (vacía si no hay)
+     */
+    public ListaSimple<String> buscarAutoresParecidos(String nombre) {
+        this.candado.readLock().lock();
+        try {
+            return textosDe(this.simbolosAutores,
+                    parecidos(this.parecidosAutores, this.prefijosAutores, ClaveNormalizada.normalizar(nombre)));
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Palabras clave parecidas a la dada (como buscarAutoresParecidos).
+     */
+    public ListaSimple<String> buscarPalabrasParecidas(String palabra) {
+        this.candado.readLock().lock();
+        try {
+            return textosDe(this.simbolosPalabras,
+                    parecidos(this.parecidosPalabras, this.prefijosPalabras, ClaveNormalizada.normalizar(palabra)));
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * El nombre de autor que usa buscarResumenesPorAutor para 'nombre':
+     * el mismo si existe, o el más parecido.
+     *
+     * @return El nombre registrado, o null si no hay ninguno cercano
+     */
+    public String corregirAutor(String nombre) {
+        this.candado.readLock().lock();
+        try {
+            return corregir(this.simbolosAutores, this.parecidosAutores, this.prefijosAutores, nombre);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * La palabra clave que usa buscarResumenPorPalabra (como corregirAutor).
+     */
+    public String corregirPalabraClave(String palabra) {
+        this.candado.readLock().lock();
+        try {
+            return corregir(this.simbolosPalabras, this.parecidosPalabras, this.prefijosPalabras, palabra);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    private static String corregir(TablaSimbolos simbolos, ArbolBK arbol, IndicePrefijos conteos, String texto) {
+        int id = simbolos.buscarId(texto);
+        if (id < 0 || conteos.getConteo(id) == 0) {
+            id = buscarParecido(arbol, conteos, ClaveNormalizada.normalizar(texto));
+        }
+        return (id >= 0) ? simbolos.getTexto(id) : null;
+    }
+
+    /*
+     * Distancia de edición tolerada según el largo del texto: con textos
+     * cortos un error de más ya lleva a otra palabra.
+     */
+    private static int toleranciaPara(String clave) {
+        if (clave.length() <= 3) return 0;
+        if (clave.length() <= 7) return 1;
+        return 2;
+    }
+
+    // Id del símbolo en uso más parecido, o -1
+    private static int buscarParecido(ArbolBK arbol, IndicePrefijos conteos, String clave) {
+        ListaSimple<Integer> ids = parecidos(arbol, conteos, clave);
+        return (ids.getTamano() > 0) ? ids.get(0) : -1;
+    }
+
+    /**
+     * Ids de los símbolos en uso (con algún resumen) cercanos a la clave:
+     * primero los de menor distancia y, a igual distancia, los de más
+     * resúmenes.
+     */
+    private static ListaSimple<Integer> parecidos(ArbolBK arbol, IndicePrefijos conteos, String clave) {
+        ListaSimple<ArbolBK.Candidato> candidatos = arbol.buscar(clave, toleranciaPara(clave));
+        ArbolBK.Candidato[] vivos = new ArbolBK.Candidato[candidatos.getTamano()];
+        int n = 0;
+        for (ArbolBK.Candidato c : candidatos) {
+            if (conteos.getConteo(c.getSimbolo()) > 0) vivos[n++] = c;
+        }
+        java.util.Arrays.sort(vivos, 0, n, (a, b) -> (a.getDistancia() != b.getDistancia())
+                ? Integer.compare(a.getDistancia(), b.getDistancia())
+                : Integer.compare(conteos.getConteo(b.getSimbolo()), conteos.getConteo(a.getSimbolo())));
+        ListaSimple<Integer> ids = new ListaSimple<>();
+        for (int i = 0; i < n; i++) {
+            ids.agregar(vivos[i].getSimbolo());
+        }
+        return ids;
+    }
+
+    private static ListaSimple<String> textosDe(TablaSimbolos simbolos, ListaSimple<Integer> ids) {
+        ListaSimple<String> textos = new ListaSimple<>();
+        for (int id : ids) {
+            textos.agregar(simbolos.getTexto(id));
+        }
+        return textos;
+    }
+
+    /**
+     * Buscar con una consulta booleana sobre autores y palabras clave, por
+     * ejemplo: grafos AND autor:"Ada Lovelace" NOT heuristica
+     * (ver ConsultaBooleana para la sintaxis).
+     * Los resultados se generan de a uno, así que con un límite chico la
+     * consulta termina antes.
+     *
+     * @param consulta La consulta
+     * @param limite Número máximo de resultados
+     * @return Los resúmenes que cumplen la consulta, en orden de ingreso
+     * @throws IllegalArgumentException Si la consulta está mal escrita
+     */
+    public ListaSimple<Resumen> buscarConsulta(String consulta, int limite) {
+        ConsultaBooleana analizada = ConsultaBooleana.analizar(consulta);
+        long inicio = this.metricas.iniciar();
+        this.candado.readLock().lock();
+        try {
+            ListaSimple<Resumen> resultados = new ListaSimple<>();
+            ConsultaBooleana.Cursor cursor = analizada.abrir(new FuenteConsultas());
+            while (resultados.getTamano() < limite) {
+                int id = cursor.avanzar();
+                if (id == ConsultaBooleana.FIN) break;
+                resultados.agregar(this.indiceTexto.getDocumento(id));
+            }
+            return resultados;
+        } finally {
+            this.candado.readLock().unlock();
+            this.metricas.registrar(Metricas.Operacion.BUSCAR_CONSULTA, inicio);
+        }
+    }
+
+    /**
+     * Da a ConsultaBooleana las listas de ids del gestor (se usa con el
+     * candado de lectura tomado).
+     */
+    private class FuenteConsultas implements ConsultaBooleana.Fuente {
+        @Override
+        public ListaIds getIds(ConsultaBooleana.Campo campo, String texto) {
+            boolean esAutor = (campo == ConsultaBooleana.Campo.AUTOR);
+            int id = (esAutor ? simbolosAutores : simbolosPalabras).buscarId(texto);
+            ListaIds[] listas = esAutor ? idsPorAutor : idsPorPalabra;
+            return (id >= 0 && id < listas.length) ? listas[id] : null;
+        }
+
+        @Override
+        public ConjuntoBits getBorrados() {
+            return borrados;
+        }
+
+        @Override
+        public int getLimiteIds() {
+            return siguienteId;
+        }
+    }
+
+    /**
+     * Buscar resúmenes que mencionen ciertas palabras en su cuerpo.
+     *
+     * @param consulta Las palabras a buscar (texto libre)
+     * @param k Número máximo de resultados
+     * @return Una ListaSimple con los k resúmenes más relevantes (BM25)
+     */
+    public ListaSimple<Resumen> buscarResumenesPorTexto(String consulta, int k) {
+        long inicio = this.metricas.iniciar();
+        this.candado.readLock().lock();
+        try {
+            return this.indiceTexto.buscar(consulta, k);
+        } finally {
+            this.candado.readLock().unlock();
+            this.metricas.registrar(Metricas.Operacion.BUSCAR_TEXTO, inicio);
+        }
+    }
+
+    /**
+     *Listar autores ordenados alfabéticamente
+     * (La lista de resúmenes de cada Autor es la misma que usa el índice;
+     * para obtener una copia segura usar buscarResumenesPorAutor.)
+     *
+     * @return Una ListaSimple de objetos Autor, ordenados
+     */
+    public ListaSimple<Autor> getAutoresOrdenados() {
         // El ArbolAVL hace el recorrido InOrden en O(n)
-        return this.indicePalabrasClaveAVL.getListaInorden();
+        this.candado.readLock().lock();
+        try {
+            return this.indiceAutores.getListaInorden();
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Listar palabras clave ordenadas alfabéticamente.
+     *
+     * @return Una ListaSimple de Strings (palabras), ordenadas.
+     */
+    public ListaSimple<String> getPalabrasClaveOrdenadas() {
+        // El ArbolAVL hace el recorrido InOrden en O(n)
+        this.candado.readLock().lock();
+        try {
+            return textos(this.indicePalabrasClaveAVL.getListaInorden());
+        } finally {
+            this.candado.readLock().unlock();
+        }
     }
     
     public ListaSimple<String> getTitulosOrdenados() {
         // El ArbolAVL hace el recorrido InOrden en O(n)
-        return this.indiceTitulosOrdenados.getListaInorden(); 
+        this.candado.readLock().lock();
+        try {
+            return textos(this.indiceTitulosOrdenados.getListaInorden());
+        } finally {
+            this.candado.readLock().unlock();
+        }
     }
+
+    /**
+     * Cantidades de autores, títulos y palabras clave (para saber cuántas
+     * páginas hay). O(1).
+     */
+    public int getCantidadAutores() {
+        this.candado.readLock().lock();
+        try {
+            return this.indiceAutores.tamano();
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    public int getCantidadTitulos() {
+        this.candado.readLock().lock();
+        try {
+            return this.indiceTitulosOrdenados.tamano();
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    public int getCantidadPalabrasClave() {
+        this.candado.readLock().lock();
+        try {
+            return this.indicePalabrasClaveAVL.tamano();
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre en orden alfabético las palabras clave a partir de 'desde'
+     * (null para empezar por la primera), sin armar la lista completa.
+     * El recorrido se corta cuando el visitante devuelve false.
+     *
+     * Se lee de a BLOQUE_RECORRIDO palabras con el candado de lectura y el
+     * visitante se llama sin candado; el bloque siguiente se retoma desde
+     * la última palabra vista, así que los cambios hechos entretanto se
+     * ven si caen más adelante en el orden.
+     */
+    public void recorrerPalabrasClave(String desde, java.util.function.Predicate<String> visitante) {
+        recorrer(this.indicePalabrasClaveAVL, claveOpcional(desde), ClaveNormalizada::getTexto, visitante);
+    }
+
+    /**
+     * Recorre los títulos en orden alfabético (como recorrerPalabrasClave).
+     */
+    public void recorrerTitulos(String desde, java.util.function.Predicate<String> visitante) {
+        recorrer(this.indiceTitulosOrdenados, claveOpcional(desde), ClaveNormalizada::getTexto, visitante);
+    }
+
+    /**
+     * Recorre los autores en orden alfabético (como recorrerPalabrasClave).
+     */
+    public void recorrerAutores(String desde, java.util.function.Predicate<Autor> visitante) {
+        recorrer(this.indiceAutores, (desde != null) ? new Autor(desde) : null, autor -> autor, visitante);
+    }
+
+    // Elementos que se leen por cada toma del candado en recorrer()
+    private static final int BLOQUE_RECORRIDO = 512;
+
+    private <T extends Comparable<T>, R> void recorrer(ArbolAVL<T> arbol, T desde,
+            java.util.function.Function<T, R> conversion, java.util.function.Predicate<R> visitante) {
+        recorrerRango(arbol, desde, null, true, 0, Integer.MAX_VALUE, conversion, visitante);
+    }
+
+    /*
+     * Recorre por bloques una página de un rango. El primer bloque se ubica
+     * con paginaEnRango (O(log n), sin recorrer lo que se salta); los
+     * siguientes se retoman desde el último dato visto, así que un cambio
+     * hecho entre bloques no hace repetir ni saltar datos.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Comparable<T>, R> void recorrerRango(ArbolAVL<T> arbol, T desde, T hasta, boolean inclusivo,
+            int desplazamiento, int limite, java.util.function.Function<T, R> conversion,
+            java.util.function.Predicate<R> visitante) {
+        Object[] bloque = new Object[BLOQUE_RECORRIDO];
+        int restantes = limite;
+        T ultimo = null;
+        while (restantes > 0) {
+            int pedidos = Math.min(restantes, bloque.length);
+            int n = 0;
+            this.candado.readLock().lock();
+            try {
+                if (ultimo == null) {
+                    for (T dato : paginaEnRango(arbol, desde, hasta, inclusivo, desplazamiento, pedidos)) {
+                        bloque[n++] = dato;
+                    }
+                } else {
+                    java.util.Iterator<T> iterador = arbol.iteradorDesde(ultimo, false);
+                    while (n < pedidos && iterador.hasNext()) {
+                        T dato = iterador.next();
+                        int comparacion = (hasta != null) ? dato.compareTo(hasta) : -1;
+                        if (comparacion > 0 || (comparacion == 0 && !inclusivo)) break;
+                        bloque[n++] = dato;
+                    }
+                }
+            } finally {
+                this.candado.readLock().unlock();
+            }
+            for (int i = 0; i < n; i++) {
+                if (!visitante.test(conversion.apply((T) bloque[i]))) return;
+            }
+            if (n < pedidos) return;
+            restantes -= n;
+            ultimo = (T) bloque[n - 1];
+        }
+    }
+
+    // Convierte una lista de claves en la lista de sus textos para mostrar
+    private static ListaSimple<String> textos(ListaSimple<ClaveNormalizada> claves) {
+        ListaSimple<String> lista = new ListaSimple<>();
+        for (ClaveNormalizada clave : claves) {
+            lista.agregar(clave.getTexto());
+        }
+        return lista;
+    }
+
+    private static ClaveNormalizada claveOpcional(String texto) {
+        return (texto != null) ? new ClaveNormalizada(texto) : null;
+    }
+    /**
+     * Listar los autores cuyo nombre está entre dos límites, en orden.
+     * Recorre solo la parte del árbol involucrada (O(log n + k)).
+     *
+     * @param desde Límite inferior (null para empezar desde el primero).
+     * @param hasta Límite superior (null para llegar hasta el último).
+     * @param inclusivo true si se incluyen los nombres iguales a los límites.
+     * @return Una ListaSimple de objetos Autor, ordenados.
+     */
+    public ListaSimple<Autor> getAutoresEnRango(String desde, String hasta, boolean inclusivo) {
+        return getAutoresEnRango(desde, hasta, inclusivo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que el anterior, pero devuelve como máximo 'limite' elementos
+     * y deja de recorrer el árbol al alcanzarlo (O(log n + limite)).
+     */
+    public ListaSimple<Autor> getAutoresEnRango(String desde, String hasta, boolean inclusivo, int limite) {
+        return getAutoresEnRango(desde, hasta, inclusivo, 0, limite);
+    }
+
+    /**
+     * Igual que el anterior, pero salta los primeros 'desplazamiento'
+     * autores del rango (para paginar) sin recorrerlos: O(log n + limite).
+     */
+    public ListaSimple<Autor> getAutoresEnRango(String desde, String hasta, boolean inclusivo, int desplazamiento, int limite) {
+        Autor autorDesde = (desde != null) ? new Autor(desde) : null;
+        Autor autorHasta = (hasta != null) ? new Autor(hasta) : null;
+        this.candado.readLock().lock();
+        try {
+            return paginaEnRango(this.indiceAutores, autorDesde, autorHasta, inclusivo, desplazamiento, limite);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /*
+     * Página de un rango del árbol: rango() da la posición de cada límite
+     * y pagina() baja directo a la primera, sin pasar de la última:
+     * O(log n + k).
+     */
+    private static <T extends Comparable<T>> ListaSimple<T> paginaEnRango(ArbolAVL<T> arbol, T desde, T hasta,
+            boolean inclusivo, int desplazamiento, int limite) {
+        long inicio = Math.max(desplazamiento, 0) + (long) inicioDeRango(arbol, desde, inclusivo);
+        // La página se corta en el final del rango antes de recorrer, así
+        // nunca se copia más de 'limite' datos
+        long cantidad = Math.min(limite, finDeRango(arbol, hasta, inclusivo) - inicio);
+        if (cantidad <= 0) return new ListaSimple<>();
+        return arbol.pagina((int) inicio, (int) cantidad);
+    }
+
+    // Cantidad de datos de un rango, con rango(): O(log n)
+    private static <T extends Comparable<T>> int contarEnRango(ArbolAVL<T> arbol, T desde, T hasta, boolean inclusivo) {
+        return Math.max(finDeRango(arbol, hasta, inclusivo) - inicioDeRango(arbol, desde, inclusivo), 0);
+    }
+
+    // Posición del primer dato del rango
+    private static <T extends Comparable<T>> int inicioDeRango(ArbolAVL<T> arbol, T desde, boolean inclusivo) {
+        if (desde == null) return 0;
+        int inicio = arbol.rango(desde);
+        if (!inclusivo && arbol.buscar(desde) != null) inicio++;
+        return inicio;
+    }
+
+    // Posición (exclusiva) donde termina el rango
+    private static <T extends Comparable<T>> int finDeRango(ArbolAVL<T> arbol, T hasta, boolean inclusivo) {
+        if (hasta == null) return arbol.tamano();
+        int fin = arbol.rango(hasta);
+        if (inclusivo && arbol.buscar(hasta) != null) fin++;
+        return fin;
+    }
+
+    /**
+     * Listar los títulos entre dos límites, en orden (O(log n + k)).
+     *
+     * @param desde Límite inferior (null para empezar desde el primero).
+     * @param hasta Límite superior (null para llegar hasta el último).
+     * @param inclusivo true si se incluyen los títulos iguales a los límites.
+     * @return Una ListaSimple de títulos, ordenados.
+     */
+    public ListaSimple<String> getTitulosEnRango(String desde, String hasta, boolean inclusivo) {
+        return getTitulosEnRango(desde, hasta, inclusivo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que el anterior, pero devuelve como máximo 'limite' elementos
+     * y deja de recorrer el árbol al alcanzarlo (O(log n + limite)).
+     */
+    public ListaSimple<String> getTitulosEnRango(String desde, String hasta, boolean inclusivo, int limite) {
+        return getTitulosEnRango(desde, hasta, inclusivo, 0, limite);
+    }
+
+    /**
+     * Igual que el anterior, pero salta los primeros 'desplazamiento'
+     * títulos del rango (para paginar) sin recorrerlos: O(log n + limite).
+     */
+    public ListaSimple<String> getTitulosEnRango(String desde, String hasta, boolean inclusivo, int desplazamiento, int limite) {
+        ClaveNormalizada claveDesde = claveOpcional(desde);
+        ClaveNormalizada claveHasta = claveOpcional(hasta);
+        this.candado.readLock().lock();
+        try {
+            return textos(paginaEnRango(this.indiceTitulosOrdenados, claveDesde, claveHasta, inclusivo, desplazamiento, limite));
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Listar las palabras clave entre dos límites, en orden (O(log n + k)).
+     *
+     * @param desde Límite inferior (null para empezar desde la primera).
+     * @param hasta Límite superior (null para llegar hasta la última).
+     * @param inclusivo true si se incluyen las palabras iguales a los límites.
+     * @return Una ListaSimple de palabras clave, ordenadas.
+     */
+    public ListaSimple<String> getPalabrasClaveEnRango(String desde, String hasta, boolean inclusivo) {
+        return getPalabrasClaveEnRango(desde, hasta, inclusivo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que el anterior, pero devuelve como máximo 'limite' elementos
+     * y deja de recorrer el árbol al alcanzarlo (O(log n + limite)).
+     */
+    public ListaSimple<String> getPalabrasClaveEnRango(String desde, String hasta, boolean inclusivo, int limite) {
+        return getPalabrasClaveEnRango(desde, hasta, inclusivo, 0, limite);
+    }
+
+    /**
+     * Igual que el anterior, pero salta las primeras 'desplazamiento'
+     * palabras del rango (para paginar) sin recorrerlas: O(log n + limite).
+     */
+    public ListaSimple<String> getPalabrasClaveEnRango(String desde, String hasta, boolean inclusivo, int desplazamiento, int limite) {
+        ClaveNormalizada claveDesde = claveOpcional(desde);
+        ClaveNormalizada claveHasta = claveOpcional(hasta);
+        this.candado.readLock().lock();
+        try {
+            return textos(paginaEnRango(this.indicePalabrasClaveAVL, claveDesde, claveHasta, inclusivo, desplazamiento, limite));
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre la misma página que getTitulosEnRango(desde, hasta,
+     * inclusivo, desplazamiento, limite) sin armar la lista: se leen
+     * bloques de BLOQUE_RECORRIDO títulos con el candado de lectura y el
+     * visitante se llama sin candado (como recorrerPalabrasClave). El
+     * recorrido se corta cuando el visitante devuelve false.
+     */
+    public void recorrerTitulosEnRango(String desde, String hasta, boolean inclusivo, int desplazamiento, int limite,
+            java.util.function.Predicate<String> visitante) {
+        recorrerRango(this.indiceTitulosOrdenados, claveOpcional(desde), claveOpcional(hasta), inclusivo,
+                desplazamiento, limite, ClaveNormalizada::getTexto, visitante);
+    }
+
+    /**
+     * Recorre una página de autores (como recorrerTitulosEnRango).
+     */
+    public void recorrerAutoresEnRango(String desde, String hasta, boolean inclusivo, int desplazamiento, int limite,
+            java.util.function.Predicate<Autor> visitante) {
+        recorrerRango(this.indiceAutores, (desde != null) ? new Autor(desde) : null, (hasta != null) ? new Autor(hasta) : null,
+                inclusivo, desplazamiento, limite, autor -> autor, visitante);
+    }
+
+    /**
+     * Recorre una página de palabras clave (como recorrerTitulosEnRango).
+     */
+    public void recorrerPalabrasClaveEnRango(String desde, String hasta, boolean inclusivo, int desplazamiento, int limite,
+            java.util.function.Predicate<String> visitante) {
+        recorrerRango(this.indicePalabrasClaveAVL, claveOpcional(desde), claveOpcional(hasta), inclusivo,
+                desplazamiento, limite, ClaveNormalizada::getTexto, visitante);
+    }
+
+    /**
+     * Cuenta los títulos entre dos límites sin recorrerlos: O(log n).
+     *
+     * @param desde Límite inferior (null para empezar desde el primero).
+     * @param hasta Límite superior (null para llegar hasta el último).
+     * @param inclusivo true si se cuentan los títulos iguales a los límites.
+     * @return La cantidad de títulos del rango.
+     */
+    public int contarTitulosEnRango(String desde, String hasta, boolean inclusivo) {
+        this.candado.readLock().lock();
+        try {
+            return contarEnRango(this.indiceTitulosOrdenados, claveOpcional(desde), claveOpcional(hasta), inclusivo);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta los autores entre dos límites (como contarTitulosEnRango).
+     */
+    public int contarAutoresEnRango(String desde, String hasta, boolean inclusivo) {
+        this.candado.readLock().lock();
+        try {
+            return contarEnRango(this.indiceAutores, (desde != null) ? new Autor(desde) : null,
+                    (hasta != null) ? new Autor(hasta) : null, inclusivo);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las palabras clave entre dos límites (como contarTitulosEnRango).
+     */
+    public int contarPalabrasClaveEnRango(String desde, String hasta, boolean inclusivo) {
+        this.candado.readLock().lock();
+        try {
+            return contarEnRango(this.indicePalabrasClaveAVL, claveOpcional(desde), claveOpcional(hasta), inclusivo);
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
     /**
      * Guardar y Cargar Datos (Serialización).
      * 
@@ -318,33 +1754,174 @@ public class GestorInvestigaciones implements Serializable{
     }
     
     public ListaSimple<String> obtenerTitulosDisponibles() {
-        return repositorioResumenes.obtenerTodasLasClaves();
+        this.candado.readLock().lock();
+        try {
+            return textos(repositorioResumenes.obtenerTodasLasClaves());
+        } finally {
+            this.candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve todos los resúmenes en el orden en que fueron agregados
+     * (por id interno).
+     *
+     * @return Una ListaSimple con los resúmenes.
+     */
+    ListaSimple<Resumen> obtenerResumenes() {
+        this.candado.readLock().lock();
+        try {
+            Resumen[] porId = new Resumen[this.siguienteId];
+            for (ClaveNormalizada titulo : this.repositorioResumenes.obtenerTodasLasClaves()) {
+                Resumen r = this.repositorioResumenes.buscar(titulo);
+                porId[r.getId()] = r;
+            }
+            ListaSimple<Resumen> lista = new ListaSimple<>();
+            for (Resumen r : porId) {
+                if (r != null) lista.agregar(r);
+            }
+            return lista;
+        } finally {
+            this.candado.readLock().unlock();
+        }
     }
 
-    // Lógica completa para el botón ELIMINAR 
+    // Lógica para el botón ELIMINAR: es el mismo camino que eliminarResumen
     public boolean eliminarResumenGlobal(String titulo) {
-        Resumen aBorrar = repositorioResumenes.buscar(titulo);
-        if (aBorrar == null) return false;
+        return eliminarResumen(titulo);
+    }
 
-        // Borrar del repositorio principal
-        boolean borradoHash = repositorioResumenes.eliminar(titulo);
+    // --- MÉTRICAS ---
 
-        // Borrar referencias en Autores 
-        ListaSimple<String> autores = aBorrar.getAutores();
-        for(int i=0; i<autores.getTamano(); i++) {
-            Autor autorObj = indiceAutores.buscar(new Autor(autores.get(i)));
-            if(autorObj != null) {
-                
-                autorObj.getResumenes().eliminar(aBorrar);
+    /**
+     * Devuelve las métricas de operaciones. Vienen apagadas; se encienden
+     * con getMetricas().setActivas(true).
+     */
+    public Metricas getMetricas() {
+        return this.metricas;
+    }
+
+    /**
+     * Estadísticas de las estructuras internas, por nombre. Los nombres
+     * tienen la forma "estructura.dato", por ejemplo "titulos.altura" o
+     * "repositorio.cadenaMaxima". Los nodos y la altura de los árboles
+     * salen de los datos guardados en la raíz (O(1)); solo el largo máximo
+     * de cadena o de sondeo recorre las tablas hash: O(capacidad).
+     *
+     * @return Diccionario nombre -> valor
+     */
+    public Diccionario<String, Long> obtenerEstadisticas() {
+        Diccionario<String, Long> estadisticas = new TablaHash<>(32);
+        this.candado.readLock().lock();
+        try {
+            agregarEstadisticasHash(estadisticas, "repositorio", this.repositorioResumenes);
+            agregarEstadisticasHash(estadisticas, "palabrasHash", this.indicePalabrasClaveHash);
+            agregarEstadisticasArbol(estadisticas, "autores", this.indiceAutores);
+            agregarEstadisticasArbol(estadisticas, "palabrasAVL", this.indicePalabrasClaveAVL);
+            agregarEstadisticasArbol(estadisticas, "titulos", this.indiceTitulosOrdenados);
+            estadisticas.insertar("texto.documentos", (long) this.indiceTexto.getTotalDocumentos());
+            estadisticas.insertar("texto.terminos", (long) this.indiceTexto.getTotalTerminos());
+            estadisticas.insertar("simbolos.autores", (long) this.simbolosAutores.getTamano());
+            estadisticas.insertar("simbolos.palabras", (long) this.simbolosPalabras.getTamano());
+            estadisticas.insertar("borrado.lapidas", (long) this.borrados.getCantidad());
+            estadisticas.insertar("borrado.entradasPendientes", (long) this.entradasMuertas);
+            estadisticas.insertar("texto.postingsPendientes", (long) this.indiceTexto.getPendientes());
+        } finally {
+            this.candado.readLock().unlock();
+        }
+        return estadisticas;
+    }
+
+    private static void agregarEstadisticasHash(Diccionario<String, Long> estadisticas, String nombre, Diccionario<?, ?> tabla) {
+        estadisticas.insertar(nombre + ".elementos", (long) tabla.getTamanoActual());
+        if (tabla instanceof TablaHash<?, ?> encadenada) {
+            estadisticas.insertar(nombre + ".capacidad", (long) encadenada.getCapacidad());
+            estadisticas.insertar(nombre + ".cadenaMaxima", (long) encadenada.getCadenaMaxima());
+        } else if (tabla instanceof TablaHashAbierta<?, ?> abierta) {
+            estadisticas.insertar(nombre + ".capacidad", (long) abierta.getCapacidad());
+            estadisticas.insertar(nombre + ".sondeoMaximo", (long) abierta.getSondeoMaximo());
+        }
+    }
+
+    private static void agregarEstadisticasArbol(Diccionario<String, Long> estadisticas, String nombre, ArbolAVL<?> arbol) {
+        estadisticas.insertar(nombre + ".nodos", (long) arbol.getCantidadNodos());
+        estadisticas.insertar(nombre + ".altura", (long) arbol.getAltura());
+        estadisticas.insertar(nombre + ".rotaciones", arbol.getRotaciones());
+    }
+
+    /**
+     * Reporte en texto: latencias por operación, ocupación de las tablas
+     * hash (con la distribución de largos de cadena) y forma de los árboles.
+     */
+    public String reporteMetricas() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== OPERACIONES ===\n");
+        if (!this.metricas.isActivas()) {
+            sb.append("(métricas desactivadas)\n");
+        }
+        sb.append(this.metricas);
+
+        sb.append("\n=== TABLAS HASH ===\n");
+        this.candado.readLock().lock();
+        try {
+            reporteHash(sb, "Repositorio", this.repositorioResumenes);
+            reporteHash(sb, "Palabras clave", this.indicePalabrasClaveHash);
+
+            sb.append("\n=== ÁRBOLES AVL ===\n");
+            reporteArbol(sb, "Autores", this.indiceAutores);
+            reporteArbol(sb, "Palabras clave", this.indicePalabrasClaveAVL);
+            reporteArbol(sb, "Títulos", this.indiceTitulosOrdenados);
+
+            sb.append("\n=== ÍNDICE DE TEXTO ===\n");
+            sb.append("documentos=").append(this.indiceTexto.getTotalDocumentos())
+              .append(" términos=").append(this.indiceTexto.getTotalTerminos()).append("\n");
+
+            sb.append("\n=== TABLAS DE SÍMBOLOS ===\n");
+            sb.append("autores=").append(this.simbolosAutores.getTamano())
+              .append(" palabras clave=").append(this.simbolosPalabras.getTamano()).append("\n");
+        } finally {
+            this.candado.readLock().unlock();
+        }
+        return sb.toString();
+    }
+
+    private static void reporteHash(StringBuilder sb, String nombre, Diccionario<?, ?> tabla) {
+        sb.append(nombre).append(": elementos=").append(tabla.getTamanoActual());
+        if (tabla instanceof TablaHash<?, ?> encadenada) {
+            sb.append(String.format(" capacidad=%d carga=%.2f cadenaMaxima=%d%n",
+                    encadenada.getCapacidad(), encadenada.getFactorCarga(), encadenada.getCadenaMaxima()));
+            int[] distribucion = encadenada.getDistribucionCadenas();
+            for (int largo = 0; largo < distribucion.length; largo++) {
+                sb.append("  cadenas de ").append(largo).append(": ").append(distribucion[largo]).append("\n");
             }
+        } else if (tabla instanceof TablaHashAbierta<?, ?> abierta) {
+            sb.append(String.format(" capacidad=%d carga=%.2f sondeoMaximo=%d%n",
+                    abierta.getCapacidad(), abierta.getFactorCarga(), abierta.getSondeoMaximo()));
+        } else {
+            sb.append("\n");
         }
-        
-        return borradoHash;
+    }
+
+    private static void reporteArbol(StringBuilder sb, String nombre, ArbolAVL<?> arbol) {
+        sb.append(nombre).append(": nodos=").append(arbol.getCantidadNodos())
+          .append(" altura=").append(arbol.getAltura())
+          .append(" rotaciones=").append(arbol.getRotaciones()).append("\n");
+    }
+
+    /**
+     * Al leer un archivo antiguo (ObjectInputStream) los campos transient
+     * quedan en null: se vuelven a crear el candado y las métricas.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.candado = new ReentrantReadWriteLock();
+        this.metricas = new Metricas();
     }
 
     // Lógica para el botón ANALIZAR
     public String obtenerDetallesResumen(String titulo) {
-        Resumen r = repositorioResumenes.buscar(titulo);
+        // buscarResumenPorTitulo toma el candado; el Resumen no cambia después de agregarse
+        Resumen r = buscarResumenPorTitulo(titulo);
         if (r == null) return "Error: No se encontró el resumen.";
         
         return "TÍTULO: " + r.getTitulo() + "\n\n" +
@@ -356,8 +1933,8 @@ public class GestorInvestigaciones implements Serializable{
     // Auxiliar para convertir lista a texto
     private String mostrarLista(ListaSimple<String> lista) {
         StringBuilder sb = new StringBuilder();
-        for(int i=0; i<lista.getTamano(); i++) {
-            sb.append(lista.get(i)).append(", ");
+        for (String elemento : lista) {
+            sb.append(elemento).append(", ");
         }
         return sb.toString();
     }
@@ -367,7 +1944,13 @@ public class GestorInvestigaciones implements Serializable{
             return "Error: El índice de palabras clave no ha sido inicializado.";
         }
 
-        ListaSimple<String> listaPalabras = indicePalabrasClaveHash.obtenerTodasLasClaves();
+        ListaSimple<ClaveNormalizada> listaPalabras;
+        this.candado.readLock().lock();
+        try {
+            listaPalabras = indicePalabrasClaveHash.obtenerTodasLasClaves();
+        } finally {
+            this.candado.readLock().unlock();
+        }
         
         if (listaPalabras.getTamano() == 0) {
             return "No hay palabras clave registradas en el sistema.";
@@ -377,8 +1960,8 @@ public class GestorInvestigaciones implements Serializable{
         sb.append("=== PALABRAS CLAVE REGISTRADAS ===\n\n");
         
         // Recorro la lista para armar el texto
-        for (int i = 0; i < listaPalabras.getTamano(); i++) {
-            sb.append("• ").append(listaPalabras.get(i)).append("\n");
+        for (ClaveNormalizada palabra : listaPalabras) {
+            sb.append("• ").append(palabra.getTexto()).append("\n");
         }
         
         return sb.toString();
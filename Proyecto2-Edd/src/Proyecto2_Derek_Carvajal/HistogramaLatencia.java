@@ -0,0 +1,129 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Histograma de latencias (en nanosegundos) al estilo HDR.
+ * Los valores menores que 32 tienen su propia casilla; a partir de ahí
+ * cada potencia de 2 se divide en 16 casillas iguales, así que el error
+ * relativo de cualquier percentil es menor al 7% y el arreglo tiene un
+ * tamaño fijo (960 casillas) sin importar cuán grandes sean los valores.
+ * Se puede registrar desde varios hilos a la vez.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class HistogramaLatencia {
+
+    private static final int BITS_SUBCASILLAS = 4;
+    private static final int SUBCASILLAS = 1 << BITS_SUBCASILLAS;   // 16 por potencia de 2
+    private static final int LINEALES = SUBCASILLAS * 2;           // 0..31 exactos
+    private static final int CASILLAS = LINEALES + (62 - 5 + 1) * SUBCASILLAS; // exponentes 5..62
+
+    private final AtomicLongArray conteos;
+    private final AtomicLong cantidad;
+    private final AtomicLong suma;
+    private final AtomicLong maximo;
+
+    public HistogramaLatencia() {
+        this.conteos = new AtomicLongArray(CASILLAS);
+        this.cantidad = new AtomicLong();
+        this.suma = new AtomicLong();
+        this.maximo = new AtomicLong();
+    }
+
+    /**
+     * Registra un valor. Los negativos se cuentan como 0.
+     *
+     * @param valor Duración en nanosegundos
+     */
+    public void registrar(long valor) {
+        if (valor < 0) valor = 0;
+        this.conteos.incrementAndGet(casilla(valor));
+        this.cantidad.incrementAndGet();
+        this.suma.addAndGet(valor);
+        this.maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    public long getCantidad() {
+        return this.cantidad.get();
+    }
+
+    public long getMaximo() {
+        return this.maximo.get();
+    }
+
+    public double getPromedio() {
+        long n = this.cantidad.get();
+        return (n == 0) ? 0 : (double) this.suma.get() / n;
+    }
+
+    /**
+     * Devuelve el valor por debajo del cual está el porcentaje pedido de
+     * las mediciones (el límite superior de la casilla correspondiente).
+     *
+     * @param percentil Entre 0 y 100
+     * @return El valor del percentil, o 0 si no hay mediciones
+     */
+    public long getPercentil(double percentil) {
+        long n = this.cantidad.get();
+        if (n == 0) return 0;
+        long objetivo = (long) Math.ceil(n * Math.min(100.0, Math.max(0.0, percentil)) / 100.0);
+        if (objetivo < 1) objetivo = 1;
+
+        long acumulado = 0;
+        for (int i = 0; i < CASILLAS; i++) {
+            acumulado += this.conteos.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    /**
+     * Borra todas las mediciones.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CASILLAS; i++) {
+            this.conteos.set(i, 0);
+        }
+        this.cantidad.set(0);
+        this.suma.set(0);
+        this.maximo.set(0);
+    }
+
+    // Casilla de un valor: exacta bajo 32, luego 16 por potencia de 2
+    private static int casilla(long valor) {
+        if (valor < LINEALES) return (int) valor;
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);        // >= 5
+        int mantisa = (int) (valor >>> (exponente - BITS_SUBCASILLAS)); // 16..31
+        return LINEALES + (exponente - 5) * SUBCASILLAS + (mantisa - SUBCASILLAS);
+    }
+
+    private static long limiteSuperior(int casilla) {
+        if (casilla < LINEALES) return casilla;
+        int exponente = (casilla - LINEALES) / SUBCASILLAS + 5;
+        long mantisa = (casilla - LINEALES) % SUBCASILLAS + SUBCASILLAS;
+        long limite = ((mantisa + 1) << (exponente - BITS_SUBCASILLAS)) - 1;
+        return (limite < 0) ? Long.MAX_VALUE : limite; // última casilla
+    }
+
+    /**
+     * Resumen en microsegundos: cantidad, promedio, p50, p90, p99, p99.9 y máximo.
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d prom=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                getCantidad(), getPromedio() / 1000.0,
+                getPercentil(50) / 1000.0, getPercentil(90) / 1000.0,
+                getPercentil(99) / 1000.0, getPercentil(99.9) / 1000.0,
+                getMaximo() / 1000.0);
+    }
+}
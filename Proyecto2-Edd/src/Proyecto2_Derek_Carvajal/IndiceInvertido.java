@@ -0,0 +1,435 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ * 
+ * * Índice invertido sobre el cuerpo de los resúmenes.
+ * Para cada término guarda su lista de apariciones ("postings") como pares
+ * (id de documento, frecuencia). Los ids se guardan como diferencias con el
+ * anterior, codificadas en bytes de longitud variable, así que la lista
+ * ocupa poco y se recorre en orden.
+ * Las búsquedas devuelven los k mejores resúmenes según BM25.
+ *
+ * Eliminar un documento no reescribe sus listas: se descuenta la
+ * frecuencia de documentos de cada término (así BM25 sigue siendo exacto),
+ * el documento queda como lápida (documentos[id] == null, las búsquedas lo
+ * saltan) y sus listas quedan pendientes. compactar() las reescribe más
+ * tarde sin los documentos eliminados.
+ */
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+public class IndiceInvertido implements Serializable {
+
+    // Parámetros estándar de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Lista de apariciones de un término, codificada en bytes.
+     */
+    private static class Postings implements Serializable {
+        byte[] datos = new byte[8];
+        int longitud;          // Bytes usados en 'datos'
+        int ultimoId = -1;     // Último id agregado (para calcular la diferencia)
+        int frecuenciaDocs;    // Número de documentos vivos que contienen el término
+        boolean pendiente;     // true si tiene documentos eliminados y está en 'pendientes'
+
+        void agregar(int id, int frecuencia) {
+            escribirVariable(id - (ultimoId < 0 ? 0 : ultimoId));
+            escribirVariable(frecuencia);
+            ultimoId = id;
+            frecuenciaDocs++;
+        }
+
+        private void escribirVariable(int valor) {
+            if (longitud + 5 > datos.length) {
+                byte[] nuevo = new byte[datos.length * 2];
+                System.arraycopy(datos, 0, nuevo, 0, longitud);
+                datos = nuevo;
+            }
+            // 7 bits por byte; el bit alto indica que sigue otro byte
+            while ((valor & ~0x7F) != 0) {
+                datos[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            datos[longitud++] = (byte) valor;
+        }
+
+        /**
+         * Reconstruye la lista dejando solo los documentos que siguen
+         * indexados (documentos[id] != null).
+         */
+        void compactar(Resumen[] documentos) {
+            Postings nueva = new Postings();
+            Lector lector = new Lector(this);
+            while (lector.avanzar()) {
+                if (documentos[lector.id] != null) {
+                    nueva.agregar(lector.id, lector.frecuencia);
+                }
+            }
+            this.datos = nueva.datos;
+            this.longitud = nueva.longitud;
+            this.ultimoId = nueva.ultimoId;
+            this.frecuenciaDocs = nueva.frecuenciaDocs;
+            this.pendiente = false;
+        }
+    }
+
+    /**
+     * Cursor que decodifica una lista de apariciones en orden de id.
+     */
+    private static class Lector {
+        private final Postings postings;
+        private int posicion;
+        int id;
+        int frecuencia;
+
+        Lector(Postings postings) {
+            this.postings = postings;
+            this.id = 0;
+        }
+
+        boolean avanzar() {
+            if (posicion >= postings.longitud) {
+                return false;
+            }
+            id += leerVariable();
+            frecuencia = leerVariable();
+            return true;
+        }
+
+        private int leerVariable() {
+            int valor = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                b = postings.datos[posicion++];
+                valor |= (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while ((b & 0x80) != 0);
+            return valor;
+        }
+    }
+
+    /**
+     * Puntajes de una búsqueda, solo de los documentos que aparecieron:
+     * una tabla de direccionamiento abierto id -> posición, y los ids y
+     * puntajes en arreglos compactos. Ocupa O(documentos tocados) y no
+     * O(todos los ids asignados).
+     */
+    private static class Acumulador {
+        int[] ranuras = new int[32];  // Posición + 1 de cada id (0 = vacía)
+        int[] ids = new int[16];
+        double[] puntajes = new double[16];
+        int cantidad;
+
+        void sumar(int id, double puntaje) {
+            int mascara = this.ranuras.length - 1;
+            int i = (id * 0x9E3779B9) >>> 1 & mascara;
+            while (this.ranuras[i] != 0) {
+                int posicion = this.ranuras[i] - 1;
+                if (this.ids[posicion] == id) {
+                    this.puntajes[posicion] += puntaje;
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            if (this.cantidad == this.ids.length) {
+                this.ids = java.util.Arrays.copyOf(this.ids, this.cantidad * 2);
+                this.puntajes = java.util.Arrays.copyOf(this.puntajes, this.cantidad * 2);
+            }
+            this.ids[this.cantidad] = id;
+            this.puntajes[this.cantidad] = puntaje;
+            this.ranuras[i] = ++this.cantidad;
+            if (this.cantidad * 2 > this.ranuras.length) {
+                redimensionar();
+            }
+        }
+
+        // Duplica la tabla (factor de carga <= 1/2) y reubica las posiciones
+        private void redimensionar() {
+            this.ranuras = new int[this.ranuras.length * 2];
+            int mascara = this.ranuras.length - 1;
+            for (int posicion = 0; posicion < this.cantidad; posicion++) {
+                int i = (this.ids[posicion] * 0x9E3779B9) >>> 1 & mascara;
+                while (this.ranuras[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                this.ranuras[i] = posicion + 1;
+            }
+        }
+    }
+
+    private TablaHash<String, Postings> terminos;
+    private Resumen[] documentos;   // Documento por id (null si no está indexado)
+    private int[] longitudes;       // Número de términos de cada documento
+    private int totalDocumentos;
+    private long sumaLongitudes;
+    private ListaSimple<Postings> pendientes; // Listas con documentos eliminados
+
+    /**
+     * Constructor del índice vacío.
+     */
+    public IndiceInvertido() {
+        this.terminos = new TablaHash<>(1009);
+        this.documentos = new Resumen[64];
+        this.longitudes = new int[64];
+        this.totalDocumentos = 0;
+        this.sumaLongitudes = 0;
+        this.pendientes = new ListaSimple<>();
+    }
+
+    /**
+     * Separa un texto en términos: secuencias de letras o dígitos de al
+     * menos 2 caracteres, normalizadas como las demás claves del gestor
+     * (ClaveNormalizada: sin mayúsculas ni tildes).
+     *
+     * @param texto El texto a separar.
+     * @return Una ListaSimple con los términos en el orden del texto.
+     */
+    public static ListaSimple<String> tokenizar(String texto) {
+        ListaSimple<String> tokens = new ListaSimple<>();
+        if (texto == null) return tokens;
+        texto = ClaveNormalizada.normalizar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= texto.length(); i++) {
+            boolean esParte = i < texto.length() && Character.isLetterOrDigit(texto.charAt(i));
+            if (esParte && inicio < 0) {
+                inicio = i;
+            } else if (!esParte && inicio >= 0) {
+                if (i - inicio >= 2) {
+                    tokens.agregar(texto.substring(inicio, i));
+                }
+                inicio = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexa el cuerpo de un resumen. Los ids deben llegar en orden creciente
+     * (GestorInvestigaciones los asigna así), para que las listas de
+     * apariciones se mantengan ordenadas agregando al final.
+     *
+     * @param resumen El resumen, con su id ya asignado.
+     */
+    public void agregarDocumento(Resumen resumen) {
+        int id = resumen.getId();
+        asegurarCapacidad(id);
+
+        // Frecuencia de cada término dentro de este documento
+        TablaHash<String, int[]> frecuencias = new TablaHash<>(64);
+        ListaSimple<String> orden = new ListaSimple<>();
+        int longitud = 0;
+        for (String token : tokenizar(resumen.getCuerpoResumen())) {
+            int[] contador = frecuencias.buscar(token);
+            if (contador == null) {
+                frecuencias.insertar(token, new int[] {1});
+                orden.agregar(token);
+            } else {
+                contador[0]++;
+            }
+            longitud++;
+        }
+
+        for (String termino : orden) {
+            Postings postings = this.terminos.buscar(termino);
+            if (postings == null) {
+                postings = new Postings();
+                this.terminos.insertar(termino, postings);
+            }
+            postings.agregar(id, frecuencias.buscar(termino)[0]);
+        }
+
+        this.documentos[id] = resumen;
+        this.longitudes[id] = longitud;
+        this.totalDocumentos++;
+        this.sumaLongitudes += longitud;
+    }
+
+    /**
+     * Quita un resumen del índice. El costo depende solo del largo del
+     * resumen: las listas de sus términos se compactan después.
+     *
+     * @param resumen El resumen a quitar.
+     */
+    public void eliminarDocumento(Resumen resumen) {
+        int id = resumen.getId();
+        if (id < 0 || id >= this.documentos.length || this.documentos[id] == null) {
+            return;
+        }
+        TablaHash<String, Boolean> vistos = new TablaHash<>(64);
+        for (String termino : tokenizar(resumen.getCuerpoResumen())) {
+            if (!vistos.insertar(termino, Boolean.TRUE)) continue; // término repetido
+            Postings postings = this.terminos.buscar(termino);
+            if (postings == null) continue;
+            postings.frecuenciaDocs--;
+            if (postings.frecuenciaDocs == 0) {
+                // Ya no lo usa ningún documento vivo: se quita entero
+                this.terminos.eliminar(termino);
+            } else if (!postings.pendiente) {
+                postings.pendiente = true;
+                this.pendientes.agregar(postings);
+            }
+        }
+        this.totalDocumentos--;
+        this.sumaLongitudes -= this.longitudes[id];
+        this.documentos[id] = null;
+        this.longitudes[id] = 0;
+    }
+
+    /**
+     * Reescribe sin los documentos eliminados hasta 'maximo' listas
+     * pendientes (las más antiguas primero).
+     *
+     * @param maximo Cantidad máxima de listas a reescribir en esta llamada
+     * @return Cantidad de listas que siguen pendientes
+     */
+    public int compactar(int maximo) {
+        Iterator<Postings> iterador = this.pendientes.iterator();
+        int hechas = 0;
+        while (hechas < maximo && iterador.hasNext()) {
+            Postings postings = iterador.next();
+            iterador.remove();
+            postings.compactar(this.documentos);
+            hechas++;
+        }
+        return this.pendientes.getTamano();
+    }
+
+    /**
+     * @return Cantidad de listas que tienen documentos eliminados
+     */
+    public int getPendientes() {
+        return this.pendientes.getTamano();
+    }
+
+    private void asegurarCapacidad(int id) {
+        if (id >= this.documentos.length) {
+            int nuevaCapacidad = Math.max(this.documentos.length * 2, id + 1);
+            Resumen[] nuevosDocs = new Resumen[nuevaCapacidad];
+            int[] nuevasLongitudes = new int[nuevaCapacidad];
+            System.arraycopy(this.documentos, 0, nuevosDocs, 0, this.documentos.length);
+            System.arraycopy(this.longitudes, 0, nuevasLongitudes, 0, this.longitudes.length);
+            this.documentos = nuevosDocs;
+            this.longitudes = nuevasLongitudes;
+        }
+    }
+
+    /**
+     * Busca los k resúmenes más relevantes para una consulta de texto libre,
+     * ordenados por puntaje BM25 de mayor a menor.
+     *
+     * @param consulta Las palabras a buscar.
+     * @param k Número máximo de resultados.
+     * @return Una ListaSimple con hasta k resúmenes.
+     */
+    public ListaSimple<Resumen> buscar(String consulta, int k) {
+        ListaSimple<Resumen> resultado = new ListaSimple<>();
+        if (k <= 0 || this.totalDocumentos == 0) return resultado;
+
+        Acumulador acumulador = new Acumulador();
+        double longitudPromedio = (double) this.sumaLongitudes / this.totalDocumentos;
+
+        TablaHash<String, Boolean> vistos = new TablaHash<>(16);
+        for (String termino : tokenizar(consulta)) {
+            if (!vistos.insertar(termino, Boolean.TRUE)) continue; // término repetido
+            Postings postings = this.terminos.buscar(termino);
+            if (postings == null) continue;
+
+            int df = postings.frecuenciaDocs;
+            double idf = Math.log(1 + (this.totalDocumentos - df + 0.5) / (df + 0.5));
+            Lector lector = new Lector(postings);
+            while (lector.avanzar()) {
+                int id = lector.id;
+                if (this.documentos[id] == null) continue; // Documento eliminado
+                double tf = lector.frecuencia;
+                double norma = K1 * (1 - B + B * this.longitudes[id] / longitudPromedio);
+                acumulador.sumar(id, idf * tf * (K1 + 1) / (tf + norma));
+            }
+        }
+
+        // Montículo de mínimos con los k mejores (guarda posiciones del acumulador)
+        double[] puntajes = acumulador.puntajes;
+        int[] monticulo = new int[Math.min(k, Math.max(acumulador.cantidad, 1))];
+        int tamanoMonticulo = 0;
+        for (int posicion = 0; posicion < acumulador.cantidad; posicion++) {
+            if (tamanoMonticulo < monticulo.length) {
+                monticulo[tamanoMonticulo] = posicion;
+                subir(monticulo, tamanoMonticulo++, puntajes);
+            } else if (puntajes[posicion] > puntajes[monticulo[0]]) {
+                monticulo[0] = posicion;
+                bajar(monticulo, tamanoMonticulo, puntajes);
+            }
+        }
+
+        // Se extraen de menor a mayor y se invierten
+        Resumen[] ordenados = new Resumen[tamanoMonticulo];
+        for (int i = tamanoMonticulo - 1; i >= 0; i--) {
+            ordenados[i] = this.documentos[acumulador.ids[monticulo[0]]];
+            monticulo[0] = monticulo[--tamanoMonticulo];
+            bajar(monticulo, tamanoMonticulo, puntajes);
+        }
+        for (Resumen r : ordenados) {
+            resultado.agregar(r);
+        }
+        return resultado;
+    }
+
+    private static void subir(int[] monticulo, int i, double[] puntajes) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (puntajes[monticulo[i]] >= puntajes[monticulo[padre]]) break;
+            int temp = monticulo[i];
+            monticulo[i] = monticulo[padre];
+            monticulo[padre] = temp;
+            i = padre;
+        }
+    }
+
+    private static void bajar(int[] monticulo, int tamano, double[] puntajes) {
+        int i = 0;
+        while (true) {
+            int menor = i;
+            int izq = 2 * i + 1;
+            int der = izq + 1;
+            if (izq < tamano && puntajes[monticulo[izq]] < puntajes[monticulo[menor]]) menor = izq;
+            if (der < tamano && puntajes[monticulo[der]] < puntajes[monticulo[menor]]) menor = der;
+            if (menor == i) break;
+            int temp = monticulo[i];
+            monticulo[i] = monticulo[menor];
+            monticulo[menor] = temp;
+            i = menor;
+        }
+    }
+
+    /**
+     * @return El documento con ese id, o null si no está indexado
+     */
+    Resumen getDocumento(int id) {
+        return (id >= 0 && id < this.documentos.length) ? this.documentos[id] : null;
+    }
+
+    /**
+     * Devuelve el número de documentos indexados.
+     * @return El número de documentos.
+     */
+    public int getTotalDocumentos() {
+        return this.totalDocumentos;
+    }
+
+    /**
+     * Devuelve el número de términos distintos del índice.
+     * @return El número de términos.
+     */
+    public int getTotalTerminos() {
+        return this.terminos.getTamanoActual();
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Índice de prefijos para autocompletar nombres de autores o palabras
+ * clave. Es un trie comprimido (cada arista lleva un tramo de texto, no
+ * una sola letra) sobre la forma normalizada de cada símbolo de una
+ * TablaSimbolos, así que "comp" encuentra "Computación".
+ *
+ * Cada nodo guarda los ids de los K símbolos de su subárbol con más
+ * resúmenes, así que sugerir() cuesta O(largo del prefijo + K).
+ *
+ * Los conteos cambian con sumar(), que solo marca como "sucios" los nodos
+ * del camino a la raíz; actualizar() recalcula esos nodos de abajo hacia
+ * arriba, cada uno una sola vez. Al cargar un lote se llama a actualizar()
+ * una sola vez al final.
+ *
+ * Un símbolo con cero resúmenes queda en el trie pero no se sugiere.
+ */
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class IndicePrefijos implements Serializable {
+
+    private static class Nodo implements Serializable {
+        String etiqueta;          // Tramo de texto de la arista que llega a este nodo
+        Nodo padre;
+        char[] primeros = new char[0]; // Primera letra de la etiqueta de cada hijo (ordenadas)
+        Nodo[] hijos = new Nodo[0];
+        int simbolo = -1;         // Id del símbolo que termina aquí (-1 si ninguno)
+        int[] mejores = new int[0]; // Los de más resúmenes del subárbol, de mayor a menor
+        boolean sucio;
+
+        Nodo(String etiqueta, Nodo padre) {
+            this.etiqueta = etiqueta;
+            this.padre = padre;
+        }
+
+        int buscarHijo(char c) {
+            return Arrays.binarySearch(this.primeros, c);
+        }
+
+        void ponerHijo(Nodo hijo) {
+            char c = hijo.etiqueta.charAt(0);
+            int pos = buscarHijo(c);
+            if (pos >= 0) {
+                this.hijos[pos] = hijo;
+                return;
+            }
+            pos = -pos - 1;
+            int n = this.hijos.length;
+            char[] nuevosPrimeros = new char[n + 1];
+            Nodo[] nuevosHijos = new Nodo[n + 1];
+            System.arraycopy(this.primeros, 0, nuevosPrimeros, 0, pos);
+            System.arraycopy(this.hijos, 0, nuevosHijos, 0, pos);
+            nuevosPrimeros[pos] = c;
+            nuevosHijos[pos] = hijo;
+            System.arraycopy(this.primeros, pos, nuevosPrimeros, pos + 1, n - pos);
+            System.arraycopy(this.hijos, pos, nuevosHijos, pos + 1, n - pos);
+            this.primeros = nuevosPrimeros;
+            this.hijos = nuevosHijos;
+            hijo.padre = this;
+        }
+    }
+
+    private final TablaSimbolos simbolos;
+    private final int k;                // Sugerencias guardadas por nodo
+    private final Nodo raiz;
+    private Nodo[] nodoDeSimbolo;       // Id de símbolo -> nodo donde termina
+    private int[] conteos;              // Id de símbolo -> resúmenes que lo usan
+    private ListaSimple<Nodo> sucios;   // Nodos por recalcular (en cualquier orden)
+
+    /**
+     * @param simbolos La tabla de donde salen los ids y los textos
+     * @param k Cantidad máxima de sugerencias por prefijo
+     */
+    public IndicePrefijos(TablaSimbolos simbolos, int k) {
+        this.simbolos = simbolos;
+        this.k = k;
+        this.raiz = new Nodo("", null);
+        this.nodoDeSimbolo = new Nodo[64];
+        this.conteos = new int[64];
+        this.sucios = new ListaSimple<>();
+    }
+
+    /**
+     * Suma 'delta' resúmenes al conteo de un símbolo (lo agrega al trie si
+     * es la primera vez). Los cambios se ven después de actualizar().
+     */
+    public void sumar(int id, int delta) {
+        if (id >= this.conteos.length) {
+            int capacidad = Math.max(this.conteos.length * 2, id + 1);
+            this.conteos = Arrays.copyOf(this.conteos, capacidad);
+            this.nodoDeSimbolo = Arrays.copyOf(this.nodoDeSimbolo, capacidad);
+        }
+        if (this.nodoDeSimbolo[id] == null) {
+            this.nodoDeSimbolo[id] = insertar(this.simbolos.getClave(id).getClave(), id);
+        }
+        this.conteos[id] += delta;
+        marcarSucio(this.nodoDeSimbolo[id]);
+    }
+
+    /**
+     * @return Cantidad de resúmenes que usan el símbolo
+     */
+    public int getConteo(int id) {
+        return (id < this.conteos.length) ? this.conteos[id] : 0;
+    }
+
+    // Marca el nodo y sus ancestros; se detiene en el primero ya marcado
+    private void marcarSucio(Nodo nodo) {
+        while (nodo != null && !nodo.sucio) {
+            nodo.sucio = true;
+            this.sucios.agregar(nodo);
+            nodo = nodo.padre;
+        }
+    }
+
+    /**
+     * Inserta la clave en el trie, partiendo una arista si hace falta.
+     *
+     * @return El nodo donde termina la clave
+     */
+    private Nodo insertar(String clave, int id) {
+        Nodo actual = this.raiz;
+        int i = 0;
+        while (i < clave.length()) {
+            int pos = actual.buscarHijo(clave.charAt(i));
+            if (pos < 0) {
+                // No hay arista con esa letra: una hoja nueva con el resto
+                Nodo hoja = new Nodo(clave.substring(i), actual);
+                actual.ponerHijo(hoja);
+                actual = hoja;
+                i = clave.length();
+                break;
+            }
+            Nodo hijo = actual.hijos[pos];
+            String etiqueta = hijo.etiqueta;
+            int comun = 1;
+            while (comun < etiqueta.length() && i + comun < clave.length()
+                    && etiqueta.charAt(comun) == clave.charAt(i + comun)) {
+                comun++;
+            }
+            if (comun < etiqueta.length()) {
+                // Partir la arista: actual -> intermedio -> hijo
+                Nodo intermedio = new Nodo(etiqueta.substring(0, comun), actual);
+                intermedio.mejores = hijo.mejores;
+                hijo.etiqueta = etiqueta.substring(comun);
+                actual.ponerHijo(intermedio);
+                intermedio.ponerHijo(hijo);
+                intermedio.sucio = hijo.sucio;
+                if (intermedio.sucio) this.sucios.agregar(intermedio);
+            }
+            actual = actual.hijos[actual.buscarHijo(clave.charAt(i))];
+            i += comun;
+        }
+        actual.simbolo = id;
+        return actual;
+    }
+
+    /**
+     * Recalcula las sugerencias de los nodos marcados por sumar().
+     */
+    public void actualizar() {
+        if (this.sucios.getTamano() == 0) return;
+        for (Nodo nodo : this.sucios) {
+            recalcular(nodo);
+        }
+        this.sucios = new ListaSimple<>();
+    }
+
+    // Recalcula primero los hijos sucios (de abajo hacia arriba)
+    private void recalcular(Nodo nodo) {
+        if (!nodo.sucio) return;
+        for (Nodo hijo : nodo.hijos) {
+            recalcular(hijo);
+        }
+
+        int[] mejores = new int[this.k];
+        int cantidad = 0;
+        if (nodo.simbolo >= 0 && this.conteos[nodo.simbolo] > 0) {
+            mejores[cantidad++] = nodo.simbolo;
+        }
+        for (Nodo hijo : nodo.hijos) {
+            for (int id : hijo.mejores) {
+                // Las listas de los hijos vienen ordenadas: si este no entra, los siguientes tampoco
+                if (cantidad == this.k && !esMejor(id, mejores[cantidad - 1])) break;
+                cantidad = insertarOrdenado(mejores, cantidad, id);
+            }
+        }
+        nodo.mejores = Arrays.copyOf(mejores, cantidad);
+        nodo.sucio = false;
+    }
+
+    // Inserta 'id' en su lugar de un arreglo ordenado de mayor a menor,
+    // descartando el último si ya estaba lleno
+    private int insertarOrdenado(int[] mejores, int cantidad, int id) {
+        int pos = Math.min(cantidad, mejores.length - 1);
+        if (cantidad == mejores.length && !esMejor(id, mejores[pos])) return cantidad;
+        while (pos > 0 && esMejor(id, mejores[pos - 1])) {
+            mejores[pos] = mejores[pos - 1];
+            pos--;
+        }
+        mejores[pos] = id;
+        return Math.min(cantidad + 1, mejores.length);
+    }
+
+    // Más resúmenes primero; a igual cantidad, en orden alfabético
+    private boolean esMejor(int a, int b) {
+        if (this.conteos[a] != this.conteos[b]) {
+            return this.conteos[a] > this.conteos[b];
+        }
+        return this.simbolos.getClave(a).compareTo(this.simbolos.getClave(b)) < 0;
+    }
+
+    /**
+     * Sugiere los símbolos que empiezan con el prefijo (sin importar tildes
+     * ni mayúsculas), los de más resúmenes primero.
+     *
+     * @param prefijo Lo que el usuario lleva escrito
+     * @param cantidad Máximo de sugerencias (a lo sumo K)
+     * @return Los textos sugeridos
+     */
+    public ListaSimple<String> sugerir(String prefijo, int cantidad) {
+        ListaSimple<String> sugerencias = new ListaSimple<>();
+        Nodo nodo = buscarNodo(ClaveNormalizada.normalizar(prefijo));
+        if (nodo == null) return sugerencias;
+        for (int i = 0; i < nodo.mejores.length && i < cantidad; i++) {
+            sugerencias.agregar(this.simbolos.getTexto(nodo.mejores[i]));
+        }
+        return sugerencias;
+    }
+
+    // Nodo cuyo subárbol tiene todas las claves que empiezan con 'prefijo'
+    private Nodo buscarNodo(String prefijo) {
+        Nodo actual = this.raiz;
+        int i = 0;
+        while (i < prefijo.length()) {
+            int pos = actual.buscarHijo(prefijo.charAt(i));
+            if (pos < 0) return null;
+            Nodo hijo = actual.hijos[pos];
+            int largo = Math.min(hijo.etiqueta.length(), prefijo.length() - i);
+            if (!hijo.etiqueta.regionMatches(0, prefijo, i, largo)) return null;
+            actual = hijo;
+            i += largo;
+        }
+        return actual;
+    }
+}
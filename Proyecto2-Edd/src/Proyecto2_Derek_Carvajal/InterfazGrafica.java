@@ -11,17 +11,310 @@ package Proyecto2_Derek_Carvajal;
 public class InterfazGrafica extends javax.swing.JFrame {
     
     private GestorInvestigaciones gestor;
+
+    // Operación en segundo plano más reciente (null si nunca se lanzó ninguna)
+    private TareaResultados<?> tareaActual;
+
+    // Líneas que se acumulan antes de publicarlas en el área de resultados
+    private static final int LINEAS_POR_BLOQUE = 200;
     
     private static final java.util.logging.Logger logger = java.util.logging.Logger.getLogger(InterfazGrafica.class.getName());
 
     public InterfazGrafica() {
         initComponents();
-        this.gestor = new GestorInvestigaciones();
         this.setLocationRelativeTo(null);
-        this.gestor = GestorInvestigaciones.cargarDatos();
+
+        // Carga la última instantánea y reaplica el registro de cambios
+        // sin bloquear la ventana; los botones se activan al terminar
+        txtAreaResultados.setText("Cargando datos...\n");
+        iniciarTarea("Cargando datos", new TareaResultados<GestorInvestigaciones>() {
+            @Override
+            protected GestorInvestigaciones doInBackground() {
+                try {
+                    return GestorInvestigaciones.cargarDatosConRegistro();
+                } catch (RuntimeException e) {
+                    // Sin un gestor todos los botones fallarían
+                    logger.log(java.util.logging.Level.SEVERE, "Error al cargar los datos", e);
+                    return GestorInvestigaciones.gestorDeRespaldo(e);
+                }
+            }
+
+            @Override
+            protected boolean esCancelable() {
+                // Sin datos cargados no hay nada que hacer en la ventana
+                return false;
+            }
+
+            @Override
+            protected void terminar(GestorInvestigaciones cargado) {
+                gestor = cargado;
+                txtAreaResultados.setText("");
+                if (cargado.getAvisoCarga() != null) {
+                    txtAreaResultados.setText(cargado.getAvisoCarga() + "\n");
+                    javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this, cargado.getAvisoCarga(),
+                            "Error al cargar los datos", javax.swing.JOptionPane.WARNING_MESSAGE);
+                }
+            }
+        });
+    }
+
+    /**
+     * Operación que corre fuera del hilo de eventos (EDT) y va agregando su
+     * salida al área de resultados por bloques de LINEAS_POR_BLOQUE líneas.
+     * Desde doInBackground() se usa publicar() para el texto y setProgress()
+     * para la barra; terminar() recibe el resultado ya en el EDT.
+     *
+     * La cancelación es cooperativa (cancel(false)): los recorridos revisan
+     * isCancelled() entre elemento y elemento, así nunca se interrumpe una
+     * escritura a medias en el gestor.
+     */
+    private abstract class TareaResultados<T> extends javax.swing.SwingWorker<T, String> {
+
+        private final StringBuilder bloque = new StringBuilder();
+        private int lineasEnBloque;
+
+        /**
+         * Agrega una línea (o varias, separadas por \n) a la salida.
+         */
+        protected void publicar(String texto) {
+            this.bloque.append(texto).append('\n');
+            if (++this.lineasEnBloque >= LINEAS_POR_BLOQUE) {
+                vaciar();
+            }
+        }
+
+        /**
+         * Publica lo que quede acumulado. Se llama al final de doInBackground().
+         */
+        protected void vaciar() {
+            if (this.bloque.length() > 0) {
+                publish(this.bloque.toString());
+                this.bloque.setLength(0);
+                this.lineasEnBloque = 0;
+            }
+        }
+
+        /**
+         * Publica un elemento por línea (según 'formato') y avanza la barra
+         * de progreso; se detiene si la tarea se cancela.
+         */
+        protected <E> void publicarTodos(ListaSimple<E> elementos, java.util.function.Function<E, String> formato) {
+            int total = elementos.getTamano();
+            int hechos = 0;
+            for (E elemento : elementos) {
+                if (isCancelled()) return;
+                publicar(formato.apply(elemento));
+                setProgress(++hechos * 100 / total);
+            }
+        }
+
+        @Override
+        protected void process(java.util.List<String> bloques) {
+            // Los bloques de una tarea cancelada o ya reemplazada se descartan
+            if (isCancelled() || tareaActual != this) return;
+            for (String texto : bloques) {
+                txtAreaResultados.append(texto);
+            }
+        }
+
+        @Override
+        protected final void done() {
+            finalizarTarea();
+            if (isCancelled()) {
+                txtAreaResultados.append("\n[Operación cancelada]\n");
+                return;
+            }
+            try {
+                terminar(get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (java.util.concurrent.ExecutionException e) {
+                logger.log(java.util.logging.Level.SEVERE, null, e.getCause());
+                javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this, "Error: " + e.getCause().getMessage());
+            }
+        }
+
+        /**
+         * Se ejecuta en el EDT con el resultado de doInBackground(), solo
+         * si la tarea no fue cancelada.
+         */
+        protected void terminar(T resultado) {
+        }
+
+        protected boolean esCancelable() {
+            return true;
+        }
+    }
+
+    /**
+     * Lanza una tarea en segundo plano: desactiva los botones, activa
+     * Cancelar y conecta la barra de progreso. La barra queda
+     * indeterminada hasta que la tarea informe su primer avance.
+     */
+    private void iniciarTarea(String descripcion, TareaResultados<?> tarea) {
+        this.tareaActual = tarea;
+        habilitarBotones(false);
+        btnCancelar.setEnabled(tarea.esCancelable());
+        // Mientras llegan resultados la vista se queda arriba, como cuando
+        // se mostraban de una sola vez
+        ((javax.swing.text.DefaultCaret) txtAreaResultados.getCaret())
+                .setUpdatePolicy(javax.swing.text.DefaultCaret.NEVER_UPDATE);
+        barraProgreso.setValue(0);
+        barraProgreso.setString(descripcion + "...");
+        barraProgreso.setIndeterminate(true);
+        this.setCursor(java.awt.Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
+
+        tarea.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName()) && tarea == this.tareaActual) {
+                int avance = (Integer) evt.getNewValue();
+                barraProgreso.setIndeterminate(false);
+                barraProgreso.setValue(avance);
+                barraProgreso.setString(descripcion + " " + avance + "%");
+            }
+        });
+        tarea.execute();
+    }
+
+    // Devuelve la ventana a su estado normal al terminar una tarea
+    private void finalizarTarea() {
+        habilitarBotones(true);
+        btnCancelar.setEnabled(false);
+        barraProgreso.setIndeterminate(false);
+        barraProgreso.setValue(0);
+        barraProgreso.setString("");
+        ((javax.swing.text.DefaultCaret) txtAreaResultados.getCaret())
+                .setUpdatePolicy(javax.swing.text.DefaultCaret.UPDATE_WHEN_ON_EDT);
+        this.setCursor(java.awt.Cursor.getDefaultCursor());
+    }
+
+    private boolean hayTareaEnCurso() {
+        return this.tareaActual != null && !this.tareaActual.isDone();
+    }
+
+    private void habilitarBotones(boolean habilitar) {
+        btnCargar.setEnabled(habilitar);
+        btnAnalizar.setEnabled(habilitar);
+        bntBuscarAutor.setEnabled(habilitar);
+        btnBuscarPalabraClave.setEnabled(habilitar);
+        btnListar.setEnabled(habilitar);
+        btnEliminar.setEnabled(habilitar);
+    }
+
+    /**
+     * Arma en segundo plano el arreglo de títulos (en orden alfabético) y
+     * luego, ya en el EDT, le pide al usuario que elija uno.
+     *
+     * @param mensaje Texto del diálogo de selección
+     * @param tituloVentana Título del diálogo
+     * @param tipoMensaje Tipo de mensaje de JOptionPane
+     * @param siVacio Mensaje a mostrar si no hay resúmenes
+     * @param alElegir Acción con el título elegido (no se llama si se cancela)
+     */
+    private void elegirTitulo(String mensaje, String tituloVentana, int tipoMensaje,
+                              String siVacio, java.util.function.Consumer<String> alElegir) {
+        iniciarTarea("Leyendo títulos", new TareaResultados<String[]>() {
+            @Override
+            protected String[] doInBackground() {
+                ListaSimple<String> titulos = gestor.getTitulosOrdenados();
+                String[] opciones = new String[titulos.getTamano()];
+                int pos = 0;
+                for (String t : titulos) {
+                    if (isCancelled()) return null;
+                    opciones[pos++] = t;
+                }
+                return opciones;
+            }
+
+            @Override
+            protected void terminar(String[] opciones) {
+                if (opciones.length == 0) {
+                    javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this, siVacio);
+                    return;
+                }
+                String seleccionado = (String) javax.swing.JOptionPane.showInputDialog(
+                    InterfazGrafica.this, mensaje, tituloVentana,
+                    tipoMensaje, null, opciones, opciones[0]);
+                if (seleccionado != null) {
+                    alElegir.accept(seleccionado);
+                }
+            }
+        });
     }
 
  
+    // Avisa en los resultados cuando se buscó otro texto que el escrito
+    private static void avisarCorreccion(TareaResultados<?> tarea, String escrito, String usado) {
+        if (usado != null && !new ClaveNormalizada(escrito).equals(new ClaveNormalizada(usado))) {
+            tarea.publicar("No se encontró \"" + escrito + "\"; se muestran los resultados de \"" + usado + "\".\n");
+        }
+    }
+
+    /**
+     * Pide un texto mostrando, mientras se escribe, las sugerencias del
+     * gestor (autores o palabras clave que empiezan con lo escrito).
+     * Elegir una sugerencia la copia al campo; Aceptar usa el texto del
+     * campo.
+     *
+     * @param mensaje Texto del diálogo
+     * @param sugerir Función (prefijo, cantidad) -> sugerencias
+     * @return El texto ingresado, o null si se cancela
+     */
+    private String pedirConSugerencias(String mensaje,
+                                       java.util.function.BiFunction<String, Integer, ListaSimple<String>> sugerir) {
+        javax.swing.JTextField campo = new javax.swing.JTextField(25);
+        javax.swing.DefaultListModel<String> modelo = new javax.swing.DefaultListModel<>();
+        javax.swing.JList<String> lista = new javax.swing.JList<>(modelo);
+        lista.setVisibleRowCount(8);
+        lista.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+
+        // Cada tecla consulta el índice de prefijos: O(largo del prefijo + k)
+        Runnable refrescar = () -> {
+            modelo.clear();
+            for (String sugerencia : sugerir.apply(campo.getText(), GestorInvestigaciones.MAX_SUGERENCIAS)) {
+                modelo.addElement(sugerencia);
+            }
+        };
+        campo.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { refrescar.run(); }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { refrescar.run(); }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { }
+        });
+        lista.addListSelectionListener(e -> {
+            // No se puede cambiar el documento mientras se notifica un cambio suyo
+            String elegido = lista.getSelectedValue();
+            if (!e.getValueIsAdjusting() && elegido != null) {
+                javax.swing.SwingUtilities.invokeLater(() -> campo.setText(elegido));
+            }
+        });
+        refrescar.run();
+
+        javax.swing.JPanel panel = new javax.swing.JPanel(new java.awt.BorderLayout(0, 5));
+        panel.add(new javax.swing.JLabel(mensaje), java.awt.BorderLayout.NORTH);
+        panel.add(campo, java.awt.BorderLayout.CENTER);
+        panel.add(new javax.swing.JScrollPane(lista), java.awt.BorderLayout.SOUTH);
+
+        // El foco empieza en el campo de texto
+        campo.addAncestorListener(new javax.swing.event.AncestorListener() {
+            @Override
+            public void ancestorAdded(javax.swing.event.AncestorEvent e) { campo.requestFocusInWindow(); }
+
+            @Override
+            public void ancestorRemoved(javax.swing.event.AncestorEvent e) { }
+
+            @Override
+            public void ancestorMoved(javax.swing.event.AncestorEvent e) { }
+        });
+
+        int opcion = javax.swing.JOptionPane.showConfirmDialog(this, panel, "Buscar",
+                javax.swing.JOptionPane.OK_CANCEL_OPTION, javax.swing.JOptionPane.QUESTION_MESSAGE);
+        return (opcion == javax.swing.JOptionPane.OK_OPTION) ? campo.getText().strip() : null;
+    }
+
     @SuppressWarnings("unchecked")
     // <editor-fold defaultstate="collapsed" desc="Generated Code">//GEN-BEGIN:initComponents
     private void initComponents() {
@@ -34,6 +327,8 @@ public class InterfazGrafica extends javax.swing.JFrame {
         btnListar = new javax.swing.JButton();
         btnEliminar = new javax.swing.JButton();
         btnSalir = new javax.swing.JButton();
+        barraProgreso = new javax.swing.JProgressBar();
+        btnCancelar = new javax.swing.JButton();
         jScrollPane1 = new javax.swing.JScrollPane();
         txtAreaResultados = new javax.swing.JTextArea();
 
@@ -100,6 +395,18 @@ public class InterfazGrafica extends javax.swing.JFrame {
         });
         jPanel1.add(btnSalir, new org.netbeans.lib.awtextra.AbsoluteConstraints(40, 270, -1, -1));
 
+        barraProgreso.setStringPainted(true);
+        jPanel1.add(barraProgreso, new org.netbeans.lib.awtextra.AbsoluteConstraints(40, 330, 240, -1));
+
+        btnCancelar.setText("Cancelar");
+        btnCancelar.setEnabled(false);
+        btnCancelar.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                btnCancelarActionPerformed(evt);
+            }
+        });
+        jPanel1.add(btnCancelar, new org.netbeans.lib.awtextra.AbsoluteConstraints(40, 360, -1, -1));
+
         txtAreaResultados.setColumns(20);
         txtAreaResultados.setRows(5);
         jScrollPane1.setViewportView(txtAreaResultados);
@@ -125,211 +432,237 @@ public class InterfazGrafica extends javax.swing.JFrame {
     private void btnCargarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnCargarActionPerformed
         // TODO add your handling code here:
         javax.swing.JFileChooser fileChooser = new javax.swing.JFileChooser();
+        fileChooser.setMultiSelectionEnabled(true);
     int seleccion = fileChooser.showOpenDialog(this);
 
     if (seleccion == javax.swing.JFileChooser.APPROVE_OPTION) {
-        java.io.File archivo = fileChooser.getSelectedFile();
-        try {
-            // Lógica de lectura del archivo 
-            java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(archivo));
-            String linea;
-            String titulo = "";
-            ListaSimple<String> autores = new ListaSimple<>();
-            String cuerpo = "";
-            ListaSimple<String> palabrasClave = new ListaSimple<>();
-            
-            // Banderas para saber qué parte estamos leyendo
-            boolean leyendoAutores = false;
-            boolean leyendoResumen = false;
-            boolean leyendoPalabras = false;
-            StringBuilder sbCuerpo = new StringBuilder();
-
-            while ((linea = br.readLine()) != null) {
-                linea = linea.trim();
-                if (linea.isEmpty()) continue;
-
-                if (titulo.isEmpty()) {
-                    titulo = linea; // La primera línea no vacía es el título
-                } else if (linea.equals("Autores")) {
-                    leyendoAutores = true;
-                    leyendoResumen = false;
-                    leyendoPalabras = false;
-                } else if (linea.equals("Resumen")) {
-                    leyendoAutores = false;
-                    leyendoResumen = true;
-                    leyendoPalabras = false;
-                } else if (linea.startsWith("Palabras claves:")) { // Ajustar según el formato exacto del txt
-                    leyendoAutores = false;
-                    leyendoResumen = false;
-                    leyendoPalabras = true;
-                    // A veces las palabras están en la misma linea
-                    String[] parts = linea.replace("Palabras claves:", "").split(",");
-                    for(String p : parts) palabrasClave.agregar(p.trim());
-                } else {
-                
-                    if (leyendoAutores) {
-                        
-                        String[] autoresLinea = linea.split(","); // O salto de linea
-                        for(String a : autoresLinea) autores.agregar(a.trim());
-                    } else if (leyendoResumen) {
-                        sbCuerpo.append(linea).append(" ");
-                    } else if (leyendoPalabras) {
-                        // Si las palabras vienen debajo
-                        String[] keys = linea.split(",");
-                        for(String k : keys) palabrasClave.agregar(k.trim());
+        java.io.File[] archivos = fileChooser.getSelectedFiles();
+        txtAreaResultados.setText("--- CARGA DE RESÚMENES ---\n\n");
+
+        // La lectura y el guardado de cada archivo se hacen fuera del EDT
+        iniciarTarea("Cargando", new TareaResultados<Integer>() {
+            @Override
+            protected Integer doInBackground() {
+                int cargados = 0;
+                for (int i = 0; i < archivos.length && !isCancelled(); i++) {
+                    java.io.File archivo = archivos[i];
+                    // Lógica de lectura del archivo (formato descrito en LectorResumen)
+                    try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(archivo))) {
+                        Resumen nuevoResumen = LectorResumen.leer(br);
+
+                        // GUARDAR EL RESUMEN
+                        if (gestor.agregarResumen(nuevoResumen)) {
+                            cargados++;
+                            publicar("• " + nuevoResumen.getTitulo());
+                        } else {
+                            publicar("Ya existía o no es válido: " + archivo.getName());
+                        }
+                    } catch (Exception e) {
+                        publicar("Error al leer el archivo " + archivo.getName() + ": " + e.getMessage());
                     }
+                    setProgress((i + 1) * 100 / archivos.length);
                 }
+                vaciar();
+                return cargados;
             }
-            br.close();
-            cuerpo = sbCuerpo.toString();
-
-            // CREAR Y GUARDAR EL RESUMEN
-            Resumen nuevoResumen = new Resumen(titulo, autores, cuerpo, palabrasClave);
-            gestor.agregarResumen(nuevoResumen);
-            
-            javax.swing.JOptionPane.showMessageDialog(this, "Resumen cargado exitosamente:\n" + titulo);
-            
-        } catch (Exception e) {
-            javax.swing.JOptionPane.showMessageDialog(this, "Error al leer el archivo: " + e.getMessage());
-        }
+
+            @Override
+            protected void terminar(Integer cargados) {
+                javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this,
+                        "Resúmenes cargados exitosamente: " + cargados + " de " + archivos.length);
+            }
+        });
     }
     }//GEN-LAST:event_btnCargarActionPerformed
 
     private void bntBuscarAutorActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_bntBuscarAutorActionPerformed
         // TODO add your handling code here:
-        String autor = javax.swing.JOptionPane.showInputDialog(this, "Ingrese el nombre del autor:");
+        String autor = pedirConSugerencias("Ingrese el nombre del autor:", gestor::sugerirAutores);
     
     if (autor != null && !autor.isEmpty()) {
-        ListaSimple<Resumen> resultados = gestor.buscarResumenesPorAutor(autor);
-        
         txtAreaResultados.setText(""); 
         txtAreaResultados.append("--- INVESTIGACIONES DE: " + autor + " ---\n\n");
-        
-        if (resultados != null && resultados.getTamano() > 0) {
-            for (int i = 0; i < resultados.getTamano(); i++) {
-                Resumen r = resultados.get(i);
-                txtAreaResultados.append("• " + r.getTitulo() + "\n");
+
+        iniciarTarea("Buscando", new TareaResultados<Void>() {
+            @Override
+            protected Void doInBackground() {
+                // Si el nombre está mal escrito el gestor usa el más parecido
+                String usado = gestor.corregirAutor(autor);
+                avisarCorreccion(this, autor, usado);
+                ListaSimple<Resumen> resultados = (usado != null) ? gestor.buscarResumenesPorAutor(usado) : null;
+                if (resultados != null && resultados.getTamano() > 0) {
+                    publicarTodos(resultados, r -> "• " + r.getTitulo());
+                } else {
+                    publicar("Este autor no tiene investigaciones registradas.");
+                }
+                vaciar();
+                return null;
             }
-        } else {
-            txtAreaResultados.append("Este autor no tiene investigaciones registradas.");
-        }
+        });
     }
         
     }//GEN-LAST:event_bntBuscarAutorActionPerformed
 
     private void btnBuscarPalabraClaveActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnBuscarPalabraClaveActionPerformed
         // TODO add your handling code here:
-        String palabra = javax.swing.JOptionPane.showInputDialog(this, "Ingrese la palabra clave a buscar:");
+        String palabra = pedirConSugerencias("Ingrese la palabra clave a buscar:", gestor::sugerirPalabrasClave);
     
     if (palabra != null && !palabra.isEmpty()) {
-        ListaSimple<Resumen> resultados = gestor.buscarResumenPorPalabra(palabra);
-        
         txtAreaResultados.setText(""); // Limpiar pantalla
         txtAreaResultados.append("--- RESULTADOS PARA: " + palabra + " ---\n\n");
-        
-        if (resultados != null && resultados.getTamano() > 0) {
-            for (int i = 0; i < resultados.getTamano(); i++) {
-                Resumen r = resultados.get(i);
-                txtAreaResultados.append("Título: " + r.getTitulo() + "\n");
-                txtAreaResultados.append("Autores: ");
-                // Recorrer autores para imprimir
-                for(int j=0; j<r.getAutores().getTamano(); j++){
-                     txtAreaResultados.append(r.getAutores().get(j) + "; ");
+
+        iniciarTarea("Buscando", new TareaResultados<Void>() {
+            @Override
+            protected Void doInBackground() {
+                String usada = gestor.corregirPalabraClave(palabra);
+                avisarCorreccion(this, palabra, usada);
+                ListaSimple<Resumen> resultados = (usada != null) ? gestor.buscarResumenPorPalabra(usada) : null;
+                if (resultados != null && resultados.getTamano() > 0) {
+                    publicarTodos(resultados, r -> {
+                        StringBuilder sb = new StringBuilder();
+                        sb.append("Título: ").append(r.getTitulo()).append("\n");
+                        sb.append("Autores: ");
+                        // Recorrer autores para imprimir
+                        for (String nombreAutor : r.getAutores()) {
+                            sb.append(nombreAutor).append("; ");
+                        }
+                        return sb.append("\n--------------------------").toString();
+                    });
+                } else {
+                    publicar("No se encontraron investigaciones con esa palabra.");
                 }
-                txtAreaResultados.append("\n--------------------------\n");
+                vaciar();
+                return null;
             }
-        } else {
-            txtAreaResultados.append("No se encontraron investigaciones con esa palabra.");
-        }
+        });
     }
         
     }//GEN-LAST:event_btnBuscarPalabraClaveActionPerformed
 
     private void btnSalirActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSalirActionPerformed
         // TODO add your handling code here:
+        // No salir con una operación a medias (p. ej. una carga de archivos)
+    if (hayTareaEnCurso()) {
+        javax.swing.JOptionPane.showMessageDialog(this, "Hay una operación en curso.\nEspere a que termine o cancélela.");
+        return;
+    }
+
         // Preguntar si está seguro 
     int confirmacion = javax.swing.JOptionPane.showConfirmDialog(
             this, 
-            "¿Desea guardar los cambios antes de salir?", 
+            "Los cambios ya se guardan automáticamente.\n¿Desea compactar los datos antes de salir?", 
             "Salir", 
             javax.swing.JOptionPane.YES_NO_CANCEL_OPTION
     );
 
-    if (confirmacion == javax.swing.JOptionPane.YES_OPTION) {
-        // Guardar los datos
-        gestor.guardarDatos();
-        javax.swing.JOptionPane.showMessageDialog(this, "Datos guardados. ¡Hasta luego!");
-        System.exit(0);
-        
-    } else if (confirmacion == javax.swing.JOptionPane.NO_OPTION) {
-        // Salir sin guardar
-        System.exit(0);
+    if (confirmacion == javax.swing.JOptionPane.YES_OPTION || confirmacion == javax.swing.JOptionPane.NO_OPTION) {
+        // Con "No" se sale sin compactar: el registro ya tiene todos los cambios
+        boolean compactar = (confirmacion == javax.swing.JOptionPane.YES_OPTION);
+        // El checkpoint y la espera del registro escriben a disco: fuera del EDT
+        iniciarTarea(compactar ? "Guardando datos" : "Cerrando", new TareaResultados<Void>() {
+            @Override
+            protected Void doInBackground() {
+                if (compactar) {
+                    gestor.guardarDatos();
+                }
+                gestor.cerrarRegistro();
+                return null;
+            }
+
+            @Override
+            protected boolean esCancelable() {
+                // Un checkpoint a medias no se interrumpe
+                return false;
+            }
+
+            @Override
+            protected void terminar(Void sinResultado) {
+                if (compactar) {
+                    javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this, "Datos guardados. ¡Hasta luego!");
+                }
+                dispose();
+                System.exit(0);
+            }
+        });
     }
     }//GEN-LAST:event_btnSalirActionPerformed
 
     private void btnAnalizarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnAnalizarActionPerformed
         // TODO add your handling code here:
-        ListaSimple<String> titulos = gestor.obtenerTitulosDisponibles();
-    
-    if (titulos.getTamano() == 0) {
-        javax.swing.JOptionPane.showMessageDialog(this, "No hay resúmenes cargados.");
-        return;
-    }
-
-    // Convertir lista propia a Array para el JComboBox
-    String[] opciones = new String[titulos.getTamano()];
-    for(int i=0; i<titulos.getTamano(); i++) opciones[i] = titulos.get(i);
-
-    String seleccionado = (String) javax.swing.JOptionPane.showInputDialog(
-        this, "Seleccione resumen:", "Analizar", 
-        javax.swing.JOptionPane.QUESTION_MESSAGE, null, opciones, opciones[0]);
-
-    if (seleccionado != null) {
-        txtAreaResultados.setText(gestor.obtenerDetallesResumen(seleccionado));
-    }
+        elegirTitulo("Seleccione resumen:", "Analizar",
+                javax.swing.JOptionPane.QUESTION_MESSAGE, "No hay resúmenes cargados.",
+                seleccionado -> {
+                    txtAreaResultados.setText("");
+                    iniciarTarea("Analizando", new TareaResultados<Void>() {
+                        @Override
+                        protected Void doInBackground() {
+                            publicar(gestor.obtenerDetallesResumen(seleccionado));
+                            vaciar();
+                            return null;
+                        }
+                    });
+                });
     }//GEN-LAST:event_btnAnalizarActionPerformed
 
     private void btnEliminarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnEliminarActionPerformed
         // TODO add your handling code here:
-        ListaSimple<String> titulos = gestor.obtenerTitulosDisponibles();
-    
-    if (titulos.getTamano() == 0) {
-        javax.swing.JOptionPane.showMessageDialog(this, "Nada que eliminar.");
-        return;
-    }
-
-    String[] opciones = new String[titulos.getTamano()];
-    for(int i=0; i<titulos.getTamano(); i++) opciones[i] = titulos.get(i);
-
-    String seleccionado = (String) javax.swing.JOptionPane.showInputDialog(
-        this, "ELIMINAR RESUMEN:", "Cuidado", 
-        javax.swing.JOptionPane.WARNING_MESSAGE, null, opciones, opciones[0]);
+        elegirTitulo("ELIMINAR RESUMEN:", "Cuidado",
+                javax.swing.JOptionPane.WARNING_MESSAGE, "Nada que eliminar.",
+                seleccionado -> iniciarTarea("Eliminando", new TareaResultados<Boolean>() {
+                    @Override
+                    protected Boolean doInBackground() {
+                        return gestor.eliminarResumenGlobal(seleccionado);
+                    }
 
-    if (seleccionado != null) {
-        if (gestor.eliminarResumenGlobal(seleccionado)) {
-            javax.swing.JOptionPane.showMessageDialog(this, "Eliminado correctamente.");
-            txtAreaResultados.setText("");
-        } else {
-            javax.swing.JOptionPane.showMessageDialog(this, "Error al eliminar.");
-        }
-    }
+                    @Override
+                    protected void terminar(Boolean eliminado) {
+                        if (eliminado) {
+                            javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this, "Eliminado correctamente.");
+                            txtAreaResultados.setText("");
+                        } else {
+                            javax.swing.JOptionPane.showMessageDialog(InterfazGrafica.this, "Error al eliminar.");
+                        }
+                    }
+                }));
     }//GEN-LAST:event_btnEliminarActionPerformed
 
     private void btnListarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnListarActionPerformed
         // TODO add your handling code here:
-        // Llamo al gestor para que me de el texto listo
-    String reporte = gestor.generarListadoPalabras();
-    
-    // Limpio el área de texto antes de mostrar
+        // Limpio el área de texto antes de mostrar
     txtAreaResultados.setText("");
-    
-    // muestro el reporte
-    txtAreaResultados.append(reporte);
-    
-    
-    txtAreaResultados.setCaretPosition(0);
+
+    // El listado se arma y se muestra por partes desde una tarea aparte
+    iniciarTarea("Listando", new TareaResultados<Void>() {
+        @Override
+        protected Void doInBackground() {
+            int total = gestor.getCantidadPalabrasClave();
+            if (total == 0) {
+                publicar("No hay palabras clave registradas en el sistema.");
+            } else {
+                publicar("=== PALABRAS CLAVE REGISTRADAS ===\n");
+                // Se recorre el árbol por bloques: la primera palabra se
+                // muestra sin esperar a tener la lista completa
+                int[] hechas = {0};
+                gestor.recorrerPalabrasClave(null, palabra -> {
+                    if (isCancelled()) return false;
+                    publicar("• " + palabra);
+                    setProgress(Math.min(++hechas[0] * 100 / total, 100));
+                    return true;
+                });
+            }
+            vaciar();
+            return null;
+        }
+    });
     }//GEN-LAST:event_btnListarActionPerformed
 
+    private void btnCancelarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnCancelarActionPerformed
+        // Cancelación cooperativa: la tarea se detiene en el próximo elemento
+        if (hayTareaEnCurso() && this.tareaActual.esCancelable()) {
+            this.tareaActual.cancel(false);
+        }
+    }//GEN-LAST:event_btnCancelarActionPerformed
+
     /**
      * @param args the command line arguments
      */
@@ -358,9 +691,11 @@ public class InterfazGrafica extends javax.swing.JFrame {
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JProgressBar barraProgreso;
     private javax.swing.JButton bntBuscarAutor;
     private javax.swing.JButton btnAnalizar;
     private javax.swing.JButton btnBuscarPalabraClave;
+    private javax.swing.JButton btnCancelar;
     private javax.swing.JButton btnCargar;
     private javax.swing.JButton btnEliminar;
     private javax.swing.JButton btnListar;
@@ -0,0 +1,123 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Utilidades mínimas para escribir JSON a mano (sin librerías externas).
+ */
+
+class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Agrega una cadena JSON entre comillas, escapando lo necesario.
+     * Un valor null se escribe como null.
+     */
+    static StringBuilder cadena(StringBuilder sb, String texto) {
+        if (texto == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Agrega un arreglo JSON de cadenas.
+     */
+    static StringBuilder arreglo(StringBuilder sb, ListaSimple<String> valores) {
+        sb.append('[');
+        boolean primero = true;
+        for (String valor : valores) {
+            if (!primero) sb.append(',');
+            cadena(sb, valor);
+            primero = false;
+        }
+        return sb.append(']');
+    }
+
+    /**
+     * Lee un arreglo JSON de cadenas, como el que escribe arreglo().
+     * No es un lector JSON general: cualquier otro contenido es un error.
+     *
+     * @throws IllegalArgumentException Si el texto no es un arreglo de cadenas
+     */
+    static ListaSimple<String> leerArreglo(String json) {
+        ListaSimple<String> valores = new ListaSimple<>();
+        int i = saltarEspacios(json, 0);
+        if (i >= json.length() || json.charAt(i) != '[') {
+            throw new IllegalArgumentException("Se esperaba '['");
+        }
+        i = saltarEspacios(json, i + 1);
+        if (i < json.length() && json.charAt(i) == ']') return valores;
+
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            if (i >= json.length() || json.charAt(i) != '"') {
+                throw new IllegalArgumentException("Se esperaba una cadena en la posición " + i);
+            }
+            sb.setLength(0);
+            i++;
+            while (true) {
+                if (i >= json.length()) throw new IllegalArgumentException("Cadena sin cerrar");
+                char c = json.charAt(i++);
+                if (c == '"') break;
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escape = json.charAt(i++);
+                switch (escape) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        sb.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+                        i += 4;
+                    }
+                    default -> sb.append(escape); // \" \\ \/
+                }
+            }
+            valores.agregar(sb.toString());
+
+            i = saltarEspacios(json, i);
+            if (i < json.length() && json.charAt(i) == ',') {
+                i = saltarEspacios(json, i + 1);
+            } else if (i < json.length() && json.charAt(i) == ']') {
+                return valores;
+            } else {
+                throw new IllegalArgumentException("Se esperaba ',' o ']' en la posición " + i);
+            }
+        }
+    }
+
+    private static int saltarEspacios(String texto, int i) {
+        while (i < texto.length() && Character.isWhitespace(texto.charAt(i))) i++;
+        return i;
+    }
+}
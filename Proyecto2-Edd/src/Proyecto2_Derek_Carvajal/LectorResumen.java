@@ -0,0 +1,87 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Lee un resumen en el formato de texto de los archivos .txt:
+ *
+ *   Título (primera línea no vacía)
+ *   Autores
+ *   Autor 1, Autor 2
+ *   Resumen
+ *   Cuerpo del resumen...
+ *   Palabras claves: palabra1, palabra2
+ *
+ * Lo usan la interfaz gráfica (botón Cargar) y el servidor HTTP.
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class LectorResumen {
+
+    private LectorResumen() {
+    }
+
+    /**
+     * Lee un resumen completo desde el lector.
+     *
+     * @param br El lector con el texto del resumen
+     * @return El Resumen leído (el título queda vacío si no había texto)
+     * @throws IOException Si falla la lectura
+     */
+    public static Resumen leer(BufferedReader br) throws IOException {
+        String linea;
+        String titulo = "";
+        ListaSimple<String> autores = new ListaSimple<>();
+        ListaSimple<String> palabrasClave = new ListaSimple<>();
+
+        // Banderas para saber qué parte estamos leyendo
+        boolean leyendoAutores = false;
+        boolean leyendoResumen = false;
+        boolean leyendoPalabras = false;
+        StringBuilder sbCuerpo = new StringBuilder();
+
+        while ((linea = br.readLine()) != null) {
+            linea = linea.trim();
+            if (linea.isEmpty()) continue;
+
+            if (titulo.isEmpty()) {
+                titulo = linea; // La primera línea no vacía es el título
+            } else if (linea.equals("Autores")) {
+                leyendoAutores = true;
+                leyendoResumen = false;
+                leyendoPalabras = false;
+            } else if (linea.equals("Resumen")) {
+                leyendoAutores = false;
+                leyendoResumen = true;
+                leyendoPalabras = false;
+            } else if (linea.startsWith("Palabras claves:")) { // Ajustar según el formato exacto del txt
+                leyendoAutores = false;
+                leyendoResumen = false;
+                leyendoPalabras = true;
+                // A veces las palabras están en la misma linea
+                String[] parts = linea.replace("Palabras claves:", "").split(",");
+                for (String p : parts) palabrasClave.agregar(p.trim());
+            } else {
+                if (leyendoAutores) {
+                    String[] autoresLinea = linea.split(","); // O salto de linea
+                    for (String a : autoresLinea) autores.agregar(a.trim());
+                } else if (leyendoResumen) {
+                    sbCuerpo.append(linea).append(" ");
+                } else if (leyendoPalabras) {
+                    // Si las palabras vienen debajo
+                    String[] keys = linea.split(",");
+                    for (String k : keys) palabrasClave.agregar(k.trim());
+                }
+            }
+        }
+
+        return new Resumen(titulo, autores, sbCuerpo.toString(), palabrasClave);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Lista ordenada de ids de resúmenes (sin repetidos) en un arreglo de
+ * int que crece solo. Es la lista de apariciones de una palabra clave o de
+ * un autor para las consultas booleanas (ver ConsultaBooleana).
+ *
+ * Como los ids se asignan en orden creciente, agregar es casi siempre
+ * poner al final. buscarDesde() hace una búsqueda "galopante": salta 1, 2,
+ * 4, 8... posiciones y después busca binario en el último tramo, así que
+ * avanzar k posiciones cuesta O(log k) y no O(k).
+ */
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class ListaIds implements Serializable {
+
+    private int[] ids;
+    private int tamano;
+
+    public ListaIds() {
+        this.ids = new int[4];
+        this.tamano = 0;
+    }
+
+    /**
+     * Agrega un id manteniendo el orden.
+     *
+     * @return true si se agregó, false si ya estaba
+     */
+    public boolean agregar(int id) {
+        int posicion = this.tamano;
+        if (this.tamano > 0 && this.ids[this.tamano - 1] >= id) {
+            // No es el caso normal (ids crecientes): se inserta en su lugar
+            posicion = Arrays.binarySearch(this.ids, 0, this.tamano, id);
+            if (posicion >= 0) return false;
+            posicion = -posicion - 1;
+        }
+        if (this.tamano == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.tamano * 2);
+        }
+        System.arraycopy(this.ids, posicion, this.ids, posicion + 1, this.tamano - posicion);
+        this.ids[posicion] = id;
+        this.tamano++;
+        return true;
+    }
+
+    /**
+     * @param posicion Posición entre 0 y getTamano() - 1
+     * @return El id en esa posición
+     */
+    public int get(int posicion) {
+        return this.ids[posicion];
+    }
+
+    public int getTamano() {
+        return this.tamano;
+    }
+
+    /**
+     * Busca la primera posición, a partir de 'desde', cuyo id es mayor o
+     * igual a 'id' (búsqueda galopante).
+     *
+     * @return La posición, o getTamano() si no hay ninguna
+     */
+    public int buscarDesde(int desde, int id) {
+        if (desde >= this.tamano || this.ids[desde] >= id) return desde;
+
+        // Galopar: ids[desde + salto / 2] < id, hasta pasarse o llegar al final
+        int salto = 1;
+        while (desde + salto < this.tamano && this.ids[desde + salto] < id) {
+            salto <<= 1;
+        }
+        int inicio = desde + (salto >> 1) + 1;
+        int fin = Math.min(desde + salto, this.tamano); // Exclusivo
+
+        // Búsqueda binaria en [inicio, fin)
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (this.ids[medio] < id) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Quita los ids marcados en 'borrados'.
+     *
+     * @return Cantidad de ids quitados
+     */
+    public int compactar(ConjuntoBits borrados) {
+        int escritos = 0;
+        for (int i = 0; i < this.tamano; i++) {
+            if (!borrados.contiene(this.ids[i])) {
+                this.ids[escritos++] = this.ids[i];
+            }
+        }
+        int quitados = this.tamano - escritos;
+        this.tamano = escritos;
+        if (this.tamano < this.ids.length / 4 && this.ids.length > 4) {
+            this.ids = Arrays.copyOf(this.ids, Math.max(this.tamano * 2, 4));
+        }
+        return quitados;
+    }
+}
@@ -12,8 +12,10 @@ package Proyecto2_Derek_Carvajal;
  */
 
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class ListaSimple<T> implements Serializable {
+public class ListaSimple<T> implements Serializable, Iterable<T> {
 
     /**
      * Clase interna que representa un nodo de la lista.
@@ -33,6 +35,7 @@ public class ListaSimple<T> implements Serializable {
 
         if (cabeza.dato.equals(dato)) {
             cabeza = cabeza.siguiente;
+            if (cabeza == null) cola = null;
             tamano--;
             return true;
         }
@@ -40,6 +43,7 @@ public class ListaSimple<T> implements Serializable {
         NodoLista actual = cabeza;
         while (actual.siguiente != null) {
             if (actual.siguiente.dato.equals(dato)) {
+                if (actual.siguiente == cola) cola = actual;
                 actual.siguiente = actual.siguiente.siguiente;
                 tamano--;
                 return true;
@@ -50,6 +54,7 @@ public class ListaSimple<T> implements Serializable {
     }
 
     private NodoLista cabeza;
+    private NodoLista cola; // Último nodo, para agregar al final en O(1)
     private int tamano;
 
     /**
@@ -57,11 +62,12 @@ public class ListaSimple<T> implements Serializable {
      */
     public ListaSimple() {
         this.cabeza = null;
+        this.cola = null;
         this.tamano = 0;
     }
 
     /**
-     * Agrega un elemento al final de la lista.
+     * Agrega un elemento al final de la lista en O(1).
      *
      * @param dato El dato a agregar.
      */
@@ -70,17 +76,16 @@ public class ListaSimple<T> implements Serializable {
         if (this.cabeza == null) {
             this.cabeza = nuevoNodo;
         } else {
-            NodoLista actual = this.cabeza;
-            while (actual.siguiente != null) {
-                actual = actual.siguiente;
-            }
-            actual.siguiente = nuevoNodo;
+            this.cola.siguiente = nuevoNodo;
         }
+        this.cola = nuevoNodo;
         this.tamano++;
     }
 
     /**
      * Obtiene un elemento en una posición específica.
+     * Recorre la lista desde la cabeza (O(n)); para recorrer la lista
+     * completa se debe usar el iterador.
      *
      * @param index El índice del elemento (0-based).
      * @return El dato en esa posición.
@@ -114,5 +119,64 @@ public class ListaSimple<T> implements Serializable {
     public boolean estaVacia() {
         return this.tamano == 0;
     }
+
+    /**
+     * Devuelve un iterador que recorre la lista de la cabeza a la cola.
+     * Cada paso es O(1), así que un recorrido completo es O(n).
+     * El iterador permite eliminar el último elemento devuelto con remove().
+     *
+     * @return Un iterador sobre los datos de la lista.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorLista();
+    }
+
+    /**
+     * Iterador hacia adelante sobre los nodos de la lista.
+     */
+    private class IteradorLista implements Iterator<T> {
+        private NodoLista anterior;   // Nodo previo a 'actual' (null si 'actual' es la cabeza)
+        private NodoLista actual;     // Último nodo devuelto por next() (null tras remove())
+        private NodoLista siguiente = cabeza;
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public T next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException();
+            }
+            if (actual != null) {
+                anterior = actual;
+            }
+            actual = siguiente;
+            siguiente = siguiente.siguiente;
+            return actual.dato;
+        }
+
+        /**
+         * Elimina de la lista el último elemento devuelto por next() en O(1).
+         */
+        @Override
+        public void remove() {
+            if (actual == null) {
+                throw new IllegalStateException("next() no ha sido llamado o el elemento ya fue eliminado");
+            }
+            if (anterior == null) {
+                cabeza = siguiente;
+            } else {
+                anterior.siguiente = siguiente;
+            }
+            if (actual == cola) {
+                cola = anterior;
+            }
+            actual = null;
+            tamano--;
+        }
+    }
     
 }
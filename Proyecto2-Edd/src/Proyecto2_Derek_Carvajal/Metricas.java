@@ -0,0 +1,127 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Contadores y latencias de las operaciones de GestorInvestigaciones.
+ * Vienen desactivadas: mientras lo estén, iniciar() no lee el reloj y
+ * registrar() no hace nada, así que el costo es una lectura de un booleano.
+ *
+ * Uso típico dentro del gestor:
+ *   long inicio = metricas.iniciar();
+ *   ... operación ...
+ *   metricas.registrar(Metricas.Operacion.AGREGAR, inicio);
+ */
+
+public class Metricas {
+
+    /**
+     * Operaciones que se miden.
+     */
+    public enum Operacion {
+        AGREGAR("agregar"),
+        AGREGAR_LOTE("agregar (lote, por resumen)"),
+        BUSCAR_TITULO("buscar por título"),
+        BUSCAR_AUTOR("buscar por autor"),
+        BUSCAR_PALABRA("buscar por palabra"),
+        BUSCAR_TEXTO("buscar por texto"),
+        BUSCAR_CONSULTA("consulta booleana"),
+        ELIMINAR("eliminar");
+
+        private final String descripcion;
+
+        Operacion(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return this.descripcion;
+        }
+    }
+
+    // Valor que devuelve iniciar() cuando las métricas están apagadas
+    private static final long INACTIVO = Long.MIN_VALUE;
+
+    private volatile boolean activas;
+    private final HistogramaLatencia[] histogramas;
+
+    public Metricas() {
+        Operacion[] operaciones = Operacion.values();
+        this.histogramas = new HistogramaLatencia[operaciones.length];
+        for (int i = 0; i < operaciones.length; i++) {
+            this.histogramas[i] = new HistogramaLatencia();
+        }
+        this.activas = false;
+    }
+
+    public boolean isActivas() {
+        return this.activas;
+    }
+
+    public void setActivas(boolean activas) {
+        this.activas = activas;
+    }
+
+    /**
+     * Marca el inicio de una operación.
+     * @return El instante actual en nanosegundos, o INACTIVO si están apagadas
+     */
+    public long iniciar() {
+        return this.activas ? System.nanoTime() : INACTIVO;
+    }
+
+    /**
+     * Registra la duración de una operación iniciada con iniciar().
+     */
+    public void registrar(Operacion operacion, long inicio) {
+        if (inicio == INACTIVO) return;
+        this.histogramas[operacion.ordinal()].registrar(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Registra una operación que procesó varios elementos: se anota una
+     * medición por elemento con la duración promedio.
+     */
+    public void registrar(Operacion operacion, long inicio, int elementos) {
+        if (inicio == INACTIVO || elementos <= 0) return;
+        long porElemento = (System.nanoTime() - inicio) / elementos;
+        HistogramaLatencia histograma = this.histogramas[operacion.ordinal()];
+        for (int i = 0; i < elementos; i++) {
+            histograma.registrar(porElemento);
+        }
+    }
+
+    public HistogramaLatencia getHistograma(Operacion operacion) {
+        return this.histogramas[operacion.ordinal()];
+    }
+
+    public long getCantidad(Operacion operacion) {
+        return this.histogramas[operacion.ordinal()].getCantidad();
+    }
+
+    /**
+     * Borra todas las mediciones (no cambia si están activas o no).
+     */
+    public void reiniciar() {
+        for (HistogramaLatencia h : this.histogramas) {
+            h.reiniciar();
+        }
+    }
+
+    /**
+     * Una línea por operación con su cantidad y percentiles.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Operacion op : Operacion.values()) {
+            sb.append(String.format("%-28s %s%n", op.getDescripcion(), this.histogramas[op.ordinal()]));
+        }
+        return sb.toString();
+    }
+}
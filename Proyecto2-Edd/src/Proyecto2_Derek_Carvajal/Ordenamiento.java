@@ -0,0 +1,71 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ * 
+ * * Utilidades de ordenamiento para arreglos (Merge Sort estable).
+ * Se usa en las cargas masivas para ordenar una sola vez los títulos,
+ * autores y palabras clave antes de insertarlos en los árboles.
+ */
+public class Ordenamiento {
+
+    private Ordenamiento() {
+        // Clase utilitaria: no se instancia
+    }
+
+    /**
+     * Ordena de forma ascendente y estable los primeros 'n' elementos del
+     * arreglo. Complejidad O(n log n).
+     *
+     * @param datos El arreglo a ordenar.
+     * @param n Cantidad de elementos válidos al inicio del arreglo.
+     * @param <T> El tipo de dato, debe ser comparable.
+     */
+    public static <T extends Comparable<? super T>> void ordenar(T[] datos, int n) {
+        if (n < 2) return;
+        Object[] auxiliar = new Object[n];
+        mergeSort(datos, auxiliar, 0, n - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> void mergeSort(T[] datos, Object[] auxiliar, int inicio, int fin) {
+        if (fin - inicio < 16) {
+            // Los tramos cortos se ordenan por inserción
+            for (int i = inicio + 1; i <= fin; i++) {
+                T actual = datos[i];
+                int j = i - 1;
+                while (j >= inicio && datos[j].compareTo(actual) > 0) {
+                    datos[j + 1] = datos[j];
+                    j--;
+                }
+                datos[j + 1] = actual;
+            }
+            return;
+        }
+        int medio = (inicio + fin) >>> 1;
+        mergeSort(datos, auxiliar, inicio, medio);
+        mergeSort(datos, auxiliar, medio + 1, fin);
+        if (datos[medio].compareTo(datos[medio + 1]) <= 0) {
+            return; // Ya están en orden
+        }
+        System.arraycopy(datos, inicio, auxiliar, inicio, fin - inicio + 1);
+        int i = inicio;
+        int j = medio + 1;
+        for (int k = inicio; k <= fin; k++) {
+            if (i > medio) {
+                datos[k] = (T) auxiliar[j++];
+            } else if (j > fin) {
+                datos[k] = (T) auxiliar[i++];
+            } else if (((T) auxiliar[j]).compareTo((T) auxiliar[i]) < 0) {
+                datos[k] = (T) auxiliar[j++];
+            } else {
+                datos[k] = (T) auxiliar[i++];
+            }
+        }
+    }
+}
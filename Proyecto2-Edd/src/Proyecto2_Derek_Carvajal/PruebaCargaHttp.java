@@ -0,0 +1,168 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Prueba de carga para ServidorConsultas.
+ * Primero pide al servidor algunos títulos, autores y palabras clave
+ * reales; luego 'clientes' hilos virtuales hacen consultas al azar durante
+ * 'segundos' segundos, reutilizando las conexiones (keep-alive). Al final
+ * imprime las consultas por segundo y los percentiles de latencia.
+ *
+ * Mezcla de consultas: 40% /resumen, 20% /autor, 20% /palabra, 10% /buscar
+ * y 10% /titulos con un rango de 50.
+ *
+ * Uso: java -cp build/classes Proyecto2_Derek_Carvajal.PruebaCargaHttp [url] [clientes] [segundos]
+ *  o   ant prueba-carga -Dprueba.args="http://localhost:8080 64 10"
+ */
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PruebaCargaHttp {
+
+    private final String base;
+    private final HttpClient cliente;
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final AtomicLong respuestasOk = new AtomicLong();
+    private final AtomicLong respuestasNoEncontradas = new AtomicLong();
+    private final AtomicLong errores = new AtomicLong();
+
+    private String[] titulos;
+    private String[] autores;
+    private String[] palabras;
+
+    public PruebaCargaHttp(String base) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = (args.length > 0) ? args[0] : "http://localhost:" + ServidorConsultas.PUERTO_POR_DEFECTO;
+        int clientes = (args.length > 1) ? Integer.parseInt(args[1]) : 64;
+        int segundos = (args.length > 2) ? Integer.parseInt(args[2]) : 10;
+
+        PruebaCargaHttp prueba = new PruebaCargaHttp(url);
+        prueba.prepararDatos();
+        prueba.ejecutar(clientes, segundos);
+    }
+
+    /**
+     * Obtiene del servidor valores reales para armar las consultas.
+     */
+    public void prepararDatos() throws IOException, InterruptedException {
+        this.titulos = obtenerLista("/titulos?limite=5000");
+        this.autores = obtenerLista("/autores?limite=1000");
+        this.palabras = obtenerLista("/palabras?limite=1000");
+        if (this.titulos.length == 0 || this.autores.length == 0 || this.palabras.length == 0) {
+            throw new IOException("El servidor no tiene datos suficientes para la prueba");
+        }
+        System.out.printf("Datos de prueba: %d títulos, %d autores, %d palabras clave%n",
+                this.titulos.length, this.autores.length, this.palabras.length);
+    }
+
+    /**
+     * Lanza los clientes, espera a que terminen e imprime el resultado.
+     */
+    public void ejecutar(int clientes, int segundos) throws InterruptedException {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        long inicio = System.nanoTime();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                final long semilla = c;
+                ejecutor.submit(() -> cicloCliente(new SplittableRandom(semilla), fin));
+            }
+        }
+        double duracion = (System.nanoTime() - inicio) / 1e9;
+
+        long total = this.latencias.getCantidad();
+        System.out.printf("%d peticiones en %.1f s con %d clientes: %.0f peticiones/s%n",
+                total, duracion, clientes, total / duracion);
+        System.out.printf("200: %d  404: %d  errores: %d%n",
+                this.respuestasOk.get(), this.respuestasNoEncontradas.get(), this.errores.get());
+        System.out.println("Latencia: " + this.latencias);
+    }
+
+    private void cicloCliente(SplittableRandom azar, long fin) {
+        while (System.nanoTime() < fin) {
+            String ruta = siguienteRuta(azar);
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<byte[]> respuesta = this.cliente.send(
+                        HttpRequest.newBuilder(URI.create(this.base + ruta)).GET().build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                this.latencias.registrar(System.nanoTime() - inicio);
+                if (respuesta.statusCode() == 200) {
+                    this.respuestasOk.incrementAndGet();
+                } else if (respuesta.statusCode() == 404) {
+                    this.respuestasNoEncontradas.incrementAndGet();
+                } else {
+                    this.errores.incrementAndGet();
+                }
+            } catch (IOException e) {
+                this.errores.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private String siguienteRuta(SplittableRandom azar) {
+        int tipo = azar.nextInt(10);
+        if (tipo < 4) {
+            return "/resumen?titulo=" + codificar(elegir(this.titulos, azar));
+        } else if (tipo < 6) {
+            return "/autor?nombre=" + codificar(elegir(this.autores, azar));
+        } else if (tipo < 8) {
+            return "/palabra?palabra=" + codificar(elegir(this.palabras, azar));
+        } else if (tipo < 9) {
+            return "/buscar?k=10&q=" + codificar(elegir(this.palabras, azar));
+        } else {
+            return "/titulos?limite=50&desde=" + codificar(elegir(this.titulos, azar));
+        }
+    }
+
+    private static String elegir(String[] valores, SplittableRandom azar) {
+        return valores[azar.nextInt(valores.length)];
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    private String[] obtenerLista(String ruta) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = this.cliente.send(
+                HttpRequest.newBuilder(URI.create(this.base + ruta)).GET().build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (respuesta.statusCode() != 200) {
+            throw new IOException("GET " + ruta + " respondió " + respuesta.statusCode());
+        }
+        ListaSimple<String> lista = Json.leerArreglo(respuesta.body());
+        String[] valores = new String[lista.getTamano()];
+        int i = 0;
+        for (String valor : lista) {
+            valores[i++] = valor;
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,536 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Registro de cambios de solo escritura al final ("write-ahead log").
+ * Cada agregar/eliminar del GestorInvestigaciones se guarda como un registro
+ * corto al final de un archivo de segmento, en lugar de reescribir todo el
+ * repositorio. Un hilo escritor junta los registros pendientes y los manda
+ * a disco con un solo fsync por grupo ("group commit").
+ *
+ * Cada registro es: longitud (int), CRC32 (int) y el contenido. Al
+ * reproducir, un registro incompleto o con CRC inválido (por ejemplo, tras
+ * un corte de luz a mitad de escritura) marca el final del segmento.
+ *
+ * Los segmentos se llaman "[base].wal.N". Un checkpoint pasa a un segmento
+ * nuevo, guarda una instantánea con SerializadorBinario en segundo plano y
+ * luego borra los segmentos anteriores. Si el programa se cae entre ambos
+ * pasos, reproducir otra vez un segmento viejo sobre la instantánea deja el
+ * mismo resultado, porque para cada título manda la última operación.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class RegistroCambios {
+
+    static final byte TIPO_AGREGAR = 1;
+    static final byte TIPO_ELIMINAR = 2;
+
+    /** Registros tras los cuales se sugiere un checkpoint. */
+    private static final int REGISTROS_POR_CHECKPOINT = 10000;
+
+    private final File directorio;
+    private final String base;          // Nombre del archivo de instantánea (ej. "datos_supermetro.ser")
+    private final boolean sincrono;     // true: cada operación espera su fsync
+
+    private final Object candado = new Object();
+    private FileChannel canal;
+    private int generacion;             // Número del segmento activo
+    private ByteArrayOutputStream pendiente = new ByteArrayOutputStream();
+    private long secuenciaAsignada;     // Último registro aceptado
+    private long secuenciaDurable;      // Último registro ya sincronizado con el disco
+    private int registrosDesdeCheckpoint;
+    private boolean checkpointEnCurso;
+    private boolean cerrado;
+    private IOException errorEscritura;
+    private final Thread hiloEscritor;
+
+    /**
+     * Abre el registro en el directorio dado, empezando un segmento nuevo
+     * posterior a todos los existentes. Se debe llamar después de
+     * reproducir los segmentos existentes.
+     *
+     * @param directorio Carpeta donde están la instantánea y los segmentos.
+     * @param base Nombre del archivo de instantánea.
+     * @param sincrono true para que cada operación espere su fsync.
+     * @throws IOException Si no se puede crear el segmento.
+     */
+    public RegistroCambios(File directorio, String base, boolean sincrono) throws IOException {
+        this.directorio = directorio;
+        this.base = base;
+        this.sincrono = sincrono;
+        int[] existentes = generacionesExistentes(directorio, base);
+        this.generacion = (existentes.length == 0) ? 1 : existentes[existentes.length - 1] + 1;
+        this.canal = abrirSegmento(this.generacion);
+
+        this.hiloEscritor = new Thread(this::escribirEnCiclo, "RegistroCambios-escritor");
+        this.hiloEscritor.setDaemon(true);
+        this.hiloEscritor.start();
+    }
+
+    // --- ESCRITURA ---
+
+    /**
+     * Registra que se agregó un resumen. No espera el fsync: el llamador
+     * debe usar esperar() con la secuencia devuelta (así el registro se
+     * puede agregar mientras se tiene el candado del gestor y la espera se
+     * hace después de soltarlo).
+     *
+     * @param resumen El resumen agregado.
+     * @return La secuencia del registro.
+     * @throws IOException Si el hilo escritor falló.
+     */
+    public long registrarAgregar(Resumen resumen) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TIPO_AGREGAR);
+        SerializadorBinario.escribirCadena(out, resumen.getTitulo());
+        SerializadorBinario.escribirCadena(out, resumen.getCuerpoResumen());
+        escribirLista(out, resumen.getAutores());
+        escribirLista(out, resumen.getPalabrasClave());
+        return agregarRegistro(bytes.toByteArray());
+    }
+
+    /**
+     * Registra que se eliminó un resumen.
+     *
+     * @param titulo El título del resumen eliminado.
+     * @return La secuencia del registro.
+     * @throws IOException Si el hilo escritor falló.
+     */
+    public long registrarEliminar(String titulo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TIPO_ELIMINAR);
+        SerializadorBinario.escribirCadena(out, titulo);
+        return agregarRegistro(bytes.toByteArray());
+    }
+
+    private static void escribirLista(DataOutputStream out, ListaSimple<String> lista) throws IOException {
+        out.writeInt(lista.getTamano());
+        for (String valor : lista) {
+            SerializadorBinario.escribirCadena(out, valor);
+        }
+    }
+
+    /**
+     * Agrega el registro al grupo pendiente del hilo escritor.
+     */
+    private long agregarRegistro(byte[] contenido) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(contenido);
+        long secuencia;
+        synchronized (candado) {
+            verificarEstado();
+            DataOutputStream out = new DataOutputStream(pendiente);
+            out.writeInt(contenido.length);
+            out.writeInt((int) crc.getValue());
+            out.write(contenido);
+            secuencia = ++secuenciaAsignada;
+            registrosDesdeCheckpoint++;
+            candado.notifyAll();
+        }
+        return secuencia;
+    }
+
+    /**
+     * En modo síncrono, bloquea hasta que el registro con esa secuencia (y
+     * todos los anteriores) esté en disco. En modo asíncrono no espera.
+     *
+     * @param secuencia La secuencia devuelta al registrar.
+     * @throws IOException Si el hilo escritor falló.
+     */
+    public void esperar(long secuencia) throws IOException {
+        if (sincrono) {
+            esperarDurable(secuencia);
+        }
+    }
+
+    /**
+     * Bloquea hasta que todos los registros aceptados estén en disco.
+     *
+     * @throws IOException Si el hilo escritor falló.
+     */
+    public void sincronizar() throws IOException {
+        long objetivo;
+        synchronized (candado) {
+            objetivo = secuenciaAsignada;
+        }
+        esperarDurable(objetivo);
+    }
+
+    private void esperarDurable(long secuencia) throws IOException {
+        synchronized (candado) {
+            while (secuenciaDurable < secuencia && errorEscritura == null) {
+                try {
+                    candado.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrumpido esperando el registro de cambios", e);
+                }
+            }
+            if (errorEscritura != null) {
+                throw errorEscritura;
+            }
+        }
+    }
+
+    /**
+     * Ciclo del hilo escritor: toma todo lo pendiente, lo escribe y hace un
+     * solo fsync. Lo que llega mientras tanto forma el siguiente grupo.
+     */
+    private void escribirEnCiclo() {
+        while (true) {
+            byte[] grupo;
+            long hasta;
+            FileChannel destino;
+            synchronized (candado) {
+                while (pendiente.size() == 0 && !cerrado) {
+                    try {
+                        candado.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pendiente.size() == 0 && cerrado) {
+                    return;
+                }
+                grupo = pendiente.toByteArray();
+                pendiente.reset();
+                hasta = secuenciaAsignada;
+                destino = canal;
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(grupo);
+                while (buffer.hasRemaining()) {
+                    destino.write(buffer);
+                }
+                destino.force(false);
+                synchronized (candado) {
+                    secuenciaDurable = hasta;
+                    candado.notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (candado) {
+                    errorEscritura = e;
+                    candado.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private void verificarEstado() throws IOException {
+        if (errorEscritura != null) throw errorEscritura;
+        if (cerrado) throw new IOException("El registro de cambios está cerrado");
+    }
+
+    // --- CHECKPOINTS ---
+
+    /**
+     * Indica si ya se acumularon suficientes registros para un checkpoint.
+     *
+     * @return true si conviene hacer un checkpoint.
+     */
+    public boolean necesitaCheckpoint() {
+        synchronized (candado) {
+            return registrosDesdeCheckpoint >= REGISTROS_POR_CHECKPOINT && !checkpointEnCurso;
+        }
+    }
+
+    /**
+     * Hace un checkpoint. La lista de resúmenes debe reflejar el estado justo
+     * en este momento (el llamador no debe modificar el gestor mientras se
+     * llama a este método). El cambio de segmento ocurre aquí; la escritura
+     * de la instantánea y el borrado de segmentos viejos pueden ocurrir en
+     * segundo plano.
+     *
+     * @param resumenes Todos los resúmenes actuales.
+     * @param enSegundoPlano true para escribir la instantánea en otro hilo.
+     * @throws IOException Si falla el cambio de segmento o, en modo
+     * sincrónico, la escritura de la instantánea.
+     */
+    public void checkpoint(ListaSimple<Resumen> resumenes, boolean enSegundoPlano) throws IOException {
+        final int ultimaGeneracionCubierta;
+        synchronized (candado) {
+            if (checkpointEnCurso) {
+                if (enSegundoPlano) return; // Ya hay uno en curso
+                while (checkpointEnCurso) {
+                    try {
+                        candado.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrumpido esperando un checkpoint", e);
+                    }
+                }
+            }
+            checkpointEnCurso = true;
+            registrosDesdeCheckpoint = 0;
+        }
+        try {
+            ultimaGeneracionCubierta = rotarSegmento();
+        } catch (IOException e) {
+            terminarCheckpoint();
+            throw e;
+        }
+
+        if (!enSegundoPlano) {
+            try {
+                escribirInstantanea(resumenes, ultimaGeneracionCubierta);
+            } finally {
+                terminarCheckpoint();
+            }
+            return;
+        }
+
+        Thread hilo = new Thread(() -> {
+            try {
+                escribirInstantanea(resumenes, ultimaGeneracionCubierta);
+            } catch (IOException e) {
+                System.err.println("Error en el checkpoint: " + e.getMessage());
+            } finally {
+                terminarCheckpoint();
+            }
+        }, "RegistroCambios-checkpoint");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    private void terminarCheckpoint() {
+        synchronized (candado) {
+            checkpointEnCurso = false;
+            candado.notifyAll();
+        }
+    }
+
+    /**
+     * Espera a que el segmento activo quede en disco y abre uno nuevo.
+     *
+     * @return El número del segmento que se cerró.
+     */
+    private int rotarSegmento() throws IOException {
+        synchronized (candado) {
+            // Se espera a que el escritor quede ocioso: todo lo asignado ya es durable
+            while (secuenciaDurable < secuenciaAsignada && errorEscritura == null) {
+                try {
+                    candado.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrumpido esperando el registro de cambios", e);
+                }
+            }
+            verificarEstado();
+            int anterior = generacion;
+            FileChannel nuevo = abrirSegmento(anterior + 1);
+            canal.close();
+            canal = nuevo;
+            generacion = anterior + 1;
+            return anterior;
+        }
+    }
+
+    /**
+     * Guarda la instantánea (SerializadorBinario la reemplaza de forma
+     * atómica) y borra los segmentos cubiertos.
+     */
+    private void escribirInstantanea(ListaSimple<Resumen> resumenes, int ultimaGeneracionCubierta) throws IOException {
+        SerializadorBinario.guardar(resumenes, new File(directorio, base));
+
+        for (int g : generacionesExistentes(directorio, base)) {
+            if (g <= ultimaGeneracionCubierta) {
+                Files.deleteIfExists(archivoSegmento(directorio, base, g).toPath());
+            }
+        }
+    }
+
+    /**
+     * Sincroniza lo pendiente, detiene el hilo escritor y cierra el segmento.
+     *
+     * @throws IOException Si la última escritura falló.
+     */
+    public void cerrar() throws IOException {
+        synchronized (candado) {
+            if (cerrado) return;
+            cerrado = true;
+            candado.notifyAll();
+        }
+        try {
+            hiloEscritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (candado) {
+            while (checkpointEnCurso) {
+                try {
+                    candado.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            canal.close();
+            if (errorEscritura != null) throw errorEscritura;
+        }
+    }
+
+    // --- REPRODUCCIÓN ---
+
+    /**
+     * Reaplica sobre el gestor todos los segmentos existentes, en orden.
+     * El gestor no debe tener un registro conectado mientras se reproduce.
+     *
+     * @param directorio Carpeta de los segmentos.
+     * @param base Nombre del archivo de instantánea.
+     * @param gestor El gestor cargado desde la instantánea.
+     * @return Cantidad de registros reaplicados.
+     * @throws IOException Si no se puede leer un segmento.
+     */
+    public static int reproducir(File directorio, String base, GestorInvestigaciones gestor) throws IOException {
+        return reproducir(directorio, base, gestor, true);
+    }
+
+    /**
+     * Igual que reproducir(directorio, base, gestor), pero permite no tocar
+     * los archivos: un lector que corre mientras otro proceso escribe el
+     * registro no debe recortar un registro que todavía se está escribiendo.
+     *
+     * Si un segmento no se puede leer o tiene un registro con CRC válido
+     * que no se puede aplicar, la reproducción se detiene ahí (los cambios
+     * anteriores quedan aplicados) y, con truncar, ese segmento y los
+     * siguientes se apartan como "[segmento].danado" para que un checkpoint
+     * no los borre ni se mezclen con los segmentos nuevos.
+     *
+     * @param truncar true para recortar la cola dañada de cada segmento y
+     * apartar los segmentos que no se pueden reproducir.
+     * @throws IOException Si un segmento no se pudo reproducir entero; el
+     * mensaje dice cuáles se apartaron.
+     */
+    public static int reproducir(File directorio, String base, GestorInvestigaciones gestor, boolean truncar) throws IOException {
+        int total = 0;
+        int[] generaciones = generacionesExistentes(directorio, base);
+        for (int i = 0; i < generaciones.length; i++) {
+            File segmento = archivoSegmento(directorio, base, generaciones[i]);
+            int finValido = 0;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmento.toPath()));
+                while (buffer.remaining() >= 8) {
+                    int longitud = buffer.getInt();
+                    int crcEsperado = buffer.getInt();
+                    if (longitud < 1 || longitud > buffer.remaining()) break; // Registro incompleto
+                    byte[] contenido = new byte[longitud];
+                    buffer.get(contenido);
+                    CRC32 crc = new CRC32();
+                    crc.update(contenido);
+                    if ((int) crc.getValue() != crcEsperado) break; // Registro dañado
+
+                    aplicar(ByteBuffer.wrap(contenido), gestor);
+                    finValido = buffer.position();
+                    total++;
+                }
+            } catch (IOException | RuntimeException e) {
+                String mensaje = "No se pudo reproducir '" + segmento.getName() + "' después de "
+                        + total + " cambios (" + e.getMessage() + ")";
+                if (truncar) {
+                    for (int j = i; j < generaciones.length; j++) {
+                        File danado = archivoSegmento(directorio, base, generaciones[j]);
+                        Files.move(danado.toPath(), archivoLibre(danado, ".danado").toPath());
+                    }
+                    mensaje += "; se apartaron " + (generaciones.length - i) + " segmentos como '.danado'";
+                }
+                throw new IOException(mensaje, e);
+            }
+            if (truncar && finValido < segmento.length()) {
+                // Se descarta la cola dañada para que no se mezcle con registros futuros
+                try (FileChannel c = FileChannel.open(segmento.toPath(), StandardOpenOption.WRITE)) {
+                    c.truncate(finValido);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static void aplicar(ByteBuffer contenido, GestorInvestigaciones gestor) throws IOException {
+        byte tipo = contenido.get();
+        if (tipo == TIPO_AGREGAR) {
+            String titulo = SerializadorBinario.leerCadena(contenido);
+            String cuerpo = SerializadorBinario.leerCadena(contenido);
+            ListaSimple<String> autores = leerLista(contenido);
+            ListaSimple<String> palabras = leerLista(contenido);
+            gestor.agregarResumen(new Resumen(titulo, autores, cuerpo, palabras));
+        } else if (tipo == TIPO_ELIMINAR) {
+            gestor.eliminarResumen(SerializadorBinario.leerCadena(contenido));
+        } else {
+            throw new IOException("Tipo de registro desconocido: " + tipo);
+        }
+    }
+
+    private static ListaSimple<String> leerLista(ByteBuffer contenido) throws IOException {
+        int cantidad = SerializadorBinario.leerCantidad(contenido);
+        ListaSimple<String> lista = new ListaSimple<>();
+        for (int i = 0; i < cantidad; i++) {
+            lista.agregar(SerializadorBinario.leerCadena(contenido));
+        }
+        return lista;
+    }
+
+    // --- ARCHIVOS DE SEGMENTO ---
+
+    private FileChannel abrirSegmento(int numero) throws IOException {
+        return FileChannel.open(archivoSegmento(directorio, base, numero).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // Primer nombre "archivo + sufijo" (o con .1, .2, ...) que no existe
+    static File archivoLibre(File archivo, String sufijo) {
+        File candidato = new File(archivo.getPath() + sufijo);
+        for (int i = 1; candidato.exists(); i++) {
+            candidato = new File(archivo.getPath() + sufijo + "." + i);
+        }
+        return candidato;
+    }
+
+    private static File archivoSegmento(File directorio, String base, int numero) {
+        return new File(directorio, base + ".wal." + numero);
+    }
+
+    /**
+     * Devuelve los números de segmento existentes, ordenados.
+     */
+    private static int[] generacionesExistentes(File directorio, String base) {
+        String prefijo = base + ".wal.";
+        String[] nombres = directorio.list();
+        if (nombres == null) return new int[0];
+        Integer[] numeros = new Integer[nombres.length];
+        int n = 0;
+        for (String nombre : nombres) {
+            if (nombre.startsWith(prefijo)) {
+                try {
+                    int numero = Integer.parseInt(nombre.substring(prefijo.length()));
+                    numeros[n++] = numero;
+                } catch (NumberFormatException e) {
+                    // No es un segmento: se ignora
+                }
+            }
+        }
+        Ordenamiento.ordenar(numeros, n);
+        int[] resultado = new int[n];
+        for (int i = 0; i < n; i++) {
+            resultado[i] = numeros[i];
+        }
+        return resultado;
+    }
+}
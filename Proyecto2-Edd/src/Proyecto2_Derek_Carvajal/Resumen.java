@@ -15,13 +15,25 @@ package Proyecto2_Derek_Carvajal;
 
 import java.io.Serializable;
 
-public class Resumen implements Serializable {
+public class Resumen implements Serializable, ClaveHash {
     
     private String titulo;
-    private ListaSimple<String> autores;
+    private ClaveNormalizada claveTitulo; // Título normalizado, clave de los índices
     private String cuerpoResumen;
+    private int id; // Id interno asignado por GestorInvestigaciones (-1 si no tiene)
+
+    // Autores y palabras clave tal como llegaron al constructor. Al agregar
+    // el resumen a un gestor se cambian por ids de sus tablas de símbolos
+    // (ver internar) y estas listas se descartan.
+    private ListaSimple<String> autores;
     private ListaSimple<String> palabrasClave;
 
+    // Ids en las tablas de símbolos del gestor (null hasta internar)
+    private int[] idsAutores;
+    private int[] idsPalabras;
+    private TablaSimbolos simbolosAutores;
+    private TablaSimbolos simbolosPalabras;
+
     /**
      * Constructor para la clase Resumen.
      *
@@ -32,9 +44,11 @@ public class Resumen implements Serializable {
      */
     public Resumen(String titulo, ListaSimple<String> autores, String cuerpoResumen, ListaSimple<String> palabrasClave) {
         this.titulo = titulo;
+        this.claveTitulo = new ClaveNormalizada(titulo);
         this.autores = autores;
         this.cuerpoResumen = cuerpoResumen;
         this.palabrasClave = palabrasClave;
+        this.id = -1;
     }
     
    
@@ -44,8 +58,20 @@ public class Resumen implements Serializable {
         if (obj == null) return false;
         if (getClass() != obj.getClass()) return false;
         final Resumen other = (Resumen) obj;
-        // Comparamos por título (ignorando mayúsculas)
-        return this.titulo.equalsIgnoreCase(other.titulo);
+        // Comparamos por título normalizado (sin mayúsculas ni tildes)
+        return this.claveTitulo.equals(other.claveTitulo);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.claveTitulo.hashCode();
+    }
+
+    // Las tablas hash (p. ej. las publicaciones de un Autor) usan el hash
+    // ya calculado del título en lugar de recorrer toString()
+    @Override
+    public int getHashClave() {
+        return this.claveTitulo.getHashClave();
     }
 
     // --- Getters ---
@@ -55,16 +81,84 @@ public class Resumen implements Serializable {
         return titulo;
     }
 
+    public ClaveNormalizada getClaveTitulo() {
+        return claveTitulo;
+    }
+
+    /**
+     * Nombres de los autores. Si el resumen ya está en un gestor, cada
+     * nombre es la forma canónica de su tabla de símbolos (la primera que
+     * se escribió), y la lista se arma en cada llamada.
+     */
     public ListaSimple<String> getAutores() {
-        return autores;
+        return (this.idsAutores != null) ? textos(this.idsAutores, this.simbolosAutores) : this.autores;
     }
 
     public String getCuerpoResumen() {
         return cuerpoResumen;
     }
 
+    /**
+     * Palabras clave (mismo criterio que getAutores).
+     */
     public ListaSimple<String> getPalabrasClave() {
-        return palabrasClave;
+        return (this.idsPalabras != null) ? textos(this.idsPalabras, this.simbolosPalabras) : this.palabrasClave;
+    }
+
+    int[] getIdsAutores() {
+        return idsAutores;
+    }
+
+    int[] getIdsPalabras() {
+        return idsPalabras;
+    }
+
+    /**
+     * Cambia las listas de autores y palabras clave por arreglos de ids en
+     * las tablas de símbolos del gestor. Los nombres repetidos (según su
+     * forma normalizada) quedan una sola vez.
+     * Lo llama GestorInvestigaciones con el candado de escritura tomado.
+     */
+    void internar(TablaSimbolos simbolosAutores, TablaSimbolos simbolosPalabras) {
+        int[] nuevosAutores = internarLista(getAutores(), simbolosAutores);
+        int[] nuevasPalabras = internarLista(getPalabrasClave(), simbolosPalabras);
+        this.idsAutores = nuevosAutores;
+        this.idsPalabras = nuevasPalabras;
+        this.simbolosAutores = simbolosAutores;
+        this.simbolosPalabras = simbolosPalabras;
+        this.autores = null;
+        this.palabrasClave = null;
+    }
+
+    private static int[] internarLista(ListaSimple<String> lista, TablaSimbolos simbolos) {
+        int[] ids = new int[lista.getTamano()];
+        int n = 0;
+        for (String texto : lista) {
+            int id = simbolos.internar(texto);
+            // Las listas son cortas: buscar repetidos recorriéndolas es suficiente
+            boolean repetido = false;
+            for (int i = 0; i < n && !repetido; i++) {
+                repetido = (ids[i] == id);
+            }
+            if (!repetido) ids[n++] = id;
+        }
+        return (n == ids.length) ? ids : java.util.Arrays.copyOf(ids, n);
+    }
+
+    private static ListaSimple<String> textos(int[] ids, TablaSimbolos simbolos) {
+        ListaSimple<String> lista = new ListaSimple<>();
+        for (int id : ids) {
+            lista.agregar(simbolos.getTexto(id));
+        }
+        return lista;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
     }
 
     // (Opcional: un método 'toString' para pruebas de consola)
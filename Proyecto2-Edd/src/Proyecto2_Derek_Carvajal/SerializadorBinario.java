@@ -0,0 +1,239 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ * 
+ * * Formato binario propio para guardar y cargar el repositorio.
+ * Reemplaza la serialización por defecto de Java, que recorre
+ * recursivamente cada NodoLista y NodoAVL y repite cada nombre de autor
+ * y palabra clave en cada estructura.
+ *
+ * Estructura del archivo (enteros de 4 bytes, big-endian):
+ *   MAGIA, VERSION
+ *   n, n cadenas         -> diccionario de autores
+ *   m, m cadenas         -> diccionario de palabras clave
+ *   r, r resúmenes       -> título, cuerpo, #autores, índices de autor,
+ *                           #palabras, índices de palabra
+ * Cada cadena es su longitud en bytes seguida de sus bytes UTF-8.
+ * Al cargar solo se leen los resúmenes; los índices se reconstruyen con
+ * GestorInvestigaciones.agregarResumenes.
+ *
+ * Guardar nunca escribe encima del archivo anterior: se escribe
+ * "[archivo].tmp", se fuerza a disco y se renombra de forma atómica, así
+ * una caída a mitad de camino deja el archivo viejo intacto.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class SerializadorBinario {
+
+    /** "SMET" en ASCII. Un archivo de ObjectOutputStream empieza con 0xACED. */
+    static final int MAGIA = 0x534D4554;
+    static final int VERSION = 1;
+
+    private SerializadorBinario() {
+        // Clase utilitaria: no se instancia
+    }
+
+    /**
+     * Indica si el archivo empieza con la marca de este formato.
+     *
+     * @param archivo El archivo a revisar.
+     * @return true si es un archivo de este formato.
+     */
+    public static boolean esFormatoBinario(File archivo) {
+        if (archivo.length() < 8) return false;
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer cabecera = ByteBuffer.allocate(4);
+            while (cabecera.hasRemaining() && canal.read(cabecera) >= 0) {
+                // Lee hasta completar los 4 bytes
+            }
+            cabecera.flip();
+            return cabecera.remaining() == 4 && cabecera.getInt() == MAGIA;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Guarda todos los resúmenes del gestor en el archivo.
+     *
+     * @param gestor El gestor a guardar.
+     * @param archivo El archivo destino (se sobrescribe).
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public static void guardar(GestorInvestigaciones gestor, File archivo) throws IOException {
+        guardar(gestor.obtenerResumenes(), archivo);
+    }
+
+    /**
+     * Guarda una lista de resúmenes en el archivo.
+     *
+     * @param resumenes Los resúmenes a guardar, en orden de id.
+     * @param archivo El archivo destino (se reemplaza de forma atómica).
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public static void guardar(ListaSimple<Resumen> resumenes, File archivo) throws IOException {
+
+        // Diccionarios: cada autor y palabra clave distinto recibe un índice
+        TablaHash<String, Integer> indiceAutores = new TablaHash<>(resumenes.getTamano() + 1);
+        ListaSimple<String> autores = new ListaSimple<>();
+        TablaHash<String, Integer> indicePalabras = new TablaHash<>(resumenes.getTamano() + 1);
+        ListaSimple<String> palabras = new ListaSimple<>();
+        for (Resumen r : resumenes) {
+            registrar(r.getAutores(), indiceAutores, autores);
+            registrar(r.getPalabrasClave(), indicePalabras, palabras);
+        }
+
+        File temporal = new File(archivo.getPath() + ".tmp");
+        try {
+            FileOutputStream salida = new FileOutputStream(temporal);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(salida, 1 << 16))) {
+                out.writeInt(MAGIA);
+                out.writeInt(VERSION);
+
+                escribirCadenas(out, autores);
+                escribirCadenas(out, palabras);
+
+                out.writeInt(resumenes.getTamano());
+                for (Resumen r : resumenes) {
+                    escribirCadena(out, r.getTitulo());
+                    escribirCadena(out, r.getCuerpoResumen());
+                    escribirIndices(out, r.getAutores(), indiceAutores);
+                    escribirIndices(out, r.getPalabrasClave(), indicePalabras);
+                }
+                out.flush();
+                salida.getChannel().force(true);
+            }
+            Files.move(temporal.toPath(), archivo.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // El archivo anterior no se tocó; solo se descarta el temporal
+            temporal.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * Lee un archivo de este formato y reconstruye un gestor con sus índices.
+     * El archivo se lee a través de un buffer mapeado en memoria.
+     *
+     * @param archivo El archivo a leer.
+     * @return El gestor reconstruido.
+     * @throws IOException Si el archivo no existe, no es de este formato o
+     * está dañado.
+     */
+    public static GestorInvestigaciones cargar(File archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIA) {
+                throw new IOException("El archivo no tiene el formato binario esperado");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de archivo no soportada: " + version);
+            }
+
+            // Cada autor y palabra se crea una sola vez y se comparte
+            String[] autores = leerCadenas(buffer);
+            String[] palabras = leerCadenas(buffer);
+
+            int totalResumenes = leerCantidad(buffer);
+            ListaSimple<Resumen> resumenes = new ListaSimple<>();
+            for (int i = 0; i < totalResumenes; i++) {
+                String titulo = leerCadena(buffer);
+                String cuerpo = leerCadena(buffer);
+                ListaSimple<String> autoresResumen = leerReferencias(buffer, autores);
+                ListaSimple<String> palabrasResumen = leerReferencias(buffer, palabras);
+                resumenes.agregar(new Resumen(titulo, autoresResumen, cuerpo, palabrasResumen));
+            }
+
+            GestorInvestigaciones gestor = new GestorInvestigaciones(false, false);
+            gestor.agregarResumenes(resumenes);
+            return gestor;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Archivo binario incompleto o dañado", e);
+        }
+    }
+
+    // --- ESCRITURA ---
+
+    private static void registrar(ListaSimple<String> valores, TablaHash<String, Integer> indice, ListaSimple<String> orden) {
+        for (String valor : valores) {
+            if (indice.insertar(valor, orden.getTamano())) {
+                orden.agregar(valor);
+            }
+        }
+    }
+
+    private static void escribirCadenas(DataOutputStream out, ListaSimple<String> cadenas) throws IOException {
+        out.writeInt(cadenas.getTamano());
+        for (String cadena : cadenas) {
+            escribirCadena(out, cadena);
+        }
+    }
+
+    static void escribirCadena(DataOutputStream out, String cadena) throws IOException {
+        byte[] bytes = (cadena != null ? cadena : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void escribirIndices(DataOutputStream out, ListaSimple<String> valores, TablaHash<String, Integer> indice) throws IOException {
+        out.writeInt(valores.getTamano());
+        for (String valor : valores) {
+            out.writeInt(indice.buscar(valor));
+        }
+    }
+
+    // --- LECTURA ---
+
+    static int leerCantidad(ByteBuffer buffer) throws IOException {
+        int cantidad = buffer.getInt();
+        if (cantidad < 0 || cantidad > buffer.remaining()) {
+            throw new IOException("Longitud inválida en el archivo: " + cantidad);
+        }
+        return cantidad;
+    }
+
+    static String leerCadena(ByteBuffer buffer) throws IOException {
+        byte[] bytes = new byte[leerCantidad(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] leerCadenas(ByteBuffer buffer) throws IOException {
+        String[] cadenas = new String[leerCantidad(buffer)];
+        for (int i = 0; i < cadenas.length; i++) {
+            cadenas[i] = leerCadena(buffer);
+        }
+        return cadenas;
+    }
+
+    private static ListaSimple<String> leerReferencias(ByteBuffer buffer, String[] diccionario) throws IOException {
+        int cantidad = leerCantidad(buffer);
+        ListaSimple<String> lista = new ListaSimple<>();
+        for (int i = 0; i < cantidad; i++) {
+            lista.agregar(diccionario[buffer.getInt()]);
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Servidor HTTP local para consultar el repositorio sin abrir la
+ * interfaz gráfica. Usa el servidor que trae el JDK
+ * (com.sun.net.httpserver) y atiende cada petición en un hilo virtual.
+ * Todas las respuestas son JSON (UTF-8); las listas se envían por partes
+ * (chunked) a medida que se escriben. Las conexiones se reutilizan
+ * (keep-alive) siempre que el cliente lo permita.
+ *
+ * Rutas:
+ *   GET  /resumen?titulo=T             Detalle de un resumen (404 si no existe)
+ *   GET  /autor?nombre=A               Títulos de un autor
+ *   GET  /palabra?palabra=P            Títulos con esa palabra clave
+ *   GET  /buscar?q=TEXTO&k=10          Búsqueda por texto (BM25)
+ *   GET  /consulta?q=C&limite=         Consulta booleana (ver ConsultaBooleana)
+ *   GET  /autores?desde=&hasta=&desplazamiento=&limite= Autores en orden alfabético
+ *   GET  /titulos?desde=&hasta=&desplazamiento=&limite= Títulos en orden alfabético
+ *   GET  /palabras?desde=&hasta=&desplazamiento=&limite= Palabras clave en orden alfabético
+ *        (desplazamiento salta ese número de elementos: páginas en O(log n + limite);
+ *         la cabecera X-Total-Count dice cuántos hay entre desde y hasta,
+ *         sin contar desplazamiento ni limite)
+ *   GET  /sugerir?campo=autor|palabra&prefijo=&k= Autocompletar (las de más resúmenes primero)
+ *   POST /resumenes                    Agrega un resumen (cuerpo en el formato de LectorResumen)
+ *   GET  /metricas                     Reporte de métricas en texto plano
+ *
+ * Uso: java -cp build/classes Proyecto2_Derek_Carvajal.ServidorConsultas [puerto]
+ *  o   ant servidor -Dservidor.puerto=8080
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ServidorConsultas {
+
+    public static final int PUERTO_POR_DEFECTO = 8080;
+
+    // Tamaño del búfer de escritura de cada respuesta
+    private static final int TAMANO_BUFER = 16 * 1024;
+
+    private final GestorInvestigaciones gestor;
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+
+    /**
+     * Crea el servidor escuchando solo en la interfaz local.
+     *
+     * @param gestor El repositorio a consultar
+     * @param puerto Puerto TCP (0 para uno libre cualquiera)
+     * @throws IOException Si no se puede abrir el puerto
+     */
+    public ServidorConsultas(GestorInvestigaciones gestor, int puerto) throws IOException {
+        this.gestor = gestor;
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        this.ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.servidor.setExecutor(this.ejecutor);
+
+        registrar("/resumen", "GET", this::resumen);
+        registrar("/autor", "GET", this::autor);
+        registrar("/palabra", "GET", this::palabra);
+        registrar("/buscar", "GET", this::buscar);
+        registrar("/consulta", "GET", this::consulta);
+        registrar("/autores", "GET", this::autores);
+        registrar("/titulos", "GET", this::titulos);
+        registrar("/palabras", "GET", this::palabras);
+        registrar("/sugerir", "GET", this::sugerir);
+        registrar("/resumenes", "POST", this::agregar);
+        registrar("/metricas", "GET", this::metricas);
+    }
+
+    public void iniciar() {
+        this.servidor.start();
+    }
+
+    /**
+     * Deja de aceptar peticiones y espera hasta 'segundos' a las que están en curso.
+     */
+    public void detener(int segundos) {
+        this.servidor.stop(segundos);
+        this.ejecutor.close();
+    }
+
+    public int getPuerto() {
+        return this.servidor.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int puerto = (args.length > 0) ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+
+        GestorInvestigaciones gestor = GestorInvestigaciones.cargarDatosConRegistro();
+        gestor.getMetricas().setActivas(true);
+
+        ServidorConsultas servidor = new ServidorConsultas(gestor, puerto);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.detener(2);
+            gestor.cerrarRegistro();
+        }));
+        servidor.iniciar();
+        System.out.println("Servidor escuchando en http://localhost:" + servidor.getPuerto() + "/");
+    }
+
+    // --- RUTAS ---
+
+    private interface Manejador {
+        void atender(HttpExchange intercambio, Parametros parametros) throws IOException;
+    }
+
+    private void registrar(String ruta, String metodo, Manejador manejador) {
+        HttpHandler handler = intercambio -> {
+            try (intercambio) {
+                if (!intercambio.getRequestMethod().equalsIgnoreCase(metodo)) {
+                    intercambio.getResponseHeaders().set("Allow", metodo);
+                    responderError(intercambio, 405, "Método no permitido");
+                    return;
+                }
+                // Solo la ruta exacta (createContext también acepta prefijos)
+                if (!intercambio.getRequestURI().getPath().equals(ruta)) {
+                    responderError(intercambio, 404, "Ruta no encontrada");
+                    return;
+                }
+                try {
+                    manejador.atender(intercambio, new Parametros(intercambio.getRequestURI().getRawQuery()));
+                } catch (IllegalArgumentException e) {
+                    // Parámetros inválidos: se detectan antes de empezar a responder
+                    responderError(intercambio, 400, e.getMessage());
+                }
+            } catch (IOException e) {
+                // El cliente cerró la conexión a mitad de respuesta
+                System.err.println("Error al responder " + ruta + ": " + e.getMessage());
+            }
+        };
+        this.servidor.createContext(ruta, handler);
+    }
+
+    private void resumen(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String titulo = parametros.requerido("titulo");
+        Resumen r = this.gestor.buscarResumenPorTitulo(titulo);
+        if (r == null) {
+            responderError(intercambio, 404, "No existe un resumen con ese título");
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"titulo\":");
+        Json.cadena(sb, r.getTitulo()).append(",\"autores\":");
+        Json.arreglo(sb, r.getAutores()).append(",\"palabrasClave\":");
+        Json.arreglo(sb, r.getPalabrasClave()).append(",\"cuerpo\":");
+        Json.cadena(sb, r.getCuerpoResumen()).append('}');
+        responder(intercambio, 200, sb.toString());
+    }
+
+    private void autor(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String nombre = parametros.requerido("nombre");
+        enviarTitulos(intercambio, "autor", nombre, this.gestor.buscarResumenesPorAutor(nombre));
+    }
+
+    private void palabra(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String palabra = parametros.requerido("palabra");
+        enviarTitulos(intercambio, "palabra", palabra, this.gestor.buscarResumenPorPalabra(palabra));
+    }
+
+    private void buscar(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String consulta = parametros.requerido("q");
+        int k = parametros.entero("k", 10);
+        enviarTitulos(intercambio, "q", consulta, this.gestor.buscarResumenesPorTexto(consulta, k));
+    }
+
+    private void consulta(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String consulta = parametros.requerido("q");
+        int limite = parametros.entero("limite", Integer.MAX_VALUE);
+        // Una consulta mal escrita lanza IllegalArgumentException (400)
+        enviarTitulos(intercambio, "q", consulta, this.gestor.buscarConsulta(consulta, limite));
+    }
+
+    private void autores(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String desde = parametros.opcional("desde");
+        String hasta = parametros.opcional("hasta");
+        int limite = parametros.entero("limite", Integer.MAX_VALUE);
+        int desplazamiento = parametros.entero("desplazamiento", 0);
+        intercambio.getResponseHeaders().set("X-Total-Count", Integer.toString(this.gestor.contarAutoresEnRango(desde, hasta, true)));
+        enviarLista(intercambio, visitante -> this.gestor.recorrerAutoresEnRango(desde, hasta, true, desplazamiento, limite,
+                autor -> visitante.test(autor.getNombre())));
+    }
+
+    private void titulos(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String desde = parametros.opcional("desde");
+        String hasta = parametros.opcional("hasta");
+        int limite = parametros.entero("limite", Integer.MAX_VALUE);
+        int desplazamiento = parametros.entero("desplazamiento", 0);
+        intercambio.getResponseHeaders().set("X-Total-Count", Integer.toString(this.gestor.contarTitulosEnRango(desde, hasta, true)));
+        enviarLista(intercambio, visitante -> this.gestor.recorrerTitulosEnRango(desde, hasta, true, desplazamiento, limite, visitante));
+    }
+
+    private void palabras(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String desde = parametros.opcional("desde");
+        String hasta = parametros.opcional("hasta");
+        int limite = parametros.entero("limite", Integer.MAX_VALUE);
+        int desplazamiento = parametros.entero("desplazamiento", 0);
+        intercambio.getResponseHeaders().set("X-Total-Count", Integer.toString(this.gestor.contarPalabrasClaveEnRango(desde, hasta, true)));
+        enviarLista(intercambio, visitante -> this.gestor.recorrerPalabrasClaveEnRango(desde, hasta, true, desplazamiento, limite, visitante));
+    }
+
+    private void sugerir(HttpExchange intercambio, Parametros parametros) throws IOException {
+        String campo = parametros.requerido("campo");
+        String prefijo = parametros.opcional("prefijo");
+        int k = parametros.entero("k", GestorInvestigaciones.MAX_SUGERENCIAS);
+        ListaSimple<String> sugerencias;
+        if (campo.equals("autor")) {
+            sugerencias = this.gestor.sugerirAutores(prefijo, k);
+        } else if (campo.equals("palabra")) {
+            sugerencias = this.gestor.sugerirPalabrasClave(prefijo, k);
+        } else {
+            throw new IllegalArgumentException("El parámetro 'campo' debe ser autor o palabra");
+        }
+        enviarLista(intercambio, visitante -> {
+            for (String sugerencia : sugerencias) {
+                if (!visitante.test(sugerencia)) return;
+            }
+        });
+    }
+
+    private void agregar(HttpExchange intercambio, Parametros parametros) throws IOException {
+        Resumen nuevo;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(intercambio.getRequestBody(), StandardCharsets.UTF_8))) {
+            nuevo = LectorResumen.leer(br);
+        }
+        if (nuevo.getTitulo().isEmpty()) {
+            responderError(intercambio, 400, "El resumen no tiene título");
+            return;
+        }
+        if (!this.gestor.agregarResumen(nuevo)) {
+            responderError(intercambio, 409, "Ya existe un resumen con ese título");
+            return;
+        }
+        StringBuilder sb = new StringBuilder("{\"agregado\":");
+        Json.cadena(sb, nuevo.getTitulo()).append('}');
+        responder(intercambio, 201, sb.toString());
+    }
+
+    private void metricas(HttpExchange intercambio, Parametros parametros) throws IOException {
+        byte[] cuerpo = this.gestor.reporteMetricas().getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        intercambio.sendResponseHeaders(200, cuerpo.length);
+        try (OutputStream out = intercambio.getResponseBody()) {
+            out.write(cuerpo);
+        }
+    }
+
+    // --- RESPUESTAS ---
+
+    // {"<campo>":"<consulta>","cantidad":n,"resultados":[...]}
+    private void enviarTitulos(HttpExchange intercambio, String campo, String consulta, ListaSimple<Resumen> resumenes) throws IOException {
+        ListaSimple<String> titulos = new ListaSimple<>();
+        if (resumenes != null) {
+            for (Resumen r : resumenes) {
+                titulos.agregar(r.getTitulo());
+            }
+        }
+        StringBuilder sb = new StringBuilder("{");
+        Json.cadena(sb, campo).append(':');
+        Json.cadena(sb, consulta).append(",\"cantidad\":").append(titulos.getTamano()).append(",\"resultados\":");
+        Json.arreglo(sb, titulos).append('}');
+        responder(intercambio, 200, sb.toString());
+    }
+
+    /**
+     * Recorrido que entrega cada valor al visitante hasta que este devuelve
+     * false (por ejemplo, GestorInvestigaciones.recorrerTitulosEnRango).
+     */
+    private interface Recorrido {
+        void recorrer(java.util.function.Predicate<String> visitante);
+    }
+
+    /*
+     * Lista ordenada: cada valor se escribe en cuanto el recorrido lo
+     * entrega, sin armar la lista ni la respuesta completa en memoria. Como
+     * el largo no se conoce de antemano, la respuesta va con
+     * Transfer-Encoding: chunked.
+     */
+    private void enviarLista(HttpExchange intercambio, Recorrido recorrido) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(200, 0);
+        try (Writer salida = new BufferedWriter(new OutputStreamWriter(intercambio.getResponseBody(), StandardCharsets.UTF_8), TAMANO_BUFER)) {
+            StringBuilder sb = new StringBuilder();
+            int[] enviados = {0};
+            salida.write('[');
+            try {
+                recorrido.recorrer(valor -> {
+                    try {
+                        if (enviados[0]++ > 0) salida.write(',');
+                        sb.setLength(0);
+                        salida.append(Json.cadena(sb, valor));
+                        return true;
+                    } catch (IOException e) {
+                        throw new java.io.UncheckedIOException(e);
+                    }
+                });
+            } catch (java.io.UncheckedIOException e) {
+                // El cliente cerró la conexión: se corta el recorrido
+                throw e.getCause();
+            }
+            salida.write(']');
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, String json) throws IOException {
+        byte[] cuerpo = json.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, cuerpo.length);
+        try (OutputStream out = intercambio.getResponseBody()) {
+            out.write(cuerpo);
+        }
+    }
+
+    private static void responderError(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        Json.cadena(sb, mensaje).append('}');
+        responder(intercambio, codigo, sb.toString());
+    }
+
+    /**
+     * Parámetros de la consulta (?a=1&b=2), ya decodificados.
+     */
+    private static class Parametros {
+
+        private final TablaHash<String, String> valores = new TablaHash<>(8);
+
+        Parametros(String consultaCruda) {
+            if (consultaCruda == null || consultaCruda.isEmpty()) return;
+            for (String par : consultaCruda.split("&")) {
+                int igual = par.indexOf('=');
+                String nombre = (igual < 0) ? par : par.substring(0, igual);
+                String valor = (igual < 0) ? "" : par.substring(igual + 1);
+                this.valores.insertar(URLDecoder.decode(nombre, StandardCharsets.UTF_8),
+                        URLDecoder.decode(valor, StandardCharsets.UTF_8));
+            }
+        }
+
+        String requerido(String nombre) {
+            String valor = this.valores.buscar(nombre);
+            if (valor == null || valor.isEmpty()) {
+                throw new IllegalArgumentException("Falta el parámetro '" + nombre + "'");
+            }
+            return valor;
+        }
+
+        String opcional(String nombre) {
+            String valor = this.valores.buscar(nombre);
+            return (valor == null || valor.isEmpty()) ? null : valor;
+        }
+
+        int entero(String nombre, int porDefecto) {
+            String valor = opcional(nombre);
+            if (valor == null) return porDefecto;
+            try {
+                int n = Integer.parseInt(valor);
+                if (n < 0) throw new NumberFormatException();
+                return n;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El parámetro '" + nombre + "' debe ser un entero no negativo");
+            }
+        }
+    }
+}
@@ -17,55 +17,117 @@ package Proyecto2_Derek_Carvajal;
  */
 
 import java.io.Serializable;
+import java.util.Iterator;
 
-public class TablaHash<K, V> implements Serializable{
+public class TablaHash<K, V> implements Diccionario<K, V>, Serializable{
     
+    /**
+     * Factor de carga (elementos / cubetas) a partir del cual la tabla crece.
+     */
+    private static final double FACTOR_CARGA_MAXIMO = 0.75;
+
+    /**
+     * Cubetas de la tabla anterior que se migran en cada operación mientras
+     * hay un rehash en curso.
+     */
+    private static final int CUBETAS_POR_PASO = 4;
+
     private ListaSimple<EntradaHash<K, V>>[] tabla;
     private int tamanoActual; // Número de elementos insertados
     private int tamanoArreglo; // Tamaño del arreglo (M)
 
+    // Rehash incremental: mientras 'tablaAnterior' no sea null, las cubetas
+    // [indiceMigracion, tablaAnterior.length) todavía no se han movido.
+    private ListaSimple<EntradaHash<K, V>>[] tablaAnterior;
+    private int indiceMigracion;
+
     /**
      * Constructor que inicializa la Tabla Hash.
      *
-     * @param tamanoArreglo El tamaño del arreglo subyacente (se recomienda un
-     * número primo).
+     * @param tamanoArreglo El tamaño inicial del arreglo subyacente (se
+     * redondea al siguiente número primo). La tabla crece sola cuando el
+     * factor de carga supera FACTOR_CARGA_MAXIMO.
      */
     public TablaHash(int tamanoArreglo) {
-        this.tamanoArreglo = tamanoArreglo;
+        this.tamanoArreglo = siguientePrimo(Math.max(tamanoArreglo, 2));
         this.tamanoActual = 0;
-        // Inicializa el arreglo principal
-        this.tabla = (ListaSimple<EntradaHash<K, V>>[]) new ListaSimple[tamanoArreglo];
+        // Las listas de cada cubeta se crean solo cuando se necesitan
+        this.tabla = crearArreglo(this.tamanoArreglo);
+        this.tablaAnterior = null;
+        this.indiceMigracion = 0;
+    }
 
-        // ¡Importante! Inicializa una lista vacía en cada posición del arreglo
-        // para evitar NullPointerException.
-        for (int i = 0; i < tamanoArreglo; i++) {
-            this.tabla[i] = new ListaSimple<>();
-        }
+    @SuppressWarnings("unchecked")
+    private ListaSimple<EntradaHash<K, V>>[] crearArreglo(int tamano) {
+        return (ListaSimple<EntradaHash<K, V>>[]) new ListaSimple[tamano];
     }
 
     /**
      * Función Hash diseñada por el estudiante (requisito del proyecto).
-     * Convierte la clave en un índice del arreglo.
+     * Calcula el hash completo de la clave; se guarda en cada EntradaHash
+     * para no tener que recalcularlo.
      *
      * @param clave La clave a "hashear".
-     * @return Un índice dentro del rango [0, tamanoArreglo - 1].
+     * @return Un hash no negativo.
      */
-    private int funcionHash(K clave) {
-        // Convierte la clave a String para procesarla
-        String claveStr = clave.toString();
-        long hash = 0;
+    static int calcularHash(Object clave) {
+        int hash;
+        if (clave instanceof ClaveHash) {
+            // La clave trae su hash precalculado
+            hash = ((ClaveHash) clave).getHashClave();
+        } else if (clave instanceof String) {
+            // String.hashCode() es la misma suma de Horner con base 31, y la
+            // JVM la guarda en el propio String tras calcularla una vez
+            hash = clave.hashCode();
+        } else {
+            // Convierte la clave a String para procesarla
+            String claveStr = clave.toString();
+            hash = 0;
+            // Algoritmo simple: suma ponderada de los caracteres
+            // (Similar al método de Horner)
+            for (int i = 0; i < claveStr.length(); i++) {
+                // Se multiplica por un primo (31) para mejorar la dispersión
+                hash = 31 * hash + claveStr.charAt(i);
+            }
+        }
+        // Mezcla los bits altos con los bajos y quita el bit de signo.
+        // (Math.abs no sirve: Math.abs(MIN_VALUE) sigue siendo negativo)
+        hash ^= (hash >>> 16);
+        return hash & 0x7FFFFFFF;
+    }
 
-        // Algoritmo simple: suma ponderada de los caracteres
-        // (Similar al método de Horner)
-        for (int i = 0; i < claveStr.length(); i++) {
-            // Se multiplica por un primo (31) para mejorar la dispersión
-            hash = (31 * hash + claveStr.charAt(i)); 
+    /**
+     * Convierte un hash ya calculado en un índice del arreglo.
+     *
+     * @param hash El hash no negativo de la clave.
+     * @param capacidad El tamaño del arreglo destino.
+     * @return Un índice dentro del rango [0, capacidad - 1].
+     */
+    private static int indice(int hash, int capacidad) {
+        return hash % capacidad;
+    }
+
+    /**
+     * Busca la entrada de una clave, primero en la tabla actual y luego en la
+     * cubeta pendiente de la tabla anterior (si hay un rehash en curso).
+     */
+    private EntradaHash<K, V> buscarEntrada(K clave, int hash) {
+        EntradaHash<K, V> entrada = buscarEnCubeta(this.tabla[indice(hash, this.tamanoArreglo)], clave, hash);
+        if (entrada == null && this.tablaAnterior != null) {
+            entrada = buscarEnCubeta(this.tablaAnterior[indice(hash, this.tablaAnterior.length)], clave, hash);
         }
+        return entrada;
+    }
 
-        // 1. Asegura que el hash sea positivo
-        hash = Math.abs(hash); 
-        // 2. Aplica módulo para que caiga dentro del tamaño del arreglo
-        return (int) (hash % this.tamanoArreglo);
+    private EntradaHash<K, V> buscarEnCubeta(ListaSimple<EntradaHash<K, V>> lista, K clave, int hash) {
+        if (lista == null) return null;
+        for (EntradaHash<K, V> entrada : lista) {
+            // Se compara el hash antes de llamar a equals()
+            if (entrada.hash == hash && entrada.clave.equals(clave)) {
+                return entrada;
+            }
+        }
+        return null;
     }
     
     /**
@@ -73,17 +135,29 @@ public class TablaHash<K, V> implements Serializable{
      * @param clave La clave a eliminar.
      * @return true si se eliminó, false si no existía.
      */
+    @Override
     public boolean eliminar(K clave) {
-        int indice = funcionHash(clave);
-        ListaSimple<EntradaHash<K, V>> lista = this.tabla[indice];
-
-        // Necesitamos buscar la entrada específica para eliminarla
-        for (int i = 0; i < lista.getTamano(); i++) {
-            EntradaHash<K, V> entrada = lista.get(i);
-            if (entrada.clave.equals(clave)) {
-                // Usamos el método eliminar de la lista que acabamos de crear
-                lista.eliminar(entrada);
-                this.tamanoActual--;
+        avanzarMigracion();
+        int hash = calcularHash(clave);
+
+        // La entrada puede estar en la tabla nueva o aún en la anterior
+        if (eliminarDeCubeta(this.tabla[indice(hash, this.tamanoArreglo)], clave, hash)
+                || (this.tablaAnterior != null
+                    && eliminarDeCubeta(this.tablaAnterior[indice(hash, this.tablaAnterior.length)], clave, hash))) {
+            this.tamanoActual--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean eliminarDeCubeta(ListaSimple<EntradaHash<K, V>> lista, K clave, int hash) {
+        if (lista == null) return false;
+        // Se busca y elimina en una sola pasada usando el iterador de la lista
+        Iterator<EntradaHash<K, V>> it = lista.iterator();
+        while (it.hasNext()) {
+            EntradaHash<K, V> entrada = it.next();
+            if (entrada.hash == hash && entrada.clave.equals(clave)) {
+                it.remove();
                 return true;
             }
         }
@@ -98,27 +172,37 @@ public class TablaHash<K, V> implements Serializable{
      * @param valor El valor (ej: el objeto Resumen).
      * @return true si la inserción fue exitosa, false si la clave ya existía.
      */
+    @Override
     public boolean insertar(K clave, V valor) {
-        int indice = funcionHash(clave);
-        ListaSimple<EntradaHash<K, V>> lista = this.tabla[indice];
+        avanzarMigracion();
+        int hash = calcularHash(clave);
 
         // 1. Validar que no se introduzcan duplicados [cite: 21]
-        // Recorremos la lista en ese índice
-        for (int i = 0; i < lista.getTamano(); i++) {
-            EntradaHash<K, V> entrada = lista.get(i);
-            if (entrada.clave.equals(clave)) {
-                // La clave ya existe. No se inserta.
-                return false; 
-            }
+        if (buscarEntrada(clave, hash) != null) {
+            // La clave ya existe. No se inserta.
+            return false;
         }
 
-        // 2. Si no existe, se agrega
-        EntradaHash<K, V> nuevaEntrada = new EntradaHash<>(clave, valor);
-        lista.agregar(nuevaEntrada);
+        // 2. Si no existe, se agrega siempre en la tabla actual
+        agregarEnTabla(this.tabla, this.tamanoArreglo, new EntradaHash<>(clave, valor, hash));
         this.tamanoActual++;
+
+        // 3. Si se superó el factor de carga, se empieza a crecer
+        if (getFactorCarga() > FACTOR_CARGA_MAXIMO) {
+            iniciarCrecimiento();
+        }
         return true;
     }
 
+    private void agregarEnTabla(ListaSimple<EntradaHash<K, V>>[] destino, int capacidad, EntradaHash<K, V> entrada) {
+        // Se usa el hash guardado: migrar una entrada no recalcula nada
+        int i = indice(entrada.hash, capacidad);
+        if (destino[i] == null) {
+            destino[i] = new ListaSimple<>();
+        }
+        destino[i].agregar(entrada);
+    }
+
     /**
      * Busca un valor en la tabla a partir de su clave.
      * Esta operación debe ser O(1) en promedio.
@@ -126,31 +210,183 @@ public class TablaHash<K, V> implements Serializable{
      * @param clave La clave a buscar.
      * @return El valor asociado a la clave, o null si la clave no se encuentra.
      */
+    @Override
     public V buscar(K clave) {
-        int indice = funcionHash(clave);
-        ListaSimple<EntradaHash<K, V>> lista = this.tabla[indice];
-
-        // Recorremos la lista en el índice correspondiente
-        for (int i = 0; i < lista.getTamano(); i++) {
-            EntradaHash<K, V> entrada = lista.get(i);
-            if (entrada.clave.equals(clave)) {
-                // ¡Encontrado!
-                return entrada.valor;
+        // La búsqueda no avanza la migración: así no modifica la tabla y
+        // puede ejecutarse en paralelo con otras búsquedas
+        EntradaHash<K, V> entrada = buscarEntrada(clave, calcularHash(clave));
+        return (entrada != null) ? entrada.valor : null;
+    }
+
+    // --- CRECIMIENTO Y REHASH INCREMENTAL ---
+
+    /**
+     * Reserva un arreglo de aproximadamente el doble de tamaño (primo) y deja
+     * el actual como 'tablaAnterior' para migrarlo poco a poco.
+     */
+    private void iniciarCrecimiento() {
+        if (this.tablaAnterior != null) {
+            // Caso raro: se llenó de nuevo antes de terminar. Se completa la
+            // migración pendiente antes de crecer otra vez.
+            while (this.tablaAnterior != null) {
+                avanzarMigracion();
             }
         }
+        this.tablaAnterior = this.tabla;
+        this.indiceMigracion = 0;
+        this.tamanoArreglo = siguientePrimo(2 * this.tamanoArreglo + 1);
+        this.tabla = crearArreglo(this.tamanoArreglo);
+    }
 
-        // No se encontró en la lista
-        return null;
+    /**
+     * Mueve hasta CUBETAS_POR_PASO cubetas de la tabla anterior a la actual.
+     * Así ninguna operación individual paga el costo de un rehash completo.
+     * Solo lo llaman insertar y eliminar; como cada crecimiento necesita
+     * muchas más inserciones que cubetas por migrar, la migración siempre
+     * termina antes del siguiente crecimiento.
+     */
+    private void avanzarMigracion() {
+        if (this.tablaAnterior == null) return;
+
+        int movidas = 0;
+        while (movidas < CUBETAS_POR_PASO && this.indiceMigracion < this.tablaAnterior.length) {
+            ListaSimple<EntradaHash<K, V>> lista = this.tablaAnterior[this.indiceMigracion];
+            if (lista != null) {
+                for (EntradaHash<K, V> entrada : lista) {
+                    agregarEnTabla(this.tabla, this.tamanoArreglo, entrada);
+                }
+                this.tablaAnterior[this.indiceMigracion] = null;
+            }
+            this.indiceMigracion++;
+            movidas++;
+        }
+
+        if (this.indiceMigracion >= this.tablaAnterior.length) {
+            // Migración terminada
+            this.tablaAnterior = null;
+            this.indiceMigracion = 0;
+        }
+    }
+
+    /**
+     * Crece de una sola vez hasta la capacidad necesaria para 'elementos'
+     * entradas. Si ya alcanza, no hace nada.
+     *
+     * @param elementos Número total de entradas esperado.
+     */
+    @Override
+    public void reservar(int elementos) {
+        int necesario = (int) Math.ceil(elementos / FACTOR_CARGA_MAXIMO);
+        if (necesario <= this.tamanoArreglo) return;
+
+        // Termina cualquier migración pendiente y rehace todo de una vez
+        while (this.tablaAnterior != null) {
+            avanzarMigracion();
+        }
+        this.tablaAnterior = this.tabla;
+        this.indiceMigracion = 0;
+        this.tamanoArreglo = siguientePrimo(necesario);
+        this.tabla = crearArreglo(this.tamanoArreglo);
+        while (this.tablaAnterior != null) {
+            avanzarMigracion();
+        }
+    }
+
+    private static int siguientePrimo(int n) {
+        int candidato = (n % 2 == 0) ? n + 1 : n;
+        if (n <= 2) return 2;
+        while (!esPrimo(candidato)) {
+            candidato += 2;
+        }
+        return candidato;
+    }
+
+    private static boolean esPrimo(int n) {
+        if (n < 2) return false;
+        if (n % 2 == 0) return n == 2;
+        for (int d = 3; (long) d * d <= n; d += 2) {
+            if (n % d == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el factor de carga actual (elementos / cubetas).
+     * @return El factor de carga.
+     */
+    public double getFactorCarga() {
+        return (double) this.tamanoActual / this.tamanoArreglo;
+    }
+
+    /**
+     * @return true si todavía quedan cubetas de la tabla anterior por migrar
+     */
+    boolean hayMigracionEnCurso() {
+        return this.tablaAnterior != null;
+    }
+
+    /**
+     * Devuelve el número de cubetas del arreglo actual.
+     * @return La capacidad de la tabla.
+     */
+    public int getCapacidad() {
+        return this.tamanoArreglo;
     }
 
     /**
      * Devuelve el número de elementos almacenados en la tabla.
      * @return El número de elementos.
      */
+    @Override
     public int getTamanoActual() {
         return this.tamanoActual;
     }
 
+    /**
+     * Distribución de longitudes de cadena: la posición i del arreglo dice
+     * cuántas cubetas tienen exactamente i entradas. Si hay una migración
+     * en curso se cuentan las cubetas de ambas tablas.
+     *
+     * @return Arreglo de tamaño getCadenaMaxima() + 1
+     */
+    public int[] getDistribucionCadenas() {
+        int[] distribucion = new int[getCadenaMaxima() + 1];
+        contarCadenas(this.tabla, 0, distribucion);
+        if (this.tablaAnterior != null) {
+            contarCadenas(this.tablaAnterior, this.indiceMigracion, distribucion);
+        }
+        return distribucion;
+    }
+
+    /**
+     * Devuelve la longitud de la cadena más larga de la tabla.
+     * @return Máximo de entradas en una misma cubeta
+     */
+    public int getCadenaMaxima() {
+        int maxima = cadenaMaxima(this.tabla, 0);
+        if (this.tablaAnterior != null) {
+            maxima = Math.max(maxima, cadenaMaxima(this.tablaAnterior, this.indiceMigracion));
+        }
+        return maxima;
+    }
+
+    private static <K, V> int cadenaMaxima(ListaSimple<EntradaHash<K, V>>[] arreglo, int desde) {
+        int maxima = 0;
+        for (int i = desde; i < arreglo.length; i++) {
+            if (arreglo[i] != null) {
+                maxima = Math.max(maxima, arreglo[i].getTamano());
+            }
+        }
+        return maxima;
+    }
+
+    private static <K, V> void contarCadenas(ListaSimple<EntradaHash<K, V>>[] arreglo, int desde, int[] distribucion) {
+        for (int i = desde; i < arreglo.length; i++) {
+            int largo = (arreglo[i] == null) ? 0 : arreglo[i].getTamano();
+            distribucion[largo]++;
+        }
+    }
+
     // --- MÉTODO DE PRUEBA (MAIN) ---
 
     /**
@@ -188,20 +424,35 @@ public class TablaHash<K, V> implements Serializable{
 
         System.out.println("\nBuscando 'Un título que no existe':");
         System.out.println(miTabla.buscar("Un título que no existe"));
+
+        // Probamos el crecimiento automático
+        System.out.println("\n--- Prueba de Crecimiento ---");
+        for (int i = 0; i < 1000; i++) {
+            miTabla.insertar("Título de prueba " + i, "Valor " + i);
+        }
+        System.out.println("Total de elementos: " + miTabla.getTamanoActual()); // Debe ser 1003
+        System.out.println("Capacidad: " + miTabla.getCapacidad() + ", factor de carga: " + miTabla.getFactorCarga());
+        System.out.println("Buscando 'Título de prueba 500': " + miTabla.buscar("Título de prueba 500"));
     }
     
+    @Override
     public ListaSimple<K> obtenerTodasLasClaves() {
         ListaSimple<K> claves = new ListaSimple<>();
-        if (tabla != null) {
-            for (int i = 0; i < tabla.length; i++) {
-                if (tabla[i] != null) {
-                    for (int j = 0; j < tabla[i].getTamano(); j++) {
-                        claves.agregar(tabla[i].get(j).clave);
+        agregarClaves(this.tabla, claves);
+        agregarClaves(this.tablaAnterior, claves);
+        return claves;
+    }
+
+    private void agregarClaves(ListaSimple<EntradaHash<K, V>>[] arreglo, ListaSimple<K> claves) {
+        if (arreglo != null) {
+            for (int i = 0; i < arreglo.length; i++) {
+                if (arreglo[i] != null) {
+                    for (EntradaHash<K, V> entrada : arreglo[i]) {
+                        claves.agregar(entrada.clave);
                     }
                 }
             }
         }
-        return claves;
     }
     
  
@@ -0,0 +1,272 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ * 
+ * * Implementación de una Tabla de Dispersión con Direccionamiento Abierto
+ * (sondeo lineal "Robin Hood").
+ * Usa la misma función hash que TablaHash (TablaHash.calcularHash).
+ * Las claves, los valores y los hash ya calculados se guardan en arreglos
+ * paralelos, así que una búsqueda no crea nodos ni salta entre punteros.
+ * Al insertar, un elemento "pobre" (lejos de su cubeta ideal) le quita el
+ * lugar a uno "rico" (cerca de la suya), lo que mantiene cortas las
+ * secuencias de sondeo. Al eliminar se desplazan hacia atrás los elementos
+ * siguientes en vez de dejar lápidas.
+ *
+ * @param <K> El tipo de la Clave (debe tener un buen .toString()).
+ * @param <V> El tipo del Valor a almacenar.
+ */
+
+import java.io.Serializable;
+
+public class TablaHashAbierta<K, V> implements Diccionario<K, V>, Serializable {
+
+    private static final int VACIO = -1; // Marca de casilla libre en 'hashes'
+    private static final double FACTOR_CARGA_MAXIMO = 0.8;
+
+    private Object[] claves;
+    private Object[] valores;
+    private int[] hashes;     // Hash cacheado de cada casilla (VACIO si libre)
+    private int mascara;      // capacidad - 1 (la capacidad es potencia de 2)
+    private int tamanoActual;
+
+    /**
+     * Constructor que inicializa la tabla.
+     *
+     * @param capacidadInicial Capacidad aproximada; se redondea a la
+     * siguiente potencia de 2.
+     */
+    public TablaHashAbierta(int capacidadInicial) {
+        int capacidad = 8;
+        while (capacidad < capacidadInicial) {
+            capacidad <<= 1;
+        }
+        inicializarArreglos(capacidad);
+        this.tamanoActual = 0;
+    }
+
+    private void inicializarArreglos(int capacidad) {
+        this.claves = new Object[capacidad];
+        this.valores = new Object[capacidad];
+        this.hashes = new int[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            this.hashes[i] = VACIO;
+        }
+        this.mascara = capacidad - 1;
+    }
+
+    /**
+     * Distancia entre la casilla 'indice' y la cubeta ideal del hash.
+     */
+    private int distancia(int hash, int indice) {
+        return (indice - (hash & this.mascara)) & this.mascara;
+    }
+
+    /**
+     * Devuelve la casilla que contiene la clave, o -1 si no está.
+     */
+    @SuppressWarnings("unchecked")
+    private int buscarIndice(K clave, int hash) {
+        int indice = hash & this.mascara;
+        int recorrido = 0;
+        while (true) {
+            int h = this.hashes[indice];
+            // Si la casilla está libre, o su dueño está más cerca de su cubeta
+            // que nosotros, la clave no puede estar más adelante.
+            if (h == VACIO || recorrido > distancia(h, indice)) {
+                return -1;
+            }
+            if (h == hash && ((K) this.claves[indice]).equals(clave)) {
+                return indice;
+            }
+            indice = (indice + 1) & this.mascara;
+            recorrido++;
+        }
+    }
+
+    @Override
+    public boolean insertar(K clave, V valor) {
+        int hash = TablaHash.calcularHash(clave);
+        if (buscarIndice(clave, hash) >= 0) {
+            return false; // No se permiten duplicados
+        }
+        if (this.tamanoActual + 1 > (this.mascara + 1) * FACTOR_CARGA_MAXIMO) {
+            crecer();
+        }
+        colocar(clave, valor, hash);
+        this.tamanoActual++;
+        return true;
+    }
+
+    /**
+     * Coloca una entrada que se sabe nueva, desplazando a las "ricas".
+     */
+    private void colocar(Object clave, Object valor, int hash) {
+        int indice = hash & this.mascara;
+        int recorrido = 0;
+        while (true) {
+            int h = this.hashes[indice];
+            if (h == VACIO) {
+                this.claves[indice] = clave;
+                this.valores[indice] = valor;
+                this.hashes[indice] = hash;
+                return;
+            }
+            int distanciaExistente = distancia(h, indice);
+            if (distanciaExistente < recorrido) {
+                // Robin Hood: intercambiamos y seguimos colocando al desplazado
+                Object claveTemp = this.claves[indice];
+                Object valorTemp = this.valores[indice];
+                this.claves[indice] = clave;
+                this.valores[indice] = valor;
+                this.hashes[indice] = hash;
+                clave = claveTemp;
+                valor = valorTemp;
+                hash = h;
+                recorrido = distanciaExistente;
+            }
+            indice = (indice + 1) & this.mascara;
+            recorrido++;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V buscar(K clave) {
+        int indice = buscarIndice(clave, TablaHash.calcularHash(clave));
+        return (indice >= 0) ? (V) this.valores[indice] : null;
+    }
+
+    @Override
+    public boolean eliminar(K clave) {
+        int indice = buscarIndice(clave, TablaHash.calcularHash(clave));
+        if (indice < 0) {
+            return false;
+        }
+        // Desplazamiento hacia atrás: cada elemento siguiente que no esté en
+        // su cubeta ideal retrocede una casilla.
+        int siguiente = (indice + 1) & this.mascara;
+        while (this.hashes[siguiente] != VACIO && distancia(this.hashes[siguiente], siguiente) > 0) {
+            this.claves[indice] = this.claves[siguiente];
+            this.valores[indice] = this.valores[siguiente];
+            this.hashes[indice] = this.hashes[siguiente];
+            indice = siguiente;
+            siguiente = (siguiente + 1) & this.mascara;
+        }
+        this.claves[indice] = null;
+        this.valores[indice] = null;
+        this.hashes[indice] = VACIO;
+        this.tamanoActual--;
+        return true;
+    }
+
+    /**
+     * Duplica la capacidad.
+     */
+    private void crecer() {
+        redimensionar(this.hashes.length * 2);
+    }
+
+    @Override
+    public void reservar(int elementos) {
+        int capacidad = this.hashes.length;
+        while (elementos > capacidad * FACTOR_CARGA_MAXIMO) {
+            capacidad <<= 1;
+        }
+        if (capacidad > this.hashes.length) {
+            redimensionar(capacidad);
+        }
+    }
+
+    /**
+     * Cambia la capacidad y recoloca todas las entradas usando los hash
+     * cacheados (no se vuelve a llamar a toString()).
+     */
+    private void redimensionar(int nuevaCapacidad) {
+        Object[] clavesViejas = this.claves;
+        Object[] valoresViejos = this.valores;
+        int[] hashesViejos = this.hashes;
+        inicializarArreglos(nuevaCapacidad);
+        for (int i = 0; i < hashesViejos.length; i++) {
+            if (hashesViejos[i] != VACIO) {
+                colocar(clavesViejas[i], valoresViejos[i], hashesViejos[i]);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListaSimple<K> obtenerTodasLasClaves() {
+        ListaSimple<K> lista = new ListaSimple<>();
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != VACIO) {
+                lista.agregar((K) this.claves[i]);
+            }
+        }
+        return lista;
+    }
+
+    @Override
+    public int getTamanoActual() {
+        return this.tamanoActual;
+    }
+
+    /**
+     * Devuelve el factor de carga actual (elementos / casillas).
+     * @return El factor de carga.
+     */
+    public double getFactorCarga() {
+        return (double) this.tamanoActual / this.hashes.length;
+    }
+
+    /**
+     * Devuelve el número de casillas del arreglo.
+     * @return La capacidad de la tabla.
+     */
+    public int getCapacidad() {
+        return this.hashes.length;
+    }
+
+    /**
+     * Devuelve la mayor distancia entre una clave y su cubeta ideal, es
+     * decir, el número máximo de casillas extra que revisa una búsqueda.
+     * @return La distancia máxima de sondeo.
+     */
+    public int getSondeoMaximo() {
+        int maximo = 0;
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != VACIO) {
+                maximo = Math.max(maximo, distancia(this.hashes[i], i));
+            }
+        }
+        return maximo;
+    }
+
+    // --- MÉTODO DE PRUEBA (MAIN) ---
+
+    /**
+     * Método main para probar la implementación de la TablaHashAbierta.
+     */
+    public static void main(String[] args) {
+        TablaHashAbierta<String, Integer> miTabla = new TablaHashAbierta<>(4);
+
+        for (int i = 0; i < 1000; i++) {
+            miTabla.insertar("Título " + i, i);
+        }
+        System.out.println("Total de elementos: " + miTabla.getTamanoActual()); // Debe ser 1000
+        System.out.println("Insertando duplicado 'Título 7': " + miTabla.insertar("Título 7", -1)); // false
+
+        for (int i = 0; i < 1000; i += 2) {
+            miTabla.eliminar("Título " + i);
+        }
+        System.out.println("Tras eliminar los pares: " + miTabla.getTamanoActual()); // Debe ser 500
+        System.out.println("Buscando 'Título 8': " + miTabla.buscar("Título 8")); // null
+        System.out.println("Buscando 'Título 9': " + miTabla.buscar("Título 9")); // 9
+        System.out.println("Capacidad: " + miTabla.getCapacidad() + ", factor de carga: " + miTabla.getFactorCarga());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Tabla de símbolos (interning) de cadenas.
+ * Cada texto distinto (según su forma normalizada, ver ClaveNormalizada)
+ * recibe un id entero consecutivo y una única ClaveNormalizada canónica.
+ * GestorInvestigaciones tiene una tabla para autores y otra para palabras
+ * clave: los Resumen guardan solo arreglos de ids, y los índices (Autor,
+ * árboles y tablas hash) comparten la misma instancia de cada clave en
+ * lugar de tener una copia del texto cada uno.
+ *
+ * Los ids no se reutilizan: un símbolo queda en la tabla aunque ya ningún
+ * resumen lo use.
+ *
+ * Se modifica solo con el candado de escritura del gestor. getClave() se
+ * puede llamar sin candado con cualquier id ya publicado (un Resumen que
+ * se obtuvo del gestor): el arreglo se reemplaza ya lleno y es volatile.
+ */
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class TablaSimbolos implements Serializable {
+
+    // Texto normalizado -> id
+    private final Diccionario<ClaveNormalizada, Integer> ids;
+
+    // id -> clave canónica
+    private volatile ClaveNormalizada[] claves;
+    private int tamano;
+
+    public TablaSimbolos() {
+        this.ids = new TablaHash<>(64);
+        this.claves = new ClaveNormalizada[64];
+        this.tamano = 0;
+    }
+
+    /**
+     * Devuelve el id del texto, agregándolo a la tabla si es nuevo.
+     *
+     * @param texto El texto (se normaliza una sola vez aquí)
+     * @return El id del símbolo
+     */
+    public int internar(String texto) {
+        ClaveNormalizada clave = new ClaveNormalizada(texto);
+        Integer id = this.ids.buscar(clave);
+        if (id != null) return id;
+
+        if (this.tamano == this.claves.length) {
+            this.claves = Arrays.copyOf(this.claves, this.tamano * 2);
+        }
+        id = this.tamano;
+        this.claves[this.tamano++] = clave;
+        this.ids.insertar(clave, id);
+        return id;
+    }
+
+    /**
+     * Busca el id de un texto sin agregarlo.
+     *
+     * @param texto El texto a buscar
+     * @return El id, o -1 si el texto no está en la tabla
+     */
+    public int buscarId(String texto) {
+        Integer id = this.ids.buscar(new ClaveNormalizada(texto));
+        return (id != null) ? id : -1;
+    }
+
+    /**
+     * @param id Un id devuelto por internar()
+     * @return La clave canónica del símbolo
+     */
+    public ClaveNormalizada getClave(int id) {
+        return this.claves[id];
+    }
+
+    /**
+     * @param id Un id devuelto por internar()
+     * @return El texto para mostrar del símbolo (la primera forma escrita)
+     */
+    public String getTexto(int id) {
+        return this.claves[id].getTexto();
+    }
+
+    /**
+     * Prepara la tabla para recibir 'cantidad' símbolos en total sin
+     * tener que crecer en el camino.
+     */
+    public void reservar(int cantidad) {
+        if (cantidad > this.claves.length) {
+            this.claves = Arrays.copyOf(this.claves, cantidad);
+        }
+        this.ids.reservar(cantidad);
+    }
+
+    /**
+     * @return Cantidad de símbolos distintos
+     */
+    public int getTamano() {
+        return this.tamano;
+    }
+}
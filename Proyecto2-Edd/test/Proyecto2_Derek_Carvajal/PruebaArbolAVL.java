@@ -0,0 +1,282 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba las estadísticas de orden del ArbolAVL (seleccionar, rango,
+ * pagina) contra java.util.TreeSet, con inserciones y eliminaciones al
+ * azar, y las páginas de un rango acotado que arma el gestor con ellas.
+ * También la construcción por mezcla (desdeOrdenados, agregarOrdenados,
+ * unir): mismo contenido que la unión de conjuntos, altura mínima, y el
+ * árbol intacto si los datos no vienen ordenados.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+class PruebaArbolAVL {
+
+    static void ejecutar() {
+        estadisticasDeOrden();
+        paginasDeRangoEnElGestor();
+        construccionPorMezcla();
+        repetidosYDesorden();
+    }
+
+    private static void estadisticasDeOrden() {
+        ArbolAVL<Integer> arbol = new ArbolAVL<>();
+        TreeSet<Integer> referencia = new TreeSet<>();
+        Random azar = new Random(23);
+
+        for (int i = 0; i < 20000; i++) {
+            Integer dato = azar.nextInt(3000);
+            if (azar.nextInt(3) > 0) {
+                arbol.insertar(dato);
+                referencia.add(dato);
+            } else {
+                arbol.eliminar(dato);
+                referencia.remove(dato);
+            }
+            if (i % 100 != 0) continue;
+
+            verificarIgual(referencia.size(), arbol.tamano(), "tamaño tras la operación " + i);
+            verificar(arbol.getAltura() <= alturaMaximaAVL(arbol.tamano()), "altura " + arbol.getAltura());
+            ArrayList<Integer> enOrden = new ArrayList<>(referencia);
+            for (int j = 0; j < 20 && !enOrden.isEmpty(); j++) {
+                int k = azar.nextInt(enOrden.size());
+                verificarIgual(enOrden.get(k), arbol.seleccionar(k), "seleccionar(" + k + ")");
+                Integer x = azar.nextInt(3100) - 50;
+                verificarIgual(referencia.headSet(x).size(), arbol.rango(x), "rango(" + x + ")");
+
+                int desplazamiento = azar.nextInt(enOrden.size() + 10);
+                int limite = azar.nextInt(60);
+                verificarIgual(sublista(enOrden, desplazamiento, limite),
+                        Pruebas.texto(arbol.pagina(desplazamiento, limite)), "pagina(" + desplazamiento + ", " + limite + ")");
+
+                int desde = azar.nextInt(3000);
+                int hasta = desde + azar.nextInt(400);
+                boolean inclusivo = azar.nextBoolean();
+                verificarIgual(sublista(new ArrayList<>(referencia.subSet(desde, inclusivo, hasta, inclusivo)), 0, limite),
+                        Pruebas.texto(arbol.rango(desde, hasta, inclusivo, limite)), "rango de " + desde + " a " + hasta);
+
+                StringBuilder desdeIterador = new StringBuilder();
+                Iterator<Integer> it = arbol.iteradorDesde(desde, inclusivo);
+                for (int n = 0; n < 5 && it.hasNext(); n++) {
+                    desdeIterador.append(it.next()).append(' ');
+                }
+                StringBuilder esperado = new StringBuilder();
+                int n = 0;
+                for (Integer siguiente : referencia.tailSet(desde, inclusivo)) {
+                    if (n++ == 5) break;
+                    esperado.append(siguiente).append(' ');
+                }
+                verificarIgual(esperado.toString(), desdeIterador.toString(), "iteradorDesde(" + desde + ")");
+            }
+            for (int k : new int[]{-1, referencia.size()}) {
+                boolean lanzo = false;
+                try {
+                    arbol.seleccionar(k);
+                } catch (IndexOutOfBoundsException e) {
+                    lanzo = true;
+                }
+                verificar(lanzo, "seleccionar(" + k + ") no lanzó IndexOutOfBoundsException");
+            }
+        }
+    }
+
+    // Páginas de getTitulosEnRango con límites que están y que no están;
+    // recorrerTitulosEnRango debe dar lo mismo (con más de un bloque) y
+    // contarTitulosEnRango el tamaño del rango sin página
+    private static void paginasDeRangoEnElGestor() {
+        GestorInvestigaciones gestor = new GestorInvestigaciones(false, false);
+        TreeSet<String> titulos = new TreeSet<>();
+        Random azar = new Random(230);
+        for (int i = 0; i < 1500; i++) {
+            String titulo = String.format("Titulo %04d", azar.nextInt(2000));
+            if (titulos.add(titulo)) {
+                ListaSimple<String> autores = new ListaSimple<>();
+                autores.agregar("Autor " + i);
+                ListaSimple<String> palabras = new ListaSimple<>();
+                palabras.agregar("rango");
+                verificar(gestor.agregarResumen(new Resumen(titulo, autores, "Cuerpo.", palabras)), "agregar " + titulo);
+            }
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            String desde = azar.nextInt(8) == 0 ? null : String.format("Titulo %04d", azar.nextInt(2000));
+            String hasta = azar.nextInt(8) == 0 ? null : String.format("Titulo %04d", azar.nextInt(2000));
+            boolean inclusivo = azar.nextBoolean();
+            int desplazamiento = azar.nextInt(40);
+            int limite = (azar.nextInt(4) == 0) ? Integer.MAX_VALUE : azar.nextInt(30);
+
+            ArrayList<String> enRango = new ArrayList<>();
+            if (desde == null || hasta == null || desde.compareTo(hasta) <= 0) {
+                NavigableSet<String> rango = titulos;
+                if (desde != null) rango = rango.tailSet(desde, inclusivo);
+                if (hasta != null) rango = rango.headSet(hasta, inclusivo);
+                enRango.addAll(rango);
+            }
+            String caso = desde + " a " + hasta + " (" + inclusivo + ", " + desplazamiento + ", " + limite + ")";
+            String esperado = sublista(enRango, desplazamiento, limite);
+            verificarIgual(esperado, Pruebas.texto(gestor.getTitulosEnRango(desde, hasta, inclusivo, desplazamiento, limite)),
+                    "títulos de " + caso);
+            ArrayList<String> recorridos = new ArrayList<>();
+            gestor.recorrerTitulosEnRango(desde, hasta, inclusivo, desplazamiento, limite, recorridos::add);
+            verificarIgual(esperado, Pruebas.texto(recorridos), "recorrido de " + caso);
+            verificarIgual(enRango.size(), gestor.contarTitulosEnRango(desde, hasta, inclusivo), "cantidad de " + caso);
+        }
+
+        // El visitante corta el recorrido al devolver false
+        int[] vistos = {0};
+        gestor.recorrerTitulosEnRango(null, null, true, 0, Integer.MAX_VALUE, titulo -> ++vistos[0] < 700);
+        verificarIgual(700, vistos[0], "títulos vistos antes de cortar");
+    }
+
+    private static void construccionPorMezcla() {
+        Random azar = new Random(25);
+        for (int ronda = 0; ronda < 200; ronda++) {
+            TreeSet<Integer> a = conjuntoAlAzar(azar);
+            TreeSet<Integer> b = conjuntoAlAzar(azar);
+            TreeSet<Integer> union = new TreeSet<>(a);
+            union.addAll(b);
+
+            ArbolAVL<Integer> arbolA = ArbolAVL.desdeOrdenados(lista(a));
+            comprobarBalanceado(arbolA, a, "desdeOrdenados");
+            ArbolAVL<Integer> arbolB = ArbolAVL.desdeOrdenados(lista(b));
+
+            ArbolAVL<Integer> unido = ArbolAVL.desdeOrdenados(lista(a));
+            unido.unir(arbolB);
+            comprobarBalanceado(unido, union, "unir");
+            verificarIgual(Pruebas.texto(b), Pruebas.texto(arbolB), "unir modificó el otro árbol");
+
+            ArbolAVL<Integer> agregado = ArbolAVL.desdeOrdenados(lista(a));
+            agregado.agregarOrdenados(lista(b));
+            comprobarBalanceado(agregado, union, "agregarOrdenados");
+
+            // El árbol construido sigue funcionando como AVL
+            for (int i = 0; i < 50; i++) {
+                Integer dato = azar.nextInt(2000);
+                if (azar.nextBoolean()) {
+                    agregado.insertar(dato);
+                    union.add(dato);
+                } else {
+                    agregado.eliminar(dato);
+                    union.remove(dato);
+                }
+            }
+            verificarIgual(Pruebas.texto(union), Pruebas.texto(agregado), "operaciones tras la mezcla");
+            verificarIgual(union.size(), agregado.tamano(), "tamaño tras la mezcla");
+            verificar(agregado.getAltura() <= alturaMaximaAVL(agregado.tamano()), "altura tras la mezcla");
+            if (!union.isEmpty()) {
+                int k = azar.nextInt(union.size());
+                verificarIgual(new ArrayList<>(union).get(k), agregado.seleccionar(k), "seleccionar tras la mezcla");
+            }
+        }
+    }
+
+    private static void repetidosYDesorden() {
+        // Ante un repetido se conserva el dato que ya estaba en el árbol
+        ArbolAVL<Dato> arbol = new ArbolAVL<>();
+        arbol.insertar(new Dato(1, "arbol"));
+        arbol.insertar(new Dato(3, "arbol"));
+        ListaSimple<Dato> nuevos = new ListaSimple<>();
+        nuevos.agregar(new Dato(1, "nuevo"));
+        nuevos.agregar(null);
+        nuevos.agregar(new Dato(2, "nuevo"));
+        nuevos.agregar(new Dato(2, "repetido"));
+        nuevos.agregar(new Dato(3, "nuevo"));
+        arbol.agregarOrdenados(nuevos);
+        verificarIgual("[1arbol, 2nuevo, 3arbol]", Pruebas.texto(arbol), "repetidos y nulos al agregar ordenados");
+
+        ArbolAVL<Dato> otro = new ArbolAVL<>();
+        otro.insertar(new Dato(3, "otro"));
+        otro.insertar(new Dato(4, "otro"));
+        arbol.unir(otro);
+        verificarIgual("[1arbol, 2nuevo, 3arbol, 4otro]", Pruebas.texto(arbol), "repetidos al unir");
+
+        // Datos desordenados: excepción y el árbol como estaba
+        ArbolAVL<Integer> enteros = ArbolAVL.desdeOrdenados(lista(new TreeSet<>(List.of(10, 20, 30))));
+        ListaSimple<Integer> desordenados = new ListaSimple<>();
+        desordenados.agregar(5);
+        desordenados.agregar(25);
+        desordenados.agregar(15);
+        boolean lanzo = false;
+        try {
+            enteros.agregarOrdenados(desordenados);
+        } catch (IllegalArgumentException e) {
+            lanzo = true;
+        }
+        verificar(lanzo, "agregarOrdenados con datos desordenados no lanzó IllegalArgumentException");
+        verificarIgual("[10, 20, 30]", Pruebas.texto(enteros), "el árbol cambió tras el error");
+        verificarIgual(3, enteros.tamano(), "tamaño tras el error");
+        verificarIgual(20, enteros.seleccionar(1), "seleccionar tras el error");
+    }
+
+    private static TreeSet<Integer> conjuntoAlAzar(Random azar) {
+        TreeSet<Integer> conjunto = new TreeSet<>();
+        int cantidad = (azar.nextInt(10) == 0) ? 0 : azar.nextInt(700);
+        for (int i = 0; i < cantidad; i++) {
+            conjunto.add(azar.nextInt(2000));
+        }
+        return conjunto;
+    }
+
+    private static ListaSimple<Integer> lista(TreeSet<Integer> conjunto) {
+        ListaSimple<Integer> lista = new ListaSimple<>();
+        for (Integer dato : conjunto) {
+            lista.agregar(dato);
+        }
+        return lista;
+    }
+
+    // Mismo contenido que el conjunto y la altura mínima posible
+    private static void comprobarBalanceado(ArbolAVL<Integer> arbol, TreeSet<Integer> esperado, String operacion) {
+        verificarIgual(Pruebas.texto(esperado), Pruebas.texto(arbol), operacion);
+        verificarIgual(esperado.size(), arbol.tamano(), "tamaño tras " + operacion);
+        int alturaMinima = 32 - Integer.numberOfLeadingZeros(esperado.size());
+        verificarIgual(alturaMinima, arbol.getAltura(), "altura tras " + operacion + " con " + esperado.size() + " datos");
+    }
+
+    // Dato que se compara solo por la clave, para ver cuál de dos iguales queda
+    private static class Dato implements Comparable<Dato> {
+        private final int clave;
+        private final String origen;
+
+        Dato(int clave, String origen) {
+            this.clave = clave;
+            this.origen = origen;
+        }
+
+        @Override
+        public int compareTo(Dato otro) {
+            return Integer.compare(this.clave, otro.clave);
+        }
+
+        @Override
+        public String toString() {
+            return this.clave + this.origen;
+        }
+    }
+
+    private static String sublista(ArrayList<?> lista, int desplazamiento, int limite) {
+        int inicio = Math.min(desplazamiento, lista.size());
+        return Pruebas.texto(lista.subList(inicio, inicio + Math.min(limite, lista.size() - inicio)));
+    }
+
+    // Cota de la altura de un AVL con n nodos: 1.44 log2(n + 2)
+    static int alturaMaximaAVL(int n) {
+        return (int) Math.floor(1.4405 * Math.log(n + 2) / Math.log(2));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba el borrado con lápidas: las búsquedas no deben devolver
+ * resúmenes eliminados aunque sigan en las listas, el contador de entradas
+ * pendientes ("borrado.entradasPendientes") debe coincidir exactamente con
+ * las entradas muertas que quedan, y compactar() debe dejarlo en 0 sin
+ * cambiar ningún resultado. Se usan pocos borrados para que no arranque
+ * la compactación en segundo plano y el contador sea predecible.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+class PruebaBorrado {
+
+    private static final int AUTORES = 12;
+    private static final int PALABRAS = 60;
+
+    private final GestorInvestigaciones gestor = new GestorInvestigaciones(false, false);
+    private final Random azar = new Random(19);
+
+    // Modelo: títulos vivos de cada clave ("a:" autor, "p:" palabra) y
+    // cuántas entradas muertas tiene su lista
+    private final TreeMap<String, TreeSet<String>> vivos = new TreeMap<>();
+    private final HashMap<String, Integer> muertas = new HashMap<>();
+    private final HashMap<String, Resumen> agregados = new HashMap<>();
+    private final ArrayList<String> titulosVivos = new ArrayList<>();
+
+    static void ejecutar() {
+        new PruebaBorrado().borrarCompactarYReingresar();
+    }
+
+    private void borrarCompactarYReingresar() {
+        for (int i = 0; i < 150; i++) {
+            agregar(nuevo("Trabajo " + i));
+        }
+        comprobarBusquedas("tras agregar");
+
+        ArrayList<Resumen> eliminados = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            eliminados.add(eliminar(titulosVivos.get(azar.nextInt(titulosVivos.size()))));
+            comprobarPendientes("tras eliminar " + i);
+        }
+        verificar(muertas.values().stream().anyMatch(n -> n > 0), "no quedaron entradas muertas");
+        comprobarBusquedas("con lápidas");
+
+        gestor.compactar();
+        muertas.clear();
+        comprobarPendientes("tras compactar");
+        comprobarBusquedas("tras compactar");
+
+        // Volver a agregar un objeto ya eliminado (su id viejo sigue con lápida)
+        for (int i = 0; i < 5; i++) {
+            eliminar(titulosVivos.get(azar.nextInt(titulosVivos.size())));
+        }
+        verificar(pendientes() > 0, "no quedaron entradas muertas antes de reingresar");
+        Resumen reingresado = eliminados.get(0);
+        agregar(reingresado);
+        // El reingreso de un id con lápida compacta todo antes de agregar
+        muertas.clear();
+        comprobarPendientes("tras reingresar");
+        verificar(gestor.buscarResumenPorTitulo(reingresado.getTitulo()) == reingresado, "no se encuentra el reingresado");
+        comprobarBusquedas("tras reingresar");
+    }
+
+    private Resumen nuevo(String titulo) {
+        ListaSimple<String> autores = new ListaSimple<>();
+        int primero = azar.nextInt(AUTORES);
+        autores.agregar("Autor " + primero);
+        if (azar.nextBoolean()) autores.agregar("Autor " + (primero + 1) % AUTORES);
+        ListaSimple<String> palabras = new ListaSimple<>();
+        palabras.agregar("comun");
+        int palabra = azar.nextInt(PALABRAS);
+        palabras.agregar("tema" + palabra);
+        palabras.agregar("tema" + (palabra + 1 + azar.nextInt(PALABRAS - 1)) % PALABRAS);
+        return new Resumen(titulo, autores, "Texto compartido del " + titulo.toLowerCase() + ".", palabras);
+    }
+
+    private void agregar(Resumen resumen) {
+        verificar(gestor.agregarResumen(resumen), "agregar " + resumen.getTitulo());
+        agregados.put(resumen.getTitulo(), resumen);
+        titulosVivos.add(resumen.getTitulo());
+        for (String clave : claves(resumen)) {
+            vivos.computeIfAbsent(clave, c -> new TreeSet<>()).add(resumen.getTitulo());
+        }
+    }
+
+    private Resumen eliminar(String titulo) {
+        Resumen resumen = agregados.get(titulo);
+        verificar(gestor.eliminarResumen(titulo), "eliminar " + titulo);
+        titulosVivos.remove(titulo);
+        for (String clave : claves(resumen)) {
+            TreeSet<String> titulos = vivos.get(clave);
+            titulos.remove(titulo);
+            if (titulos.isEmpty()) {
+                // Sin resúmenes vivos la lista se descarta entera
+                vivos.remove(clave);
+                muertas.remove(clave);
+            } else {
+                muertas.merge(clave, 1, Integer::sum);
+            }
+        }
+        return resumen;
+    }
+
+    private static ArrayList<String> claves(Resumen resumen) {
+        ArrayList<String> claves = new ArrayList<>();
+        for (String autor : resumen.getAutores()) claves.add("a:" + autor);
+        for (String palabra : resumen.getPalabrasClave()) claves.add("p:" + palabra);
+        return claves;
+    }
+
+    private long pendientes() {
+        return gestor.obtenerEstadisticas().buscar("borrado.entradasPendientes");
+    }
+
+    private void comprobarPendientes(String momento) {
+        long esperadas = 0;
+        for (int n : muertas.values()) esperadas += n;
+        verificarIgual(esperadas, pendientes(), "entradas pendientes " + momento);
+    }
+
+    private void comprobarBusquedas(String momento) {
+        verificarIgual(titulosVivos.size(), gestor.getCantidadTitulos(), "títulos " + momento);
+        verificarIgual(titulosVivos.size(), gestor.buscarResumenesPorTexto("compartido", 1000).getTamano(),
+                "búsqueda de texto " + momento);
+        for (String clave : vivos.keySet()) {
+            String nombre = clave.substring(2);
+            TreeSet<String> esperados = vivos.get(clave);
+            if (clave.startsWith("a:")) {
+                verificarIgual(esperados, titulos(gestor.buscarResumenesPorAutor(nombre)), "autor " + nombre + " " + momento);
+                verificarIgual(esperados, titulos(gestor.buscarConsulta("autor:\"" + nombre + "\"", 1000)),
+                        "consulta del autor " + nombre + " " + momento);
+            } else {
+                verificarIgual(esperados, titulos(gestor.buscarResumenPorPalabra(nombre)), "palabra " + nombre + " " + momento);
+                verificarIgual(esperados, titulos(gestor.buscarConsulta(nombre, 1000)),
+                        "consulta de " + nombre + " " + momento);
+            }
+        }
+        // Una palabra sin resúmenes vivos no debe aparecer en las consultas
+        for (int i = 0; i < PALABRAS; i++) {
+            if (!vivos.containsKey("p:tema" + i)) {
+                verificarIgual(0, gestor.buscarConsulta("tema" + i, 1000).getTamano(), "consulta de tema" + i + " " + momento);
+            }
+        }
+    }
+
+    private static TreeSet<String> titulos(ListaSimple<Resumen> resumenes) {
+        TreeSet<String> titulos = new TreeSet<>();
+        if (resumenes == null) return titulos;
+        for (Resumen r : resumenes) {
+            verificar(titulos.add(r.getTitulo()), "resultado repetido " + r.getTitulo());
+        }
+        return titulos;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba la carga de datos guardados con la primera versión del
+ * programa (ObjectOutputStream). 'datos_legado.ser' se escribió con esa
+ * versión: los dos resúmenes de ejemplo más "Trabajo 0" y "Trabajo 2"
+ * (de "Grace Hopper" y "Autor N", palabras "compiladores" y "temaN");
+ * "Trabajo 1" se agregó y se eliminó antes de guardar.
+ *
+ * También comprueba que un archivo que no se puede leer nunca se
+ * sobrescribe, y que un guardado que falla deja la instantánea anterior
+ * intacta.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+class PruebaCargaLegado {
+
+    static void ejecutar() throws Exception {
+        cargaDelFormatoAntiguo();
+        archivoIlegibleSeAparta();
+        archivoIlegibleSoloLectura();
+        guardadoQueFallaNoTocaLaInstantanea();
+    }
+
+    private static void cargaDelFormatoAntiguo() throws Exception {
+        File carpeta = Pruebas.carpetaTemporal("legado");
+        File archivo = new File(carpeta, "datos_supermetro.ser");
+        try (InputStream in = PruebaCargaLegado.class.getResourceAsStream("datos_legado.ser")) {
+            verificar(in != null, "falta el recurso datos_legado.ser");
+            Files.copy(in, archivo.toPath());
+        }
+        byte[] original = Files.readAllBytes(archivo.toPath());
+
+        GestorInvestigaciones gestor = GestorInvestigaciones.cargarDatos(archivo, true);
+        verificarIgual(null, gestor.getAvisoCarga(), "aviso al cargar el archivo antiguo");
+        verificarIgual("[Introducción a la Inteligencia Artificial, Orígenes de la Computación, Trabajo 0, Trabajo 2]",
+                Pruebas.texto(gestor.getTitulosOrdenados()), "títulos");
+        verificarIgual(7, gestor.getCantidadAutores(), "autores");
+        verificarIgual(2, gestor.buscarResumenesPorAutor("Grace Hopper").getTamano(), "resúmenes de Grace Hopper");
+        verificarIgual(2, gestor.buscarResumenPorPalabra("compiladores").getTamano(), "resúmenes con 'compiladores'");
+        String palabras = Pruebas.texto(gestor.getPalabrasClaveOrdenadas());
+        verificar(palabras.contains("tema2"), "falta la palabra 'tema2' en " + palabras);
+        verificar(!palabras.contains("tema1"), "'tema1' era de un resumen eliminado: " + palabras);
+
+        Resumen trabajo = gestor.buscarResumenPorTitulo("Trabajo 2");
+        verificar(trabajo != null, "falta 'Trabajo 2'");
+        verificarIgual("Cuerpo del trabajo 2 sobre compiladores.", trabajo.getCuerpoResumen(), "cuerpo de 'Trabajo 2'");
+        verificarIgual("[Grace Hopper, Autor 2]", Pruebas.texto(trabajo.getAutores()), "autores de 'Trabajo 2'");
+        verificarIgual(1, gestor.buscarResumenesPorTexto("compiladores trabajo 2", 1).getTamano(), "búsqueda de texto");
+
+        // Antes de que un guardado lo pase al formato nuevo queda una copia
+        File copia = new File(carpeta, "datos_supermetro.ser.legado");
+        verificar(copia.exists(), "no se guardó la copia del archivo antiguo");
+        verificar(Arrays.equals(original, Files.readAllBytes(copia.toPath())), "la copia no es igual al original");
+    }
+
+    private static void archivoIlegibleSeAparta() throws Exception {
+        File carpeta = Pruebas.carpetaTemporal("ilegible");
+        File archivo = new File(carpeta, "datos_supermetro.ser");
+        byte[] basura = {(byte) 0xAC, (byte) 0xED, 0, 5, 1, 2, 3};
+        Files.write(archivo.toPath(), basura);
+
+        GestorInvestigaciones gestor = GestorInvestigaciones.cargarDatos(archivo, true);
+        verificar(gestor.getAvisoCarga() != null, "no se avisó que el archivo no se pudo leer");
+        verificar(!archivo.exists(), "el archivo ilegible sigue donde el próximo guardado lo pisaría");
+        File apartado = new File(carpeta, "datos_supermetro.ser.ilegible");
+        verificar(Arrays.equals(basura, Files.readAllBytes(apartado.toPath())), "el archivo apartado cambió");
+    }
+
+    private static void archivoIlegibleSoloLectura() throws Exception {
+        File carpeta = Pruebas.carpetaTemporal("ilegible");
+        File archivo = new File(carpeta, "datos_supermetro.ser");
+        byte[] basura = {(byte) 0xAC, (byte) 0xED, 0, 5, 1, 2, 3};
+        Files.write(archivo.toPath(), basura);
+
+        GestorInvestigaciones gestor = GestorInvestigaciones.cargarDatos(archivo, false);
+        verificar(gestor.getAvisoCarga() != null, "no se avisó que el archivo no se pudo leer");
+        verificar(Arrays.equals(basura, Files.readAllBytes(archivo.toPath())), "la carga de solo lectura tocó el archivo");
+        verificarIgual(1, carpeta.list().length, "archivos en la carpeta");
+    }
+
+    private static void guardadoQueFallaNoTocaLaInstantanea() throws Exception {
+        File carpeta = Pruebas.carpetaTemporal("guardado");
+        File archivo = new File(carpeta, "datos_supermetro.ser");
+        GestorInvestigaciones gestor = new GestorInvestigaciones();
+        SerializadorBinario.guardar(gestor, archivo);
+        verificarIgual(1, carpeta.list().length, "archivos tras guardar (quedó el temporal)");
+        byte[] guardado = Files.readAllBytes(archivo.toPath());
+
+        // Un directorio con el nombre del temporal hace fallar la escritura
+        File temporal = new File(carpeta, "datos_supermetro.ser.tmp");
+        verificar(temporal.mkdir(), "no se pudo crear " + temporal);
+        boolean fallo = false;
+        try {
+            SerializadorBinario.guardar(gestor, archivo);
+        } catch (IOException e) {
+            fallo = true;
+        }
+        verificar(fallo, "el guardado no falló");
+        verificar(Arrays.equals(guardado, Files.readAllBytes(archivo.toPath())), "el guardado fallido tocó la instantánea");
+        verificar(!temporal.exists(), "el guardado fallido dejó el temporal");
+
+        verificarIgual(Pruebas.texto(gestor.getTitulosOrdenados()),
+                Pruebas.texto(SerializadorBinario.cargar(archivo).getTitulosOrdenados()), "títulos guardados");
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba que agregarResumenes (el lote) deja el gestor igual que
+ * llamar a agregarResumen con cada uno, en orden. Los dos gestores parten
+ * de los datos de ejemplo más unos cuantos resúmenes, y el lote trae
+ * títulos repetidos dentro de sí mismo y contra el repositorio, y autores,
+ * palabras y títulos escritos con otras mayúsculas, tildes o espacios.
+ * Se prueba con las dos implementaciones de tabla hash.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+class PruebaCargaMasiva {
+
+    private static final String[] AUTORES = {
+        "José Pérez", "jose perez", "JOSÉ   PÉREZ", "Ana Núñez", "ana nuñez", "Grace Hopper",
+        "grace hopper", "Alan Turing", "Ada Lovelace", "Édouard Lucas", "edouard lucas", "Autor 7"
+    };
+    private static final String[] PALABRAS = {
+        "Búsqueda", "busqueda", "BÚSQUEDA", "grafos", "Grafos", "árboles", "arboles", "compiladores",
+        "redes", "Redes  Neuronales", "redes neuronales", "niño", "nino", "hash"
+    };
+    private static final String[] CUERPOS = {
+        "Análisis de grafos y árboles de búsqueda.", "Redes neuronales para clasificar texto.",
+        "Compiladores, gramáticas y análisis sintáctico.", "Tablas hash con sondeo lineal.",
+        "Un estudio sobre la búsqueda en grafos grandes."
+    };
+    private static final String[] CONSULTAS = {
+        "busqueda", "grafos AND -arboles", "autor:\"jose perez\" OR redes", "NOT hash",
+        "(grafos O compiladores) Y autor:\"ANA NUÑEZ\"", "nino", "niño NO busqueda", "palabra:\"redes neuronales\""
+    };
+    private static final String[] PREFIJOS = {"", "a", "jo", "JOS", "é", "e", "gr", "bu", "ni", "ñ", "redes n", "z"};
+
+    // Lo que hace falta para crear el mismo resumen en cada gestor
+    private static final class Datos {
+        final String titulo;
+        final String[] autores;
+        final String cuerpo;
+        final String[] palabras;
+
+        Datos(String titulo, String[] autores, String cuerpo, String[] palabras) {
+            this.titulo = titulo;
+            this.autores = autores;
+            this.cuerpo = cuerpo;
+            this.palabras = palabras;
+        }
+
+        Resumen crear() {
+            ListaSimple<String> listaAutores = new ListaSimple<>();
+            for (String autor : this.autores) listaAutores.agregar(autor);
+            ListaSimple<String> listaPalabras = new ListaSimple<>();
+            for (String palabra : this.palabras) listaPalabras.agregar(palabra);
+            return new Resumen(this.titulo, listaAutores, this.cuerpo, listaPalabras);
+        }
+    }
+
+    static void ejecutar() {
+        loteIgualAUnoPorUno(false);
+        loteIgualAUnoPorUno(true);
+    }
+
+    private static void loteIgualAUnoPorUno(boolean abierto) {
+        String modo = abierto ? " (direccionamiento abierto)" : " (encadenamiento)";
+        Random azar = new Random(abierto ? 11 : 5);
+        GestorInvestigaciones uno = new GestorInvestigaciones(abierto);
+        GestorInvestigaciones lote = new GestorInvestigaciones(abierto);
+
+        // Repositorio no vacío: los de ejemplo más algunos iguales en ambos
+        for (int i = 0; i < 25; i++) {
+            Datos datos = datos(azar, i);
+            verificarIgual(uno.agregarResumen(datos.crear()), lote.agregarResumen(datos.crear()), "precarga " + datos.titulo + modo);
+        }
+
+        ArrayList<Datos> nuevos = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            nuevos.add(datos(azar, azar.nextInt(120)));
+        }
+        // Títulos ya guardados, con otra escritura
+        nuevos.add(new Datos("introducción a la INTELIGENCIA artificial", new String[] {"Nadie"}, "Otro cuerpo.", new String[] {"otra"}));
+        nuevos.add(new Datos("  Orígenes  de la computación ", new String[] {"Nadie"}, "Otro cuerpo.", new String[] {"otra"}));
+
+        int aceptadosUno = 0;
+        ListaSimple<Resumen> listaLote = new ListaSimple<>();
+        for (Datos datos : nuevos) {
+            if (uno.agregarResumen(datos.crear())) aceptadosUno++;
+            listaLote.agregar(datos.crear());
+        }
+        verificarIgual(aceptadosUno, lote.agregarResumenes(listaLote), "resúmenes aceptados" + modo);
+
+        comparar(uno, lote, modo);
+    }
+
+    // Títulos de un grupo chico (se repiten) con variantes de escritura
+    private static Datos datos(Random azar, int numero) {
+        String titulo = switch (azar.nextInt(4)) {
+            case 0 -> "Análisis número " + numero;
+            case 1 -> "ANALISIS NÚMERO " + numero;
+            case 2 -> "análisis   numero " + numero;
+            default -> "Trabajo " + numero;
+        };
+        String[] autores = new String[1 + azar.nextInt(3)];
+        for (int i = 0; i < autores.length; i++) {
+            autores[i] = AUTORES[azar.nextInt(AUTORES.length)];
+        }
+        String[] palabras = new String[1 + azar.nextInt(4)];
+        for (int i = 0; i < palabras.length; i++) {
+            palabras[i] = PALABRAS[azar.nextInt(PALABRAS.length)];
+        }
+        return new Datos(titulo, autores, CUERPOS[azar.nextInt(CUERPOS.length)] + " Caso " + numero + ".", palabras);
+    }
+
+    private static void comparar(GestorInvestigaciones uno, GestorInvestigaciones lote, String modo) {
+        verificarIgual(uno.getCantidadTitulos(), lote.getCantidadTitulos(), "cantidad de títulos" + modo);
+        verificarIgual(uno.getCantidadAutores(), lote.getCantidadAutores(), "cantidad de autores" + modo);
+        verificarIgual(uno.getCantidadPalabrasClave(), lote.getCantidadPalabrasClave(), "cantidad de palabras" + modo);
+        verificarIgual(Pruebas.texto(uno.getTitulosOrdenados()), Pruebas.texto(lote.getTitulosOrdenados()), "títulos" + modo);
+        verificarIgual(nombres(uno.getAutoresOrdenados()), nombres(lote.getAutoresOrdenados()), "autores" + modo);
+        verificarIgual(Pruebas.texto(uno.getPalabrasClaveOrdenadas()), Pruebas.texto(lote.getPalabrasClaveOrdenadas()),
+                "palabras clave" + modo);
+
+        for (Resumen resumen : resultados(uno.getTitulosOrdenados(), uno)) {
+            Resumen otro = lote.buscarResumenPorTitulo(resumen.getTitulo());
+            verificarIgual(descripcion(resumen), otro != null ? descripcion(otro) : null, "resumen " + resumen.getTitulo() + modo);
+        }
+        for (String autor : AUTORES) {
+            verificarIgual(titulos(uno.buscarResumenesPorAutor(autor)), titulos(lote.buscarResumenesPorAutor(autor)),
+                    "resúmenes de " + autor + modo);
+        }
+        for (String palabra : PALABRAS) {
+            verificarIgual(titulos(uno.buscarResumenPorPalabra(palabra)), titulos(lote.buscarResumenPorPalabra(palabra)),
+                    "resúmenes con " + palabra + modo);
+        }
+        for (String prefijo : PREFIJOS) {
+            verificarIgual(Pruebas.texto(uno.sugerirAutores(prefijo, 5)), Pruebas.texto(lote.sugerirAutores(prefijo, 5)),
+                    "sugerencias de autores para '" + prefijo + "'" + modo);
+            verificarIgual(Pruebas.texto(uno.sugerirPalabrasClave(prefijo, 5)), Pruebas.texto(lote.sugerirPalabrasClave(prefijo, 5)),
+                    "sugerencias de palabras para '" + prefijo + "'" + modo);
+        }
+        for (String consulta : CONSULTAS) {
+            verificarIgual(titulos(uno.buscarConsulta(consulta, 1000)), titulos(lote.buscarConsulta(consulta, 1000)),
+                    "consulta " + consulta + modo);
+        }
+        for (String texto : new String[] {"análisis de grafos", "redes neuronales", "caso 17", "busqueda en grafos grandes"}) {
+            verificarIgual(titulos(uno.buscarResumenesPorTexto(texto, 20)), titulos(lote.buscarResumenesPorTexto(texto, 20)),
+                    "BM25 de '" + texto + "'" + modo);
+        }
+    }
+
+    private static ListaSimple<Resumen> resultados(ListaSimple<String> titulos, GestorInvestigaciones gestor) {
+        ListaSimple<Resumen> resumenes = new ListaSimple<>();
+        for (String titulo : titulos) resumenes.agregar(gestor.buscarResumenPorTitulo(titulo));
+        return resumenes;
+    }
+
+    private static String descripcion(Resumen resumen) {
+        return resumen.getId() + " " + resumen.getTitulo() + " " + Pruebas.texto(resumen.getAutores()) + " "
+                + Pruebas.texto(resumen.getPalabrasClave());
+    }
+
+    private static String nombres(ListaSimple<Autor> autores) {
+        StringBuilder sb = new StringBuilder();
+        for (Autor autor : autores) {
+            sb.append(autor.getNombre()).append(" (").append(autor.getResumenes().getTamano()).append("); ");
+        }
+        return sb.toString();
+    }
+
+    // Los resultados en el orden en que los devuelve el gestor
+    private static String titulos(ListaSimple<Resumen> resumenes) {
+        if (resumenes == null) return "null";
+        StringBuilder sb = new StringBuilder();
+        for (Resumen resumen : resumenes) {
+            sb.append(resumen.getTitulo()).append("; ");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba ClaveNormalizada.normalizar: se quitan las tildes (NFD) pero
+ * se conserva la ñ, se pliegan las mayúsculas como en equalsIgnoreCase y
+ * se colapsan los espacios. Con textos al azar comprueba que el atajo
+ * ASCII da lo mismo que el camino completo y que el resultado ya no
+ * cambia si se normaliza otra vez.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.Random;
+
+class PruebaClaveNormalizada {
+
+    private static final String[][] CASOS = {
+        // Tildes, diéresis y otras marcas (NFD)
+        {"Computación", "computacion"},
+        {"pingüino", "pinguino"},
+        {"Édouard Lucas", "edouard lucas"},
+        {"Crème Brûlée", "creme brulee"},
+        {"a\u0301rbol", "arbol"},   // Tilde escrita como marca combinante
+        {"ã", "a"},                  // La tilde solo se conserva sobre la n
+        // La ñ se conserva, escrita de una vez o con la marca aparte
+        {"Ñandú", "ñandu"},
+        {"año", "año"},
+        {"ano", "ano"},
+        {"An\u0303o", "año"},
+        {"NIÑO", "niño"},
+        // Mayúsculas: el mismo plegado que equalsIgnoreCase
+        {"ADA LOVELACE", "ada lovelace"},
+        {"ΟΔΥΣΣΕΎΣ", "οδυσσευσ"},
+        {"Οδυσσεύς", "οδυσσευσ"},
+        {"İstanbul", "istanbul"},
+        // Espacios: se colapsan y se quitan en los extremos
+        {"  redes \t\n neuronales  ", "redes neuronales"},
+        {"redes\u00a0\u2003neuronales", "redes neuronales"},
+        {"\u3000grafos\u3000", "grafos"},
+        {"   ", ""},
+        {"", ""},
+        {null, ""},
+        // Lo que no es letra queda igual
+        {"c++ y c#", "c++ y c#"},
+        {"a😀B", "a😀b"},
+    };
+
+    // Letras que se mezclan en los textos al azar
+    private static final String EXTRA = "áéíóúÁÉÍÓÚñÑüÜçÇ\u0301\u0303\u00a0\u2003\t\n";
+
+    static void ejecutar() {
+        casosConocidos();
+        textosAlAzar();
+    }
+
+    private static void casosConocidos() {
+        for (String[] caso : CASOS) {
+            verificarIgual(caso[1], ClaveNormalizada.normalizar(caso[0]), "normalizar [" + caso[0] + "]");
+        }
+        ClaveNormalizada clave = new ClaveNormalizada("  COMPUTACIÓN ");
+        verificarIgual("COMPUTACIÓN", clave.getTexto(), "texto para mostrar");
+        verificarIgual(new ClaveNormalizada("computacion"), clave, "misma clave");
+        verificarIgual(new ClaveNormalizada("Computación").hashCode(), clave.hashCode(), "mismo hash");
+        verificar(!new ClaveNormalizada("año").equals(new ClaveNormalizada("ano")), "año y ano son la misma clave");
+        verificar(new ClaveNormalizada("Ana").compareTo(new ClaveNormalizada("ÁNGEL")) < 0, "Ana debería ir antes que ÁNGEL");
+    }
+
+    private static void textosAlAzar() {
+        Random azar = new Random(17);
+        int atajos = 0;
+        for (int i = 0; i < 20000; i++) {
+            boolean soloAscii = azar.nextBoolean();
+            StringBuilder sb = new StringBuilder();
+            int largo = azar.nextInt(12);
+            for (int j = 0; j < largo; j++) {
+                int tipo = azar.nextInt(10);
+                if (tipo < 2) {
+                    sb.append(' ');
+                } else if (soloAscii || tipo < 8) {
+                    sb.append((char) azar.nextInt(128));
+                } else {
+                    sb.append(EXTRA.charAt(azar.nextInt(EXTRA.length())));
+                }
+            }
+            String texto = sb.toString();
+            String normalizado = ClaveNormalizada.normalizar(texto);
+            verificarIgual(ClaveNormalizada.normalizarSinAtajo(texto), normalizado, "atajo para [" + texto + "]");
+            verificarIgual(normalizado, ClaveNormalizada.normalizar(normalizado), "normalizar dos veces [" + texto + "]");
+            if (normalizado.equals(texto)) atajos++;
+            comprobarForma(normalizado, texto);
+        }
+        verificar(atajos > 1000, "pocos textos ya normalizados: " + atajos);
+    }
+
+    private static void comprobarForma(String normalizado, String texto) {
+        verificar(!normalizado.startsWith(" ") && !normalizado.endsWith(" ") && !normalizado.contains("  "),
+                "espacios sin colapsar en [" + normalizado + "] de [" + texto + "]");
+        normalizado.codePoints().forEach(c -> {
+            verificar(c == ' ' || !(Character.isWhitespace(c) || Character.isSpaceChar(c)),
+                    "espacio raro en [" + normalizado + "] de [" + texto + "]");
+            verificar(Character.getType(c) != Character.NON_SPACING_MARK, "marca en [" + normalizado + "] de [" + texto + "]");
+            verificar(Character.toLowerCase(Character.toUpperCase(c)) == c, "mayúscula en [" + normalizado + "] de [" + texto + "]");
+        });
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba ConsultaBooleana: el árbol que arma el analizador (con su
+ * forma canónica, toString), los mensajes de error con su posición, y
+ * la ejecución con cursores contra un modelo de conjuntos evaluado a
+ * fuerza bruta sobre consultas generadas al azar.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Random;
+
+class PruebaConsultaBooleana {
+
+    private static final String[][] FORMAS = {
+        // NOT antes que AND, AND antes que OR
+        {"a OR b AND NOT c", "(palabra:\"a\" OR (palabra:\"b\" AND NOT palabra:\"c\"))"},
+        {"a O b Y NO c", "(palabra:\"a\" OR (palabra:\"b\" AND NOT palabra:\"c\"))"},
+        {"a -b OR -c d", "((palabra:\"a\" AND NOT palabra:\"b\") OR (NOT palabra:\"c\" AND palabra:\"d\"))"},
+        // AND implícito
+        {"a b", "(palabra:\"a\" AND palabra:\"b\")"},
+        {"a (b OR c)", "(palabra:\"a\" AND (palabra:\"b\" OR palabra:\"c\"))"},
+        {"a or b", "(palabra:\"a\" AND palabra:\"or\" AND palabra:\"b\")"},
+        // Negaciones
+        {"-x", "NOT palabra:\"x\""},
+        {"NOT a", "NOT palabra:\"a\""},
+        {"NO a", "NOT palabra:\"a\""},
+        {"NOT NOT a", "NOT NOT palabra:\"a\""},
+        {"-(a)", "NOT palabra:\"a\""},
+        // Campos
+        {"autor:\"Ada Lovelace\" grafos", "(autor:\"Ada Lovelace\" AND palabra:\"grafos\")"},
+        {"Palabra:grafos", "palabra:\"grafos\""},
+        {"autor:\"Grace Hopper\" O autor:Turing", "(autor:\"Grace Hopper\" OR autor:\"Turing\")"},
+        // Paréntesis anidados y aplanado de operadores iguales
+        {"((a OR (b c)) -(d O e))",
+            "((palabra:\"a\" OR (palabra:\"b\" AND palabra:\"c\")) AND NOT (palabra:\"d\" OR palabra:\"e\"))"},
+        {"(a AND b) AND c", "(palabra:\"a\" AND palabra:\"b\" AND palabra:\"c\")"},
+        {"a OR (b OR (c OR d))", "(palabra:\"a\" OR palabra:\"b\" OR palabra:\"c\" OR palabra:\"d\")"},
+        {"((((a))))", "palabra:\"a\""},
+    };
+
+    private static final String[][] ERRORES = {
+        {"", "La consulta está vacía"},
+        {"   ", "La consulta está vacía"},
+        {"a AND", "Falta un término al final (posición 6)"},
+        {"a OR", "Falta un término al final (posición 5)"},
+        {"NOT", "Falta un término al final (posición 4)"},
+        {"(a OR b", "Falta ')' (posición 8)"},
+        {"a )", "No se esperaba ')' (posición 3)"},
+        {"a AND ()", "Se esperaba un término (posición 8)"},
+        {"autor:\"Ada", "Comillas sin cerrar (posición 7)"},
+        {"titulo:x", "Campo desconocido 'titulo' (se espera autor o palabra) (posición 7)"},
+        {"autor:\"\"", "Término vacío (posición 9)"},
+    };
+
+    private static final int IDS = 300;
+    private static final int PALABRAS = 6;
+    private static final int AUTORES = 3;
+
+    static void ejecutar() {
+        formaCanonica();
+        mensajesDeError();
+        ejecucionContraModelo();
+    }
+
+    private static void formaCanonica() {
+        for (String[] caso : FORMAS) {
+            verificarIgual(caso[1], ConsultaBooleana.analizar(caso[0]).toString(), "forma de " + caso[0]);
+            // La forma canónica se vuelve a leer igual
+            verificarIgual(caso[1], ConsultaBooleana.analizar(caso[1]).toString(), "forma de " + caso[1]);
+        }
+    }
+
+    private static void mensajesDeError() {
+        for (String[] caso : ERRORES) {
+            String mensaje = null;
+            try {
+                ConsultaBooleana.analizar(caso[0]);
+            } catch (IllegalArgumentException e) {
+                mensaje = e.getMessage();
+            }
+            verificarIgual(caso[1], mensaje, "error de [" + caso[0] + "]");
+        }
+    }
+
+    // --- EJECUCIÓN ---
+
+    // Una consulta escrita y lo que debería devolver
+    private static final class Expresion {
+        final String texto;
+        final BitSet ids;
+        final int precedencia; // 3 término o NOT, 2 AND, 1 OR
+
+        Expresion(String texto, BitSet ids, int precedencia) {
+            this.texto = texto;
+            this.ids = ids;
+            this.precedencia = precedencia;
+        }
+    }
+
+    private static final class Fuente implements ConsultaBooleana.Fuente {
+        final HashMap<String, ListaIds> listas = new HashMap<>();
+        final HashMap<String, BitSet> conjuntos = new HashMap<>();
+        final ConjuntoBits borrados = new ConjuntoBits();
+        final BitSet vivos = new BitSet();
+
+        @Override
+        public ListaIds getIds(ConsultaBooleana.Campo campo, String texto) {
+            return this.listas.get(campo.getNombre() + ":" + texto);
+        }
+
+        @Override
+        public ConjuntoBits getBorrados() {
+            return this.borrados;
+        }
+
+        @Override
+        public int getLimiteIds() {
+            return IDS;
+        }
+    }
+
+    private static void ejecucionContraModelo() {
+        Random azar = new Random(23);
+        Fuente fuente = new Fuente();
+        for (int id = 0; id < IDS; id++) {
+            if (azar.nextInt(8) == 0) {
+                fuente.borrados.marcar(id);
+            } else {
+                fuente.vivos.set(id);
+            }
+        }
+        // Listas de distintos tamaños; los ids borrados siguen en ellas
+        for (int i = 0; i < PALABRAS + AUTORES; i++) {
+            String clave = (i < PALABRAS) ? "palabra:t" + i : "autor:Autor " + (i - PALABRAS);
+            ListaIds lista = new ListaIds();
+            BitSet conjunto = new BitSet();
+            int cada = 2 + i % 5;
+            for (int id = 0; id < IDS; id++) {
+                if (azar.nextInt(cada) == 0) {
+                    lista.agregar(id);
+                    conjunto.set(id);
+                }
+            }
+            conjunto.and(fuente.vivos);
+            fuente.listas.put(clave, lista);
+            fuente.conjuntos.put(clave, conjunto);
+        }
+
+        int conResultados = 0;
+        for (int i = 0; i < 3000; i++) {
+            Expresion expresion = generar(azar, fuente, 4);
+            BitSet obtenidos = new BitSet();
+            ConsultaBooleana.Cursor cursor = ConsultaBooleana.analizar(expresion.texto).abrir(fuente);
+            int anterior = -1;
+            for (int id = cursor.avanzar(); id != ConsultaBooleana.FIN; id = cursor.avanzar()) {
+                verificar(id > anterior, "ids fuera de orden en " + expresion.texto);
+                obtenidos.set(id);
+                anterior = id;
+            }
+            verificarIgual(expresion.ids, obtenidos, "resultados de " + expresion.texto);
+            if (!obtenidos.isEmpty()) conResultados++;
+        }
+        verificar(conResultados > 1000, "pocas consultas con resultados: " + conResultados);
+    }
+
+    private static Expresion generar(Random azar, Fuente fuente, int profundidad) {
+        int tipo = (profundidad == 0) ? 0 : azar.nextInt(4);
+        switch (tipo) {
+            case 1: {
+                Expresion hijo = generar(azar, fuente, profundidad - 1);
+                BitSet ids = (BitSet) fuente.vivos.clone();
+                ids.andNot(hijo.ids);
+                String operador = new String[] {"NOT ", "NO ", "-"}[azar.nextInt(3)];
+                return new Expresion(operador + agrupar(hijo, 3, azar), ids, 3);
+            }
+            case 2:
+            case 3: {
+                boolean esY = (tipo == 2);
+                int precedencia = esY ? 2 : 1;
+                Expresion izquierda = generar(azar, fuente, profundidad - 1);
+                Expresion derecha = generar(azar, fuente, profundidad - 1);
+                BitSet ids = (BitSet) izquierda.ids.clone();
+                if (esY) ids.and(derecha.ids);
+                else ids.or(derecha.ids);
+                String operador = esY ? new String[] {" AND ", " Y ", " "}[azar.nextInt(3)]
+                        : new String[] {" OR ", " O "}[azar.nextInt(2)];
+                String texto = agrupar(izquierda, precedencia, azar) + operador + agrupar(derecha, precedencia, azar);
+                return new Expresion(texto, ids, precedencia);
+            }
+            default: {
+                int n = azar.nextInt(PALABRAS + AUTORES + 1);
+                if (n == PALABRAS + AUTORES) {
+                    // Término que no existe
+                    return new Expresion("ausente", new BitSet(), 3);
+                }
+                if (n < PALABRAS) {
+                    String texto = azar.nextBoolean() ? "t" + n : "palabra:t" + n;
+                    return new Expresion(texto, fuente.conjuntos.get("palabra:t" + n), 3);
+                }
+                String autor = "Autor " + (n - PALABRAS);
+                return new Expresion("autor:\"" + autor + "\"", fuente.conjuntos.get("autor:" + autor), 3);
+            }
+        }
+    }
+
+    // Paréntesis cuando la precedencia los exige, y a veces de más
+    private static String agrupar(Expresion hijo, int precedencia, Random azar) {
+        if (hijo.precedencia < precedencia || azar.nextInt(5) == 0) {
+            return "(" + hijo.texto + ")";
+        }
+        return hijo.texto;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba la corrección de nombres mal escritos: ArbolBK.buscar contra
+ * una comparación con todos los símbolos (y sus palabras sueltas), y en
+ * el gestor que "McCarty" lleve al símbolo en uso "John McCarthy", que se
+ * busque también por palabra, que las claves cortas no toleren errores y
+ * que un símbolo sin resúmenes nunca se devuelva.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.HashMap;
+import java.util.Random;
+
+class PruebaCorreccion {
+
+    static void ejecutar() {
+        arbolContraFuerzaBruta();
+        correccionEnElGestor();
+    }
+
+    private static void arbolContraFuerzaBruta() {
+        Random azar = new Random(13);
+        TablaSimbolos simbolos = new TablaSimbolos();
+        ArbolBK arbol = new ArbolBK(simbolos);
+        for (int i = 0; i < 400; i++) {
+            // Algunos de una palabra y otros de dos, con letras que se repiten
+            String texto = palabraAlAzar(azar) + (azar.nextBoolean() ? " " + palabraAlAzar(azar) : "");
+            arbol.agregar(simbolos.internar(texto));
+        }
+        verificarIgual(simbolos.getTamano(), arbol.getTamano(), "símbolos en el árbol");
+
+        for (int i = 0; i < 500; i++) {
+            String clave = palabraAlAzar(azar) + (azar.nextInt(4) == 0 ? " " + palabraAlAzar(azar) : "");
+            int maximo = azar.nextInt(4);
+            HashMap<Integer, Integer> esperados = new HashMap<>();
+            for (int id = 0; id < simbolos.getTamano(); id++) {
+                String completo = simbolos.getClave(id).getClave();
+                int menor = ArbolBK.distancia(clave, completo);
+                for (String palabra : completo.split(" ")) {
+                    menor = Math.min(menor, ArbolBK.distancia(clave, palabra));
+                }
+                if (menor <= maximo) esperados.put(id, menor);
+            }
+            HashMap<Integer, Integer> obtenidos = new HashMap<>();
+            for (ArbolBK.Candidato candidato : arbol.buscar(clave, maximo)) {
+                verificar(obtenidos.put(candidato.getSimbolo(), candidato.getDistancia()) == null,
+                        "símbolo repetido para '" + clave + "'");
+            }
+            verificarIgual(esperados, obtenidos, "parecidos a '" + clave + "' con máximo " + maximo);
+        }
+    }
+
+    private static String palabraAlAzar(Random azar) {
+        StringBuilder sb = new StringBuilder();
+        int largo = 2 + azar.nextInt(7);
+        for (int i = 0; i < largo; i++) {
+            sb.append("aeiouklmnr".charAt(azar.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    private static void correccionEnElGestor() {
+        GestorInvestigaciones gestor = new GestorInvestigaciones(false, true);
+        verificar(gestor.agregarResumen(resumen("Bases de datos", new String[] {"Li Wei", "Grace Hopper"}, "sql", "java")),
+                "agregar 'Bases de datos'");
+        // Símbolos que quedan sin resúmenes: uno a distancia 0 de "John McCarty"
+        verificar(gestor.agregarResumen(resumen("Borrador", new String[] {"John McCarty", "Edsger Dijkstra"}, "semaforos", "javas")),
+                "agregar 'Borrador'");
+        verificar(gestor.eliminarResumen("Borrador"), "eliminar 'Borrador'");
+
+        // El autor mal escrito lleva al símbolo en uso, completo o por palabra
+        String mccarthy = titulos(gestor.buscarResumenesPorAutor("John McCarthy"));
+        verificar(!mccarthy.isEmpty(), "John McCarthy no tiene resúmenes");
+        for (String nombre : new String[] {"McCarty", "mccarthy", "Jon McCarthy", "John McCarty", "McCARTHI"}) {
+            verificarIgual("John McCarthy", gestor.corregirAutor(nombre), "corregir " + nombre);
+            verificarIgual(mccarthy, titulos(gestor.buscarResumenesPorAutor(nombre)), "resúmenes de " + nombre);
+        }
+        verificarIgual("Marvin Minsky", gestor.corregirAutor("Marvn Minski"), "dos errores en una clave larga");
+        verificarIgual("Ada Lovelace", gestor.corregirAutor("Lovelase"), "por la palabra Lovelace");
+        verificarIgual("redes neuronales", gestor.corregirPalabraClave("neuronale"), "por la palabra neuronales");
+        verificarIgual(titulos(gestor.buscarResumenPorPalabra("redes neuronales")),
+                titulos(gestor.buscarResumenPorPalabra("neuronale")), "resúmenes de neuronale");
+
+        // Claves de hasta 3 letras: solo coincidencias exactas
+        verificarIgual(null, gestor.corregirPalabraClave("sqk"), "corregir sqk");
+        verificarIgual(null, gestor.buscarResumenPorPalabra("sqk"), "resúmenes de sqk");
+        verificarIgual(null, gestor.corregirPalabraClave("jav"), "corregir jav");
+        verificarIgual("java", gestor.corregirPalabraClave("jaba"), "corregir jaba");
+        verificarIgual("Li Wei", gestor.corregirAutor("Wei"), "corregir Wei");
+        verificarIgual(null, gestor.corregirAutor("Wie"), "corregir Wie");
+        verificarIgual(null, gestor.corregirAutor("Lu"), "corregir Lu");
+        verificarIgual("[]", Pruebas.texto(gestor.buscarAutoresParecidos("Wie")), "parecidos a Wie");
+
+        // Sin resúmenes: ni exacto ni como parecido
+        verificarIgual(null, gestor.corregirAutor("Edsger Dijkstra"), "corregir Edsger Dijkstra");
+        verificarIgual(null, gestor.buscarResumenesPorAutor("Dijkstre"), "resúmenes de Dijkstre");
+        verificarIgual("[]", Pruebas.texto(gestor.buscarAutoresParecidos("Dijkstra")), "parecidos a Dijkstra");
+        verificarIgual(null, gestor.corregirPalabraClave("semaforos"), "corregir semaforos");
+        verificarIgual(null, gestor.buscarResumenPorPalabra("semaforo"), "resúmenes de semaforo");
+        verificarIgual("[java]", Pruebas.texto(gestor.buscarPalabrasParecidas("javas")), "parecidos a javas");
+        verificar(!Pruebas.texto(gestor.buscarAutoresParecidos("John McCarty")).contains("McCarty"),
+                "se sugirió John McCarty sin resúmenes");
+
+        // Lo mismo después de compactar
+        gestor.compactar();
+        verificarIgual("John McCarthy", gestor.corregirAutor("John McCarty"), "corregir John McCarty tras compactar");
+        verificarIgual(null, gestor.corregirAutor("Edsger Dijkstra"), "corregir Edsger Dijkstra tras compactar");
+    }
+
+    private static Resumen resumen(String titulo, String[] autores, String... palabras) {
+        ListaSimple<String> listaAutores = new ListaSimple<>();
+        for (String autor : autores) listaAutores.agregar(autor);
+        ListaSimple<String> listaPalabras = new ListaSimple<>();
+        for (String palabra : palabras) listaPalabras.agregar(palabra);
+        return new Resumen(titulo, listaAutores, "Cuerpo de " + titulo + ".", listaPalabras);
+    }
+
+    private static String titulos(ListaSimple<Resumen> resumenes) {
+        if (resumenes == null) return null;
+        StringBuilder sb = new StringBuilder();
+        for (Resumen resumen : resumenes) {
+            sb.append(resumen.getTitulo()).append("; ");
+        }
+        return sb.toString();
+    }
+}
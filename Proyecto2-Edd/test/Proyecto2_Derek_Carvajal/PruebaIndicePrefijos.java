@@ -0,0 +1,151 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba IndicePrefijos: aristas que se parten al insertar un prefijo
+ * de una clave existente, empates resueltos en orden alfabético, el top-k
+ * recalculado tras sumar(id, -1) y símbolos que bajan a cero resúmenes.
+ * Después compara sugerir() contra una búsqueda a fuerza bruta con claves
+ * de un alfabeto chico (muchos prefijos compartidos y muchas aristas
+ * partidas) y conteos que suben y bajan al azar.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+class PruebaIndicePrefijos {
+
+    static void ejecutar() {
+        aristasPartidas();
+        empatesYRestas();
+        contraFuerzaBruta();
+    }
+
+    private static void aristasPartidas() {
+        TablaSimbolos simbolos = new TablaSimbolos();
+        IndicePrefijos indice = new IndicePrefijos(simbolos, 5);
+        // Cada clave nueva es prefijo de la anterior: parte la última arista
+        int largo = simbolos.internar("Computación");
+        int medio = simbolos.internar("Compu");
+        int corto = simbolos.internar("co");
+        indice.sumar(largo, 1);
+        indice.actualizar();
+        indice.sumar(medio, 2);
+        indice.sumar(corto, 3);
+        indice.actualizar();
+        verificarIgual("[co, Compu, Computación]", Pruebas.texto(indice.sugerir("C", 5)), "sugerencias para C");
+        verificarIgual("[Compu, Computación]", Pruebas.texto(indice.sugerir("com", 5)), "sugerencias para com");
+        verificarIgual("[Compu, Computación]", Pruebas.texto(indice.sugerir("COMPU", 5)), "sugerencias para COMPU");
+        verificarIgual("[Computación]", Pruebas.texto(indice.sugerir("computa", 5)), "sugerencias para computa");
+        verificarIgual("[Computación]", Pruebas.texto(indice.sugerir("computacion", 5)), "sugerencias para computacion");
+        verificarIgual("[]", Pruebas.texto(indice.sugerir("computadora", 5)), "sugerencias para computadora");
+
+        // Una clave que se separa a mitad de una etiqueta
+        int otro = simbolos.internar("Compilador");
+        indice.sumar(otro, 4);
+        indice.actualizar();
+        verificarIgual("[Compilador, co, Compu, Computación]", Pruebas.texto(indice.sugerir("c", 5)), "sugerencias para c");
+        verificarIgual("[Compilador, Compu]", Pruebas.texto(indice.sugerir("comp", 2)), "dos sugerencias para comp");
+        verificarIgual("[Compilador]", Pruebas.texto(indice.sugerir("compi", 5)), "sugerencias para compi");
+    }
+
+    private static void empatesYRestas() {
+        TablaSimbolos simbolos = new TablaSimbolos();
+        IndicePrefijos indice = new IndicePrefijos(simbolos, 3);
+        String[] nombres = {"Turing", "Torvalds", "Tanenbaum", "Thompson", "Tarjan"};
+        int[] ids = new int[nombres.length];
+        for (int i = 0; i < nombres.length; i++) {
+            ids[i] = simbolos.internar(nombres[i]);
+            indice.sumar(ids[i], 2);
+        }
+        indice.actualizar();
+        // Todos con 2: los primeros tres en orden alfabético
+        verificarIgual("[Tanenbaum, Tarjan, Thompson]", Pruebas.texto(indice.sugerir("t", 3)), "empate");
+
+        // Al restar, el top-k guardado se recalcula y entra uno que no estaba
+        indice.sumar(ids[2], -1); // Tanenbaum: 1
+        indice.actualizar();
+        verificarIgual("[Tarjan, Thompson, Torvalds]", Pruebas.texto(indice.sugerir("t", 3)), "tras restar a Tanenbaum");
+        verificarIgual("[Tarjan, Tanenbaum]", Pruebas.texto(indice.sugerir("ta", 3)), "ta tras restar a Tanenbaum");
+
+        // Bajar a cero: ya no se sugiere ni con su nombre completo
+        indice.sumar(ids[2], -1);
+        indice.sumar(ids[4], -2); // Tarjan
+        indice.actualizar();
+        verificarIgual(0, indice.getConteo(ids[4]), "conteo de Tarjan");
+        verificarIgual("[Thompson, Torvalds, Turing]", Pruebas.texto(indice.sugerir("t", 3)), "tras bajar a cero");
+        verificarIgual("[]", Pruebas.texto(indice.sugerir("ta", 3)), "ta sin resúmenes");
+        verificarIgual("[]", Pruebas.texto(indice.sugerir("tarjan", 3)), "tarjan sin resúmenes");
+
+        // Vuelve a tener resúmenes: aparece otra vez
+        indice.sumar(ids[4], 5);
+        indice.actualizar();
+        verificarIgual("[Tarjan, Thompson, Torvalds]", Pruebas.texto(indice.sugerir("t", 3)), "Tarjan de vuelta");
+    }
+
+    private static void contraFuerzaBruta() {
+        Random azar = new Random(31);
+        TablaSimbolos simbolos = new TablaSimbolos();
+        int k = 4;
+        IndicePrefijos indice = new IndicePrefijos(simbolos, k);
+        ArrayList<Integer> conteos = new ArrayList<>();
+
+        for (int paso = 0; paso < 4000; paso++) {
+            if (conteos.size() < 300 && azar.nextInt(3) == 0) {
+                int id = simbolos.internar(claveAlAzar(azar));
+                while (conteos.size() <= id) conteos.add(0);
+                int delta = 1 + azar.nextInt(3);
+                indice.sumar(id, delta);
+                conteos.set(id, conteos.get(id) + delta);
+            } else if (!conteos.isEmpty()) {
+                int id = azar.nextInt(conteos.size());
+                int delta = (conteos.get(id) > 0 && azar.nextBoolean()) ? -1 : 1;
+                indice.sumar(id, delta);
+                conteos.set(id, conteos.get(id) + delta);
+            }
+            // Varios cambios entre una actualización y la siguiente
+            if (azar.nextInt(4) == 0) {
+                indice.actualizar();
+                for (String prefijo : new String[] {"", "a", "b", "ab", "ba", "aab", "bab", "abba", claveAlAzar(azar)}) {
+                    int cantidad = 1 + azar.nextInt(k);
+                    verificarIgual(esperadas(simbolos, conteos, prefijo, cantidad),
+                            Pruebas.texto(indice.sugerir(prefijo, cantidad)), "sugerencias para '" + prefijo + "' en el paso " + paso);
+                }
+            }
+        }
+    }
+
+    private static String claveAlAzar(Random azar) {
+        StringBuilder sb = new StringBuilder();
+        int largo = 1 + azar.nextInt(6);
+        for (int i = 0; i < largo; i++) {
+            sb.append(azar.nextInt(3) == 0 ? 'b' : 'a');
+        }
+        return sb.toString();
+    }
+
+    private static String esperadas(TablaSimbolos simbolos, ArrayList<Integer> conteos, String prefijo, int cantidad) {
+        ArrayList<Integer> candidatos = new ArrayList<>();
+        for (int id = 0; id < conteos.size(); id++) {
+            if (conteos.get(id) > 0 && simbolos.getClave(id).getClave().startsWith(prefijo)) {
+                candidatos.add(id);
+            }
+        }
+        candidatos.sort((a, b) -> conteos.get(a).equals(conteos.get(b))
+                ? simbolos.getClave(a).compareTo(simbolos.getClave(b))
+                : Integer.compare(conteos.get(b), conteos.get(a)));
+        ArrayList<String> textos = new ArrayList<>();
+        for (int i = 0; i < candidatos.size() && i < cantidad; i++) {
+            textos.add(simbolos.getTexto(candidatos.get(i)));
+        }
+        return Pruebas.texto(textos);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba la reproducción del registro de cambios después de una caída:
+ * una sesión que termina sin cerrar el registro y con un registro a medio
+ * escribir al final, y un segmento con un registro de CRC válido que no se
+ * puede aplicar. Cada sesión trabaja en su propia carpeta temporal.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+class PruebaRegistroCambios {
+
+    private static final String BASE = "datos_supermetro.ser";
+    private static final String INTRODUCCION = "Introducción a la Inteligencia Artificial";
+    private static final String ORIGENES = "Orígenes de la Computación";
+
+    static void ejecutar() throws Exception {
+        caidaConRegistroIncompleto();
+        registroQueNoSePuedeAplicar();
+    }
+
+    private static void caidaConRegistroIncompleto() throws Exception {
+        File carpeta = Pruebas.carpetaTemporal("registro");
+
+        // Primera sesión: empieza con los datos de ejemplo y "se cae" sin
+        // cerrar el registro ni guardar
+        GestorInvestigaciones caida = GestorInvestigaciones.cargarDatosConRegistro(carpeta);
+        for (int i = 0; i < 3; i++) {
+            verificar(caida.agregarResumen(resumen("R" + i)), "agregar R" + i);
+        }
+        verificar(caida.eliminarResumen("R1"), "eliminar R1");
+        verificar(caida.eliminarResumen(ORIGENES), "eliminar " + ORIGENES);
+
+        // El corte de luz deja un registro a medio escribir
+        File segmento = ultimoSegmento(carpeta);
+        long largoValido = segmento.length();
+        ByteBuffer incompleto = ByteBuffer.allocate(14).putInt(200).putInt(12345).put(new byte[6]);
+        Files.write(segmento.toPath(), incompleto.array(), StandardOpenOption.APPEND);
+
+        GestorInvestigaciones gestor = GestorInvestigaciones.cargarDatosConRegistro(carpeta);
+        verificarIgual(null, gestor.getAvisoCarga(), "aviso tras la caída");
+        verificarIgual("[" + INTRODUCCION + ", R0, R2]", Pruebas.texto(gestor.getTitulosOrdenados()), "títulos tras la caída");
+        verificarIgual(largoValido, segmento.length(), "la cola incompleta no se recortó");
+        caida.cerrarRegistro();
+
+        // Un checkpoint a mitad de sesión: lo anterior queda en la
+        // instantánea y lo posterior en un segmento nuevo
+        verificar(gestor.agregarResumen(resumen("R3")), "agregar R3");
+        gestor.guardarDatos();
+        verificar(new File(carpeta, BASE).exists(), "el checkpoint no escribió la instantánea");
+        verificar(!segmento.exists(), "el checkpoint no borró el segmento cubierto");
+        verificar(gestor.eliminarResumen("R0"), "eliminar R0");
+        verificar(gestor.agregarResumen(resumen("R4")), "agregar R4");
+        gestor.cerrarRegistro();
+
+        GestorInvestigaciones recargado = GestorInvestigaciones.cargarDatosConRegistro(carpeta);
+        verificarIgual(null, recargado.getAvisoCarga(), "aviso al recargar");
+        verificarIgual("[" + INTRODUCCION + ", R2, R3, R4]", Pruebas.texto(recargado.getTitulosOrdenados()), "títulos al recargar");
+        verificarIgual(3, recargado.buscarResumenPorPalabra("registro").getTamano(), "resúmenes con 'registro'");
+        recargado.cerrarRegistro();
+    }
+
+    private static void registroQueNoSePuedeAplicar() throws Exception {
+        File carpeta = Pruebas.carpetaTemporal("registro");
+
+        GestorInvestigaciones primera = GestorInvestigaciones.cargarDatosConRegistro(carpeta);
+        verificar(primera.agregarResumen(resumen("A")), "agregar A");
+        primera.cerrarRegistro();
+
+        // Un registro íntegro (CRC válido) de un tipo que no existe
+        File segmento = ultimoSegmento(carpeta);
+        byte[] contenido = {9, 0, 0};
+        CRC32 crc = new CRC32();
+        crc.update(contenido);
+        ByteBuffer registro = ByteBuffer.allocate(8 + contenido.length)
+                .putInt(contenido.length).putInt((int) crc.getValue()).put(contenido);
+        Files.write(segmento.toPath(), registro.array(), StandardOpenOption.APPEND);
+        byte[] danado = Files.readAllBytes(segmento.toPath());
+
+        GestorInvestigaciones segunda = GestorInvestigaciones.cargarDatosConRegistro(carpeta);
+        verificar(segunda.getAvisoCarga() != null, "no se avisó del registro que no se pudo aplicar");
+        verificar(segunda.buscarResumenPorTitulo("A") != null, "se perdió el cambio anterior al registro dañado");
+        File apartado = new File(segmento.getPath() + ".danado");
+        verificar(!segmento.exists(), "el segmento dañado sigue entre los segmentos");
+        verificar(Arrays.equals(danado, Files.readAllBytes(apartado.toPath())), "el segmento apartado cambió");
+        verificar(new File(carpeta, BASE).exists(), "no se guardó la instantánea tras la reproducción incompleta");
+
+        // El registro quedó abierto: los cambios de esta sesión se guardan
+        verificar(segunda.agregarResumen(resumen("B")), "agregar B");
+        segunda.cerrarRegistro();
+
+        GestorInvestigaciones tercera = GestorInvestigaciones.cargarDatosConRegistro(carpeta);
+        verificarIgual(null, tercera.getAvisoCarga(), "aviso en la tercera sesión");
+        verificarIgual("[A, B, " + INTRODUCCION + ", " + ORIGENES + "]",
+                Pruebas.texto(tercera.getTitulosOrdenados()), "títulos en la tercera sesión");
+        tercera.cerrarRegistro();
+    }
+
+    private static Resumen resumen(String titulo) {
+        ListaSimple<String> autores = new ListaSimple<>();
+        autores.agregar("Autor " + titulo);
+        ListaSimple<String> palabras = new ListaSimple<>();
+        palabras.agregar("registro");
+        palabras.agregar("tema" + titulo);
+        return new Resumen(titulo, autores, "Cuerpo de " + titulo + ".", palabras);
+    }
+
+    // Segmento activo: el de número mayor
+    private static File ultimoSegmento(File carpeta) throws IOException {
+        File ultimo = null;
+        int mayor = -1;
+        for (String nombre : carpeta.list()) {
+            if (!nombre.matches(Pattern.quote(BASE + ".wal.") + "\\d+")) continue;
+            int numero = Integer.parseInt(nombre.substring(BASE.length() + 5));
+            if (numero > mayor) {
+                mayor = numero;
+                ultimo = new File(carpeta, nombre);
+            }
+        }
+        if (ultimo == null) throw new IOException("No hay segmentos en " + carpeta);
+        return ultimo;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba TablaHash contra java.util.HashMap con inserciones y
+ * eliminaciones al azar, empezando con una tabla chica para que haya
+ * muchos crecimientos y muchas operaciones con la migración a medias.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+class PruebaTablaHash {
+
+    static void ejecutar() {
+        operacionesAlAzar();
+        clavesDuranteMigracion();
+        reservarConMigracionPendiente();
+    }
+
+    private static void operacionesAlAzar() {
+        TablaHash<String, Integer> tabla = new TablaHash<>(3);
+        HashMap<String, Integer> referencia = new HashMap<>();
+        Random azar = new Random(42);
+        int operacionesMigrando = 0;
+
+        for (int i = 0; i < 30000; i++) {
+            String clave = "k" + azar.nextInt(6000);
+            if (azar.nextInt(3) > 0) {
+                boolean nueva = !referencia.containsKey(clave);
+                verificarIgual(nueva, tabla.insertar(clave, i), "insertar " + clave);
+                if (nueva) referencia.put(clave, i);
+            } else {
+                verificarIgual(referencia.remove(clave) != null, tabla.eliminar(clave), "eliminar " + clave);
+            }
+            if (tabla.hayMigracionEnCurso()) {
+                operacionesMigrando++;
+                // Las búsquedas deben ver las dos tablas mientras se migra
+                verificarIgual(referencia.get(clave), tabla.buscar(clave), "buscar " + clave + " migrando");
+            }
+            verificarIgual(referencia.size(), tabla.getTamanoActual(), "tamaño tras la operación " + i);
+            verificar(tabla.getFactorCarga() <= 0.75, "factor de carga " + tabla.getFactorCarga());
+        }
+        verificar(operacionesMigrando > 0, "nunca hubo una migración en curso");
+
+        for (int i = 0; i < 6000; i++) {
+            String clave = "k" + i;
+            verificarIgual(referencia.get(clave), tabla.buscar(clave), "buscar " + clave);
+        }
+    }
+
+    // obtenerTodasLasClaves con la migración a medias: cada clave una vez
+    private static void clavesDuranteMigracion() {
+        TablaHash<Integer, Integer> tabla = new TablaHash<>(7);
+        int n = 0;
+        while (!tabla.hayMigracionEnCurso()) {
+            tabla.insertar(n, n);
+            n++;
+        }
+        HashSet<Integer> vistas = new HashSet<>();
+        for (Integer clave : tabla.obtenerTodasLasClaves()) {
+            verificar(vistas.add(clave), "clave repetida " + clave);
+        }
+        verificarIgual(n, vistas.size(), "claves durante la migración");
+    }
+
+    private static void reservarConMigracionPendiente() {
+        TablaHash<Integer, Integer> tabla = new TablaHash<>(7);
+        int n = 0;
+        while (!tabla.hayMigracionEnCurso()) {
+            tabla.insertar(n, n);
+            n++;
+        }
+        tabla.reservar(10000);
+        verificar(!tabla.hayMigracionEnCurso(), "reservar debe terminar la migración");
+        verificar(tabla.getCapacidad() * 0.75 >= 10000, "capacidad tras reservar " + tabla.getCapacidad());
+        for (int i = 0; i < n; i++) {
+            verificarIgual(i, tabla.buscar(i), "buscar " + i + " tras reservar");
+        }
+    }
+}
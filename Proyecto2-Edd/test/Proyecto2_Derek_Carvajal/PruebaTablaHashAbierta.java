@@ -0,0 +1,156 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Comprueba TablaHashAbierta (Robin Hood con borrado por desplazamiento
+ * hacia atrás) contra java.util.HashMap. Empieza con capacidad 2 para que
+ * crezca muchas veces, y la mayoría de las claves chocan: cadenas hechas
+ * con los bloques "Aa" y "BB" (mismo hashCode) y claves ClaveHash con
+ * pocos hash distintos, de modo que los grupos se solapan y dan la vuelta
+ * al final del arreglo.
+ */
+
+import static Proyecto2_Derek_Carvajal.Pruebas.verificar;
+import static Proyecto2_Derek_Carvajal.Pruebas.verificarIgual;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+class PruebaTablaHashAbierta {
+
+    static void ejecutar() {
+        operacionesAlAzar();
+        vaciarYVolverALlenar();
+    }
+
+    // Clave con el hash elegido por la prueba; la igualdad es por número
+    private static final class Choque implements ClaveHash {
+        private final int numero;
+        private final int hash;
+
+        Choque(int numero, int hash) {
+            this.numero = numero;
+            this.hash = hash;
+        }
+
+        @Override
+        public int getHashClave() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof Choque && ((Choque) otro).numero == numero;
+        }
+
+        @Override
+        public int hashCode() {
+            return numero;
+        }
+
+        @Override
+        public String toString() {
+            return "Choque " + numero + " (hash " + hash + ")";
+        }
+    }
+
+    private static ArrayList<Object> universo() {
+        ArrayList<Object> claves = new ArrayList<>();
+        // 2^9 cadenas con el mismo String.hashCode
+        for (int i = 0; i < 512; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < 9; b++) {
+                sb.append((i >> b & 1) == 0 ? "Aa" : "BB");
+            }
+            claves.add(sb.toString());
+        }
+        // Grupos de hash vecinos (y uno cerca del máximo) que se pisan entre sí
+        for (int i = 0; i < 600; i++) {
+            int hash = i % 3 == 0 ? Integer.MAX_VALUE - i % 5 : i % 7;
+            claves.add(new Choque(i, hash));
+        }
+        for (int i = 0; i < 400; i++) {
+            claves.add("k" + i);
+        }
+        return claves;
+    }
+
+    private static void operacionesAlAzar() {
+        TablaHashAbierta<Object, Integer> tabla = new TablaHashAbierta<>(2);
+        HashMap<Object, Integer> referencia = new HashMap<>();
+        ArrayList<Object> claves = universo();
+        Random azar = new Random(7);
+        int crecimientos = 0;
+
+        for (int i = 0; i < 20000; i++) {
+            Object clave = claves.get(azar.nextInt(claves.size()));
+            int capacidad = tabla.getCapacidad();
+            // Más inserciones que borrados al principio, al revés al final
+            if (azar.nextInt(10) < (i < 12000 ? 7 : 3)) {
+                boolean nueva = !referencia.containsKey(clave);
+                verificarIgual(nueva, tabla.insertar(clave, i), "insertar " + clave);
+                if (nueva) referencia.put(clave, i);
+            } else {
+                verificarIgual(referencia.remove(clave) != null, tabla.eliminar(clave), "eliminar " + clave);
+            }
+            if (tabla.getCapacidad() != capacidad) crecimientos++;
+            verificarIgual(referencia.size(), tabla.getTamanoActual(), "tamaño tras la operación " + i);
+            verificar(tabla.getFactorCarga() <= 0.8, "factor de carga " + tabla.getFactorCarga());
+            verificarIgual(referencia.get(clave), tabla.buscar(clave), "buscar " + clave + " tras la operación " + i);
+            if (i % 500 == 0) {
+                comprobarTodo(tabla, referencia, claves, "tras la operación " + i);
+            }
+        }
+        verificar(crecimientos >= 7, "la tabla creció solo " + crecimientos + " veces");
+        comprobarTodo(tabla, referencia, claves, "al final");
+    }
+
+    // Borra todo (en desorden) y vuelve a insertar: no deben quedar restos
+    private static void vaciarYVolverALlenar() {
+        TablaHashAbierta<Object, Integer> tabla = new TablaHashAbierta<>(2);
+        HashMap<Object, Integer> referencia = new HashMap<>();
+        ArrayList<Object> claves = universo();
+        for (int i = 0; i < claves.size(); i++) {
+            verificar(tabla.insertar(claves.get(i), i), "insertar " + claves.get(i));
+            referencia.put(claves.get(i), i);
+        }
+        Collections.shuffle(claves, new Random(3));
+        for (int i = 0; i < claves.size(); i++) {
+            Object clave = claves.get(i);
+            verificar(tabla.eliminar(clave), "eliminar " + clave);
+            verificar(!tabla.eliminar(clave), "eliminar dos veces " + clave);
+            referencia.remove(clave);
+            if (i % 100 == 0) {
+                comprobarTodo(tabla, referencia, claves, "vaciando, " + i);
+            }
+        }
+        verificarIgual(0, tabla.getTamanoActual(), "tamaño vacía");
+        verificarIgual(0, tabla.obtenerTodasLasClaves().getTamano(), "claves vacía");
+        for (int i = 0; i < claves.size(); i++) {
+            verificar(tabla.insertar(claves.get(i), -i), "reinsertar " + claves.get(i));
+            referencia.put(claves.get(i), -i);
+        }
+        comprobarTodo(tabla, referencia, claves, "tras volver a llenar");
+    }
+
+    private static void comprobarTodo(TablaHashAbierta<Object, Integer> tabla, HashMap<Object, Integer> referencia,
+            ArrayList<Object> claves, String momento) {
+        HashSet<Object> vistas = new HashSet<>();
+        for (Object clave : tabla.obtenerTodasLasClaves()) {
+            verificar(vistas.add(clave), "clave repetida " + clave + " " + momento);
+        }
+        verificarIgual(referencia.keySet(), vistas, "claves " + momento);
+        for (Object clave : claves) {
+            verificarIgual(referencia.get(clave), tabla.buscar(clave), "buscar " + clave + " " + momento);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Proyecto2_Derek_Carvajal;
+
+/**
+ *
+ * @author derek
+ *
+ * * Ejecuta todas las comprobaciones (ant verificar). No usa JUnit: cada
+ * clase Prueba* tiene un método ejecutar() que lanza AssertionError si
+ * algo no se cumple. Al primer fallo se imprime el error y el proceso
+ * termina con código 1, así el build falla.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class Pruebas {
+
+    /**
+     * Una comprobación que se puede ejecutar.
+     */
+    interface Prueba {
+        void ejecutar() throws Exception;
+    }
+
+    private static int comprobaciones;
+
+    /**
+     * Falla con el mensaje si la condición no se cumple (no depende de -ea).
+     */
+    static void verificar(boolean condicion, String mensaje) {
+        comprobaciones++;
+        if (!condicion) {
+            throw new AssertionError(mensaje);
+        }
+    }
+
+    /**
+     * Falla si los dos valores no son iguales (equals).
+     */
+    static void verificarIgual(Object esperado, Object obtenido, String mensaje) {
+        boolean iguales = (esperado == null) ? obtenido == null : esperado.equals(obtenido);
+        verificar(iguales, mensaje + ": se esperaba <" + esperado + "> y se obtuvo <" + obtenido + ">");
+    }
+
+    /**
+     * Los elementos de la lista como texto, "[a, b, c]", para comparar.
+     */
+    static String texto(Iterable<?> lista) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Object dato : lista) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(dato);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Crea una carpeta temporal vacía que se borra (con su contenido) al
+     * terminar el proceso.
+     */
+    static File carpetaTemporal(String prefijo) throws IOException {
+        File carpeta = Files.createTempDirectory(prefijo).toFile();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> borrar(carpeta)));
+        return carpeta;
+    }
+
+    private static void borrar(File archivo) {
+        File[] hijos = archivo.listFiles();
+        if (hijos != null) {
+            for (File hijo : hijos) {
+                borrar(hijo);
+            }
+        }
+        archivo.delete();
+    }
+
+    public static void main(String[] args) {
+        ejecutar("TablaHash (rehash incremental)", PruebaTablaHash::ejecutar);
+        ejecutar("TablaHashAbierta (Robin Hood)", PruebaTablaHashAbierta::ejecutar);
+        ejecutar("ClaveNormalizada", PruebaClaveNormalizada::ejecutar);
+        ejecutar("Carga de archivos antiguos", PruebaCargaLegado::ejecutar);
+        ejecutar("Registro de cambios tras una caída", PruebaRegistroCambios::ejecutar);
+        ejecutar("Borrado con lápidas y compactación", PruebaBorrado::ejecutar);
+        ejecutar("Carga en lote igual a una por una", PruebaCargaMasiva::ejecutar);
+        ejecutar("ConsultaBooleana (análisis y ejecución)", PruebaConsultaBooleana::ejecutar);
+        ejecutar("IndicePrefijos (sugerencias)", PruebaIndicePrefijos::ejecutar);
+        ejecutar("Corrección de nombres (ArbolBK)", PruebaCorreccion::ejecutar);
+        ejecutar("ArbolAVL (rango, seleccionar, pagina, mezcla)", PruebaArbolAVL::ejecutar);
+
+        System.out.println("Todas las pruebas pasaron (" + comprobaciones + " comprobaciones).");
+    }
+
+    private static void ejecutar(String nombre, Prueba prueba) {
+        long inicio = System.nanoTime();
+        try {
+            prueba.ejecutar();
+        } catch (Throwable e) {
+            System.err.println("FALLÓ: " + nombre);
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.out.printf("ok  %s (%.0f ms)%n", nombre, (System.nanoTime() - inicio) / 1e6);
+    }
+}